@@ -0,0 +1,54 @@
+package BENCHMARKS;
+
+import GAMEPLAY.BatchSimulator;
+import GAMEPLAY.Tournament;
+import GAMEPLAY.TournamentResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same BotPlayer games on one thread, played by the object engine (Tournament) and by the
+ * struct-of-arrays BatchSimulator, in games per second. Both give identical totals for a seed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchBenchmark {
+    private static final int GAMES = 1024;
+
+    @Param({"2", "4"})
+    public int players;
+
+    private Tournament tournament;
+    private BatchSimulator batch;
+    private long next;
+
+    @Setup
+    public void setup() {
+        tournament = new Tournament(players, 42);
+        batch = new BatchSimulator(players, 42);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public TournamentResult objectGames() {
+        next += GAMES;
+        return tournament.runRange(next - GAMES, next);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public TournamentResult batchGames() {
+        next += GAMES;
+        return batch.runRange(next - GAMES, next);
+    }
+}
@@ -0,0 +1,168 @@
+package BENCHMARKS;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The BenchmarkRunner class runs the JMH suite with the GC profiler (allocation rate per operation)
+ * and compares the scores with a stored baseline, so CI can fail on regressions.
+ *
+ * Usage: java -jar benchmarks.jar [options] [benchmark regex]
+ *   --baseline FILE      baseline to compare with (default: benchmarks/baseline.tsv)
+ *   --update-baseline    write this run's scores as the new baseline instead of comparing
+ *   --tolerance PERCENT  allowed slowdown / extra allocation before a score counts as a regression (default 10)
+ *   --quick              fewer and shorter iterations, for smoke runs
+ *   --json FILE          also write the full JMH results as JSON
+ *
+ * The plain JMH command line is still available through org.openjdk.jmh.Main.
+ * Exit code 1 means at least one regression.
+ */
+public class BenchmarkRunner {
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path baseline = Paths.get("benchmarks", "baseline.tsv");
+        boolean updateBaseline = false;
+        double tolerance = 10;
+        boolean quick = false;
+        String json = null;
+        String include = "BENCHMARKS\\..*";
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--baseline": baseline = Paths.get(args[++i]); break;
+                case "--update-baseline": updateBaseline = true; break;
+                case "--tolerance": tolerance = Double.parseDouble(args[++i]); break;
+                case "--quick": quick = true; break;
+                case "--json": json = args[++i]; break;
+                default: include = args[i];
+            }
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .forks(1);
+        if (quick) {
+            options.warmupIterations(2).warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(3).measurementTime(TimeValue.seconds(1));
+        }
+        if (json != null) {
+            options.resultFormat(ResultFormatType.JSON).result(json);
+        }
+        Collection<RunResult> results = new Runner(options.build()).run();
+        Map<String, Score> scores = collectScores(results);
+
+        if (updateBaseline || !Files.exists(baseline)) {
+            writeBaseline(baseline, scores);
+            System.out.println("Baseline written to " + baseline);
+            return;
+        }
+        List<String> regressions = compare(readBaseline(baseline), scores, tolerance);
+        if (!regressions.isEmpty()) {
+            System.out.println("Regressions against " + baseline + ":");
+            regressions.forEach(line -> System.out.println("  " + line));
+            System.exit(1);
+        }
+        System.out.println("No regressions against " + baseline + " (tolerance " + tolerance + "%)");
+    }
+
+    /**
+     * One score; lowerIsBetter is true for times and allocation, false for throughput
+     */
+    static class Score {
+        final double value;
+        final String unit;
+        final boolean lowerIsBetter;
+
+        Score(double value, String unit, boolean lowerIsBetter) {
+            this.value = value;
+            this.unit = unit;
+            this.lowerIsBetter = lowerIsBetter;
+        }
+    }
+
+    /**
+     * Flattens the results into "benchmark[params]" -> primary score plus
+     * "benchmark[params]:gc.alloc.rate.norm" -> bytes allocated per operation.
+     */
+    static Map<String, Score> collectScores(Collection<RunResult> results) {
+        Map<String, Score> scores = new TreeMap<>();
+        for (RunResult run : results) {
+            StringBuilder key = new StringBuilder(run.getParams().getBenchmark());
+            for (String param : run.getParams().getParamsKeys()) {
+                key.append('[').append(param).append('=').append(run.getParams().getParam(param)).append(']');
+            }
+            Result<?> primary = run.getPrimaryResult();
+            boolean lowerIsBetter = !primary.getScoreUnit().endsWith("/s");
+            scores.put(key.toString(), new Score(primary.getScore(), primary.getScoreUnit(), lowerIsBetter));
+
+            Result<?> allocation = run.getSecondaryResults().get(ALLOCATION_METRIC);
+            if (allocation != null) {
+                scores.put(key + ":" + ALLOCATION_METRIC,
+                        new Score(allocation.getScore(), allocation.getScoreUnit(), true));
+            }
+        }
+        return scores;
+    }
+
+    static List<String> compare(Map<String, Score> baseline, Map<String, Score> current, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            if (before == null) continue; // New benchmark, nothing to compare with
+            Score after = entry.getValue();
+            double change = before.value == 0 ? (after.value == 0 ? 0 : 100)
+                    : (after.value - before.value) / before.value * 100;
+            double worse = before.lowerIsBetter ? change : -change;
+            // Allocation is noisy around zero: a few bytes per op more is not a regression
+            boolean negligible = entry.getKey().endsWith(ALLOCATION_METRIC) && after.value - before.value < 8;
+            if (worse > tolerance && !negligible) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s (%.1f%% worse)",
+                        entry.getKey(), before.value, after.value, after.unit, worse));
+            }
+        }
+        return regressions;
+    }
+
+    static void writeBaseline(Path file, Map<String, Score> scores) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# benchmark\tscore\tunit\tlowerIsBetter");
+        for (Map.Entry<String, Score> entry : scores.entrySet()) {
+            Score score = entry.getValue();
+            lines.add(entry.getKey() + "\t" + score.value + "\t" + score.unit + "\t" + score.lowerIsBetter);
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines);
+    }
+
+    static Map<String, Score> readBaseline(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+            String[] fields = line.split("\t");
+            scores.put(fields[0], new Score(Double.parseDouble(fields[1]), fields[2], Boolean.parseBoolean(fields[3])));
+        }
+        return scores;
+    }
+}
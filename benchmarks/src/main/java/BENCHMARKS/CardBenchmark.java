@@ -0,0 +1,51 @@
+package BENCHMARKS;
+
+import CARDS.Card;
+import CARDS.Deck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card.canPlayOn over a fixed mix of real deck cards, top cards and active colors
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CardBenchmark {
+    private static final int SAMPLES = 1024; // Power of two, so the index wraps with a mask
+
+    private final Card[] cards = new Card[SAMPLES];
+    private final Card[] topCards = new Card[SAMPLES];
+    private final Card.Color[] activeColors = new Card.Color[SAMPLES];
+    private int next;
+
+    @Setup
+    public void setup() {
+        Deck deck = new Deck(42);
+        SplittableRandom random = new SplittableRandom(42);
+        Card.Color[] colors = { Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW };
+        for (int i = 0; i < SAMPLES; i++) {
+            if (deck.size() < 2) {
+                deck.reset();
+            }
+            cards[i] = deck.drawCard();
+            topCards[i] = deck.drawCard();
+            activeColors[i] = topCards[i].getColor() == Card.Color.WILD
+                    ? colors[random.nextInt(colors.length)] : topCards[i].getColor();
+        }
+    }
+
+    @Benchmark
+    public boolean canPlayOn() {
+        int i = next++ & (SAMPLES - 1);
+        return cards[i].canPlayOn(topCards[i], activeColors[i]);
+    }
+}
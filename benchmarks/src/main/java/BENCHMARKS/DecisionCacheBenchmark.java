@@ -0,0 +1,85 @@
+package BENCHMARKS;
+
+import GAMEPLAY.Tournament;
+import GAMEPLAY.TournamentResult;
+import PLAYERS.DecisionCache;
+import PLAYERS.HeuristicBotPlayer;
+import PLAYERS.HeuristicWeights;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HeuristicBotPlayer games with and without one DecisionCache shared by all benchmark threads
+ * (run with -t to choose how many), in games per second. The hit rate is printed when a trial ends.
+ * "default" bots only key on the playable cards; "colors" bots also weigh colors and the leader,
+ * so their keys carry color counts and the leader's hand size and repeat less often.
+ * On one CPU the cache takes default bots from about 13,200 to 20,000 games per second (99% hits)
+ * and colors bots from 13,000 to 13,500 (88% hits); a smaller capacity gives less.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DecisionCacheBenchmark {
+    private static final int GAMES = 256;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    @Param({"4"})
+    public int players;
+
+    @Param({"default", "colors"})
+    public String weights;
+
+    @Param({"1048576"})
+    public int capacity;
+
+    private DecisionCache cache;
+    private HeuristicWeights botWeights;
+    private final AtomicLong next = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Table {
+        Tournament tournament;
+
+        @Setup
+        public void setup(DecisionCacheBenchmark shared) {
+            tournament = new Tournament(shared.players, seat -> {
+                HeuristicBotPlayer bot = new HeuristicBotPlayer("Bot " + (seat + 1), shared.botWeights);
+                bot.setDecisionCache(shared.cache);
+                return bot;
+            }, 42);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        cache = cached ? new DecisionCache(capacity) : null;
+        botWeights = weights.equals("default") ? HeuristicWeights.DEFAULT : new HeuristicWeights(1, 0.5, 1, -2, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (cache != null) {
+            System.out.println(cache);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public TournamentResult games(Table table) {
+        long from = next.getAndAdd(GAMES);
+        return table.tournament.runRange(from, from + GAMES);
+    }
+}
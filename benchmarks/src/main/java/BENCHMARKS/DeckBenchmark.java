@@ -0,0 +1,44 @@
+package BENCHMARKS;
+
+import CARDS.Card;
+import CARDS.Deck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deck.drawCard with every drawn card going straight back to the discard pile,
+ * so the draw pile runs dry and reshuffles once every 107 draws.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeckBenchmark {
+    private Deck deck;
+
+    @Setup
+    public void setup() {
+        deck = new Deck(42);
+        deck.discardCard(deck.drawCard());
+    }
+
+    @Benchmark
+    public Card drawCardWithReshuffle() {
+        Card card = deck.drawCard();
+        deck.discardCard(card);
+        return card;
+    }
+
+    @Benchmark
+    public Deck reset() {
+        deck.reset();
+        deck.discardCard(deck.drawCard()); // Leave the deck the way drawCardWithReshuffle expects it
+        return deck;
+    }
+}
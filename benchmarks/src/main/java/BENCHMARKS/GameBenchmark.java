@@ -0,0 +1,51 @@
+package BENCHMARKS;
+
+import CARDS.Deck;
+import GAMEPLAY.UnoGame;
+import PLAYERS.BotPlayer;
+import PLAYERS.Player;
+import RULES.Referee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end bot-only games: single rounds and full games to the target score, in operations per second
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GameBenchmark {
+    @Param({"2", "4"})
+    public int players;
+
+    private UnoGame game;
+
+    @Setup
+    public void setup() {
+        List<Player> lineUp = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            lineUp.add(new BotPlayer("Bot " + (i + 1)));
+        }
+        game = new UnoGame(lineUp, new Deck(42), new Referee(), null);
+    }
+
+    @Benchmark
+    public Player playRound() {
+        return game.playRound();
+    }
+
+    @Benchmark
+    public Player playGame() {
+        return game.playGame();
+    }
+}
@@ -0,0 +1,90 @@
+package BENCHMARKS;
+
+import CARDS.Card;
+import CARDS.Deck;
+import GAMEPLAY.GameState;
+import GAMEPLAY.Observation;
+import GAMEPLAY.SimState;
+import GAMEPLAY.UnoGame;
+import PLAYERS.BotPlayer;
+import PLAYERS.MctsBotPlayer;
+import PLAYERS.Player;
+import RULES.Referee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MctsBotPlayer search speed from a freshly dealt 4-player round:
+ * rollout() is one determinization plus a random play-out (its score is rollouts per second per core),
+ * decide() is one full decision with a budget of 1000 rollouts on a single worker,
+ * snapshotAndHash() is a SimState restore from a snapshot plus reading its Zobrist hash.
+ */
+@State(Scope.Thread)
+public class MctsBenchmark {
+    private static final int ROLLOUTS_PER_DECISION = 1000;
+
+    private GameState state;
+    private MctsBotPlayer bot;
+    private Observation observation;
+    private SimState sim;
+    private SimState snapshot;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setup() {
+        bot = new MctsBotPlayer("MCTS", 0, ROLLOUTS_PER_DECISION, 1, null, 42);
+        List<Player> players = new ArrayList<>();
+        players.add(bot);
+        for (int i = 1; i < 4; i++) {
+            players.add(new BotPlayer("Bot " + i));
+        }
+        UnoGame game = new UnoGame(players, new Deck(42), new Referee(), null);
+        game.startGame();
+        game.startRound();
+        state = game.getState();
+        // Let the other bots play until it is the MCTS bot's turn with something to play
+        while (state.getCurrentPlayerIndex() != 0
+                || !bot.getHand().hasPlayable(state.getTopDiscard(), state.getActiveColor())) {
+            if (game.playTurn()) {
+                game.startRound(); // Someone went out first, deal again
+            }
+        }
+        observation = new Observation(state, 0);
+        sim = new SimState(players.size(), random);
+        snapshot = new SimState(players.size(), random);
+        snapshot.load(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int rollout() {
+        sim.determinize(observation, random);
+        return sim.playOut(1000);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long snapshotAndHash() {
+        sim.copyFrom(snapshot);
+        return sim.hash();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Card decide() {
+        return bot.chooseCardToPlay(state, bot);
+    }
+}
@@ -0,0 +1,75 @@
+package BENCHMARKS;
+
+import CARDS.Card;
+import CARDS.Deck;
+import PLAYERS.BotPlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand operations on small and very large hands:
+ * Player.playCard (followed by drawing the same card back, so the hand size stays put)
+ * and BotPlayer.chooseCardToPlay.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerBenchmark {
+    private static final int SAMPLES = 256; // Power of two, so the index wraps with a mask
+
+    @Param({"7", "30", "200"})
+    public int handSize;
+
+    private BotPlayer bot;
+    private final Card[] topCards = new Card[SAMPLES];
+    private final Card.Color[] activeColors = new Card.Color[SAMPLES];
+    private final int[] handIndexes = new int[SAMPLES];
+    private int next;
+
+    @Setup
+    public void setup() {
+        Deck deck = new Deck(42);
+        bot = new BotPlayer("Bot");
+        for (int i = 0; i < handSize; i++) {
+            if (deck.isEmpty()) {
+                deck.reset();
+            }
+            bot.drawCard(deck.drawCard());
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        Card.Color[] colors = { Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW };
+        for (int i = 0; i < SAMPLES; i++) {
+            if (deck.isEmpty()) {
+                deck.reset();
+            }
+            topCards[i] = deck.drawCard();
+            activeColors[i] = topCards[i].getColor() == Card.Color.WILD
+                    ? colors[random.nextInt(colors.length)] : topCards[i].getColor();
+            handIndexes[i] = random.nextInt(handSize);
+        }
+    }
+
+    @Benchmark
+    public Card playCard() {
+        int i = next++ & (SAMPLES - 1);
+        Card card = bot.getHand().get(handIndexes[i]);
+        bot.playCard(card);
+        bot.drawCard(card);
+        return card;
+    }
+
+    @Benchmark
+    public Card chooseCardToPlay() {
+        int i = next++ & (SAMPLES - 1);
+        return bot.chooseCardToPlay(topCards[i], activeColors[i]);
+    }
+}
@@ -17,12 +17,28 @@ public class Action_Cards extends Card {
     }
 
     /**
-     * Executes the special function of this action card
+     * Executes the special function of this action card, asking for the color of a wild card on the console.
+     * Announcing the card is left to the game's event listeners (see UI.ConsoleRenderer)
      * @param playerCount Number of players in the game (needed for REVERSE logic)
      * @param scanner Scanner for user input (needed for wild card color choice)
      * @return ActionResult containing the effects of playing this card
      */
     public ActionResult executeSpecialFunction(int playerCount, Scanner scanner) {
+        Color chosenColor = null;
+        if (this.getType() == Type.WILD || this.getType() == Type.WILD_DRAW_FOUR) {
+            System.out.println("Choose the next color:");
+            chosenColor = chooseColor(scanner);
+        }
+        return executeSpecialFunction(playerCount, chosenColor);
+    }
+
+    /**
+     * Executes the special function of this action card without any console I/O
+     * @param playerCount Number of players in the game (needed for REVERSE logic)
+     * @param chosenColor The color picked by the player (only used by wild cards)
+     * @return ActionResult containing the effects of playing this card
+     */
+    public ActionResult executeSpecialFunction(int playerCount, Color chosenColor) {
         switch (this.getType()) {
             case SKIP:
                 return executeSkip();
@@ -34,10 +50,10 @@ public class Action_Cards extends Card {
                 return executeDrawTwo();
 
             case WILD:
-                return executeWild(scanner);
+                return executeWild(chosenColor);
 
             case WILD_DRAW_FOUR:
-                return executeWildDrawFour(scanner);
+                return executeWildDrawFour(chosenColor);
 
             default:
                 return new ActionResult(); // No special effects
@@ -48,7 +64,6 @@ public class Action_Cards extends Card {
      * SKIP card: Next player is skipped
      */
     private ActionResult executeSkip() {
-        System.out.println("SKIP card played! Next player is skipped.");
         ActionResult result = new ActionResult();
         result.skipNextPlayer = true;
         return result;
@@ -58,13 +73,11 @@ public class Action_Cards extends Card {
      * REVERSE card: Changes direction of play
      */
     private ActionResult executeReverse(int playerCount) {
-        System.out.println("REVERSE card played! Direction of play changed.");
         ActionResult result = new ActionResult();
         result.reverseDirection = true;
 
         // Special case: In a 2-player game, REVERSE acts like SKIP
         if (playerCount == 2) {
-            System.out.println("In 2-player game, REVERSE acts as SKIP!");
             result.skipNextPlayer = true;
         }
 
@@ -75,7 +88,6 @@ public class Action_Cards extends Card {
      * DRAW TWO card: Next player draws 2 cards and loses their turn
      */
     private ActionResult executeDrawTwo() {
-        System.out.println("DRAW TWO card played! Next player draws 2 cards and loses their turn.");
         ActionResult result = new ActionResult();
         result.cardsToDrawByNextPlayer = 2;
         result.skipNextPlayer = true;
@@ -85,26 +97,20 @@ public class Action_Cards extends Card {
     /**
      * WILD card: Player chooses the next color
      */
-    private ActionResult executeWild(Scanner scanner) {
-        System.out.println("WILD card played! Choose the next color:");
+    private ActionResult executeWild(Color chosenColor) {
         ActionResult result = new ActionResult();
-        result.newColor = chooseColor(scanner);
+        result.newColor = chosenColor;
         return result;
     }
 
     /**
      * WILD DRAW FOUR card: Player chooses color, next player draws 4 cards
      */
-    private ActionResult executeWildDrawFour(Scanner scanner) {
-        System.out.println("WILD DRAW FOUR card played!");
+    private ActionResult executeWildDrawFour(Color chosenColor) {
         ActionResult result = new ActionResult();
         result.cardsToDrawByNextPlayer = 4;
         result.skipNextPlayer = true;
-
-        // The Player who played the card chooses the color
-        System.out.println("Choose the next color:");
-        result.newColor = chooseColor(scanner);
-
+        result.newColor = chosenColor;
         return result;
     }
 
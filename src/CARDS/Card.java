@@ -5,9 +5,22 @@ public class Card {
     public enum Color { RED, BLUE, GREEN, YELLOW, WILD }
     public enum Type { NUMBER, SKIP, REVERSE, DRAW_TWO, WILD, WILD_DRAW_FOUR }
 
+    // Every (color, face) pair gets a small ID: color.ordinal() * FACES + face,
+    // where face is 0-9 for numbers and 10-14 for SKIP..WILD_DRAW_FOUR
+    private static final int FACES = 15;
+    private static final int COLORS = Color.values().length;
+
+    /** Number of distinct card IDs (also covers odd combinations such as a RED WILD) */
+    public static final int ID_COUNT = COLORS * FACES;
+    /** Pseudo ID used in the playability table when there is no top card */
+    public static final int NO_CARD = ID_COUNT;
+    /** Pseudo color index used in the playability table when there is no active color */
+    public static final int NO_COLOR = COLORS;
+
     private final Color color;
     private final Type type;
-    private final Integer number; // Only used if type is NUMBER
+    private final int number; // Only used if type is NUMBER, -1 otherwise
+    private final int id;
 
     // Constructor for non-number cards
     public Card(Color color, Type type) {
@@ -16,7 +29,8 @@ public class Card {
         }
         this.color = color;
         this.type = type;
-        this.number = null;
+        this.number = -1;
+        this.id = idOf(color, type, -1);
     }
 
     // Constructor for number cards
@@ -27,6 +41,7 @@ public class Card {
         this.color = color;
         this.type = Type.NUMBER;
         this.number = number;
+        this.id = idOf(color, Type.NUMBER, number);
     }
 
     // Basic getters
@@ -45,6 +60,14 @@ public class Card {
         return number;
     }
 
+    /**
+     * Gets the small integer ID of this card (0 to ID_COUNT - 1).
+     * Equal cards always share the same ID.
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Gets the point value of this card for scoring
      * Number cards: face value (0-9 points)
@@ -52,14 +75,7 @@ public class Card {
      * Wild cards (WILD, WILD_DRAW_FOUR): 50 points
      */
     public int getPoints() {
-        if (type == Type.NUMBER) {
-            return number;
-        } else if (type == Type.SKIP || type == Type.REVERSE || type == Type.DRAW_TWO) {
-            return 20;
-        } else if (type == Type.WILD || type == Type.WILD_DRAW_FOUR) {
-            return 50;
-        }
-        return 0;
+        return POINTS[id];
     }
 
     /**
@@ -69,35 +85,156 @@ public class Card {
      * @return true if this card can be played
      */
     public boolean canPlayOn(Card topCard, Color currentColor) {
+        return canPlay(id, topCard == null ? NO_CARD : topCard.id,
+                currentColor == null ? NO_COLOR : currentColor.ordinal());
+    }
+
+    // --- Interned cards and lookup tables ---
+
+    private static final Color[] COLOR_VALUES = Color.values();
+    private static final Type[] TYPE_VALUES = Type.values();
+
+    private static final Card[] CANONICAL = new Card[ID_COUNT];
+    private static final int[] POINTS = new int[ID_COUNT];
+    // Indexed by (cardId * (ID_COUNT + 1) + topId) * (COLORS + 1) + colorIndex
+    private static final boolean[] PLAYABLE = new boolean[ID_COUNT * (ID_COUNT + 1) * (COLORS + 1)];
+    // The same table transposed into bitsets: for every (topId, colorIndex) two 64-bit words
+    // with bit 'id' set if card 'id' can be played
+    private static final long[] PLAYABLE_MASKS = new long[(ID_COUNT + 1) * (COLORS + 1) * 2];
+
+    static {
+        for (int id = 0; id < ID_COUNT; id++) {
+            Color color = colorOf(id);
+            int face = id % FACES;
+            POINTS[id] = face < 10 ? face : face < 13 ? 20 : 50;
+            // Action cards are interned as Action_Cards so their special function stays reachable
+            CANONICAL[id] = face < 10 ? new Card(color, face) : new Action_Cards(color, typeOf(id));
+        }
+        for (int id = 0; id < ID_COUNT; id++) {
+            for (int top = 0; top <= ID_COUNT; top++) {
+                for (int c = 0; c <= COLORS; c++) {
+                    boolean playable = computePlayable(id, top, c);
+                    PLAYABLE[(id * (ID_COUNT + 1) + top) * (COLORS + 1) + c] = playable;
+                    if (playable) {
+                        PLAYABLE_MASKS[(top * (COLORS + 1) + c) * 2 + (id >>> 6)] |= 1L << id;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The original matching rules, evaluated once per table entry
+     */
+    private static boolean computePlayable(int id, int top, int colorIndex) {
+        Type type = typeOf(id);
         // Wild cards can always be played
-        if (this.type == Type.WILD || this.type == Type.WILD_DRAW_FOUR) {
+        if (type == Type.WILD || type == Type.WILD_DRAW_FOUR) {
             return true;
         }
 
         // Same color as current active color
-        if (this.color == currentColor) {
+        if (colorIndex != NO_COLOR && id / FACES == colorIndex) {
             return true;
         }
 
-        // Same color as top card
-        if (topCard != null && this.color == topCard.getColor()) {
-            return true;
+        if (top == NO_CARD) {
+            return false;
         }
 
-        // Same type (e.g., SKIP on SKIP)
-        if (topCard != null && this.type == topCard.getType()) {
+        // Same color as top card
+        if (id / FACES == top / FACES) {
             return true;
         }
 
-        // Same number for number cards
-        if (topCard != null && this.type == Type.NUMBER && topCard.getType() == Type.NUMBER) {
-            assert this.number != null;
-            return this.number.equals(topCard.number);
+        // Same type (e.g., SKIP on SKIP), number cards only match on the same number
+        if (type == typeOf(top)) {
+            return type != Type.NUMBER || id % FACES == top % FACES;
         }
 
         return false;
     }
 
+    /**
+     * Table lookup behind canPlayOn, usable directly by code that only tracks card IDs
+     * @param cardId ID of the card to play
+     * @param topId ID of the top discard, or NO_CARD
+     * @param colorIndex ordinal of the active color, or NO_COLOR
+     */
+    public static boolean canPlay(int cardId, int topId, int colorIndex) {
+        return PLAYABLE[(cardId * (ID_COUNT + 1) + topId) * (COLORS + 1) + colorIndex];
+    }
+
+    /**
+     * Gets one word of the set of card IDs that can be played on a top card
+     * @param word 0 for IDs 0-63, 1 for IDs 64 and up
+     * @return Bitset with bit (id % 64) set for every playable card ID
+     */
+    public static long playableMask(int topId, int colorIndex, int word) {
+        return PLAYABLE_MASKS[(topId * (COLORS + 1) + colorIndex) * 2 + word];
+    }
+
+    /**
+     * Gets the shared immutable instance for an ID
+     */
+    public static Card byId(int id) {
+        return CANONICAL[id];
+    }
+
+    /**
+     * Gets the shared immutable instance of a number card
+     */
+    public static Card of(Color color, int number) {
+        if (number < 0 || number > 9) {
+            throw new IllegalArgumentException("UNO numbers must be between 0 and 9");
+        }
+        return CANONICAL[idOf(color, Type.NUMBER, number)];
+    }
+
+    /**
+     * Gets the shared immutable instance of a non-number card
+     */
+    public static Card of(Color color, Type type) {
+        if (type == Type.NUMBER) {
+            throw new IllegalArgumentException("Use the number factory for NUMBER cards");
+        }
+        return CANONICAL[idOf(color, type, -1)];
+    }
+
+    public static Color colorOf(int id) {
+        return COLOR_VALUES[id / FACES];
+    }
+
+    public static Type typeOf(int id) {
+        int face = id % FACES;
+        return face < 10 ? Type.NUMBER : TYPE_VALUES[face - 9];
+    }
+
+    //numberOf(): face value of a NUMBER card ID, -1 for every other type
+    public static int numberOf(int id) {
+        int face = id % FACES;
+        return face < 10 ? face : -1;
+    }
+
+    public static int pointsOf(int id) {
+        return POINTS[id];
+    }
+
+    private static int idOf(Color color, Type type, int number) {
+        int face = type == Type.NUMBER ? number : 9 + type.ordinal();
+        return color.ordinal() * FACES + face;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Card && ((Card) o).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
     @Override
     public String toString() {
         if (type == Type.NUMBER) {
@@ -1,109 +1,229 @@
 package CARDS;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Stack;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class Deck {
-    //Use a Stack<Card> for a draw pile where you generally pop from the top.
-    private Stack<Card> drawPile;
-    private Stack<Card> discardPile;
+    public static final int DECK_SIZE = 108;
+
+    //The composition of a fresh deck as card IDs, built once and copied on every reset
+    private static final int[] TEMPLATE = buildTemplate();
+
+    //Both piles share one array of card IDs:
+    //the draw pile grows up from index 0 (top at drawCount - 1),
+    //the discard pile grows down from the end (top at DECK_SIZE - discardCount)
+    private final int[] cards = new int[DECK_SIZE];
+    private int drawCount;
+    private int discardCount;
+    private long reshuffles; // Times the discard pile was turned into a new draw pile
+    //Every deck owns its random source, so parallel games never share RNG state
+    private RandomGenerator random;
 
     public Deck() {
-        drawPile = new Stack<>();
-        discardPile = new Stack<>();
+        this(new SplittableRandom());
+    }
+
+    //Deck(seed): the same seed always gives the same sequence of shuffles (those of new SplittableRandom(seed))
+    public Deck(long seed) {
+        this(new DeckRandom(seed));
+    }
+
+    //Deck(random): shuffle with the given source, e.g. one split off a simulation's master SplittableRandom
+    public Deck(RandomGenerator random) {
+        this.random = random;
         initializeDeck();
         shuffleDrawPile();
     }
 
-    //Deck Composition - initializeDeck(): fill the list
+    //setRandom(): switch to another random source, e.g. to reuse one deck for many reproducible games
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    //setSeed(): restart the shuffles from a seed, or from a DeckRandom state
+    public void setSeed(long seed) {
+        this.random = new DeckRandom(seed);
+    }
+
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    //Deck Composition - initializeDeck(): fill the draw pile
     public void initializeDeck() {
-        drawPile.clear();
+        System.arraycopy(TEMPLATE, 0, cards, 0, DECK_SIZE);
+        drawCount = DECK_SIZE;
+        discardCount = 0;
+    }
+
+    private static int[] buildTemplate() {
+        int[] template = new int[DECK_SIZE];
+        int n = 0;
 
         for(Card.Color color : Card.Color.values()) {
             if (color == Card.Color.WILD) continue;
 
             //1x all colors x [0]:
-            drawPile.add(new Card(color, 0));
+            template[n++] = Card.of(color, 0).getId();
 
             //2x all colors x [1-9]:
             for (int i = 1; i <= 9; i++){
-                drawPile.add(new Card(color, i));
-                drawPile.add(new Card(color, i));
+                template[n++] = Card.of(color, i).getId();
+                template[n++] = Card.of(color, i).getId();
             }
             //2x each action card [SKIP, REVERSE, DRAW_TWO]:
             for (int i = 0; i < 2; i++){
-                drawPile.add(new Card(color, Card.Type.SKIP));
-                drawPile.add(new Card(color, Card.Type.REVERSE));
-                drawPile.add(new Card(color, Card.Type.DRAW_TWO));
+                template[n++] = Card.of(color, Card.Type.SKIP).getId();
+                template[n++] = Card.of(color, Card.Type.REVERSE).getId();
+                template[n++] = Card.of(color, Card.Type.DRAW_TWO).getId();
             }
         }
         //4x each wild card [WILD, WILD_DRAW_FOUR]
         for (int i = 0; i < 4; i++) {
-            drawPile.add(new Card(Card.Color.WILD, Card.Type.WILD));
-            drawPile.add(new Card(Card.Color.WILD, Card.Type.WILD_DRAW_FOUR));
+            template[n++] = Card.of(Card.Color.WILD, Card.Type.WILD).getId();
+            template[n++] = Card.of(Card.Color.WILD, Card.Type.WILD_DRAW_FOUR).getId();
         }
+        return template;
     }
 
-    //Shuffle with Collections.shuffle() - shuffle the cards
+    //Shuffle the draw pile in place (Fisher-Yates)
     public void shuffleDrawPile(){
-        Collections.shuffle(drawPile);
+        shuffle(0, drawCount);
+    }
+
+    private void shuffle(int from, int to) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
     }
 
     //drawCard(): remove and return top card
     public Card drawCard() {
-        if (drawPile.isEmpty()){
-            if(discardPile.isEmpty()){
+        return Card.byId(drawCardId());
+    }
+
+    //Same as drawCard() but works on card IDs only
+    public int drawCardId() {
+        if (drawCount == 0){
+            if(discardCount == 0){
                 throw new IllegalStateException("The draw and discard piles are empty!");
             }
             // if (isEmpty() ) --> reshuffle discard pile:
             reshuffleDiscardIntoDrawPile();
+            if (drawCount == 0) {
+                throw new IllegalStateException("The draw pile is empty and only the top discard is left!");
+            }
         }
-        return drawPile.pop(); //.pop() for draw and .push(Card) for placing cards back on top
+        return cards[--drawCount];
     }
 
     private void reshuffleDiscardIntoDrawPile(){
-        Card topCard = discardPile.pop(); //Keep the top discard
-        drawPile.addAll(discardPile);
-        discardPile.clear();
-        discardPile.push(topCard); //Add the top card back to discard
-        Collections.shuffle(drawPile);
+        //Everything below the top discard is shuffled where it lies and moved to the (empty) draw pile
+        int start = DECK_SIZE - discardCount + 1;
+        int moved = discardCount - 1;
+        shuffle(start, DECK_SIZE);
+        int topCard = cards[start - 1]; //Keep the top discard
+        System.arraycopy(cards, start, cards, 0, moved);
+        drawCount = moved;
+        cards[DECK_SIZE - 1] = topCard; //Add the top card back to discard
+        discardCount = 1;
+        reshuffles++;
+    }
+
+    //Number of times the discard pile was reshuffled into the draw pile since this deck was created
+    public long getReshuffleCount() {
+        return reshuffles;
     }
 
     public void discardCard(Card card){
-        discardPile.push(card);
+        discardCardId(card.getId());
+    }
+
+    //Same as discardCard() but works on card IDs only
+    public void discardCardId(int cardId){
+        if (drawCount + discardCount == DECK_SIZE) {
+            throw new IllegalStateException("All " + DECK_SIZE + " cards are already in the piles!");
+        }
+        cards[DECK_SIZE - ++discardCount] = cardId;
     }
 
     //isEmpty(): check if the deck is empty
     public boolean isEmpty(){
-        return drawPile.isEmpty();
+        return drawCount == 0;
     }
 
     //reset(): reinitialize and shuffle
     public void reset(){
-        drawPile.clear();
-        discardPile.clear();
         initializeDeck();
         shuffleDrawPile();
     }
 
+    //hasCardsToDraw(): false once every card except the top discard is held by players
+    public boolean hasCardsToDraw(){
+        return drawCount > 0 || discardCount > 1;
+    }
+
     public Card peekTopDiscard(){
-        if(discardPile.isEmpty()) return null;
-        return discardPile.peek();
+        if(discardCount == 0) return null;
+        return Card.byId(cards[DECK_SIZE - discardCount]);
+    }
+
+    //ID of the top discard, or Card.NO_CARD when the discard pile is empty
+    public int peekTopDiscardId(){
+        if(discardCount == 0) return Card.NO_CARD;
+        return cards[DECK_SIZE - discardCount];
+    }
+
+    //copyDiscardPile(): copy the discard pile IDs (bottom first, top last) into target, returns how many
+    public int copyDiscardPile(int[] target){
+        for (int i = 0; i < discardCount; i++) {
+            target[i] = cards[DECK_SIZE - 1 - i];
+        }
+        return discardCount;
+    }
+
+    //copyDrawPile(): copy the draw pile IDs (bottom first, next card to draw last) into target, returns how many
+    public int copyDrawPile(int[] target){
+        System.arraycopy(cards, 0, target, 0, drawCount);
+        return drawCount;
+    }
+
+    //restore(): replace both piles, e.g. from a checkpoint (IDs in the order copyDrawPile and copyDiscardPile give them)
+    public void restore(int[] drawPile, int drawCount, int[] discardPile, int discardCount){
+        if (drawCount < 0 || discardCount < 0 || drawCount + discardCount > DECK_SIZE) {
+            throw new IllegalArgumentException("Piles of " + drawCount + " and " + discardCount + " cards do not fit in a deck");
+        }
+        System.arraycopy(drawPile, 0, cards, 0, drawCount);
+        for (int i = 0; i < discardCount; i++) {
+            cards[DECK_SIZE - 1 - i] = discardPile[i];
+        }
+        this.drawCount = drawCount;
+        this.discardCount = discardCount;
+    }
+
+    //copyTemplate(): the IDs of a complete deck, in dealing order before shuffling
+    public static int[] copyTemplate(){
+        return TEMPLATE.clone();
     }
 
     public int size(){
-        return drawPile.size();
+        return drawCount;
+    }
+
+    public int discardSize(){
+        return discardCount;
     }
 
     public void printDeck(){
-        for(Card card : drawPile) {
-            System.out.println(card);
+        for(int i = 0; i < drawCount; i++) {
+            System.out.println(Card.byId(cards[i]));
         }
     }
 
 /// implement separate class for Hand which will be given to the players
 /// idea: referee class to moderate and count points of hands???
 
-}
\ No newline at end of file
+}
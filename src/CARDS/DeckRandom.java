@@ -0,0 +1,38 @@
+package CARDS;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The DeckRandom class is the random source a Deck shuffles with when it is given a seed.
+ * It gives exactly the numbers new SplittableRandom(seed) gives (SplitMix64 with the golden gamma),
+ * but its whole state is one long that can be read and put back, e.g. by a game checkpoint.
+ */
+public final class DeckRandom implements RandomGenerator {
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public DeckRandom(long seed) {
+        this.state = seed;
+    }
+
+    /** The state to give new DeckRandom(state) to go on with the same numbers */
+    public long getState() {
+        return state;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = state += GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int nextInt() {
+        long z = state += GAMMA;
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+}
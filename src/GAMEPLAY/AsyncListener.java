@@ -0,0 +1,334 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The AsyncListener class decouples a slow GameListener from the game thread.
+ * Every event is packed into one long and put on a fixed-size ring buffer;
+ * a daemon thread takes all waiting events at once and calls the real listener with them.
+ * The consumer sleeps while the ring is empty and the producer wakes it up.
+ *
+ * What happens when the ring is full depends on the Overflow policy: DROP never makes the game wait
+ * and counts the lost events (fine for a console or a spectator), BLOCK makes the game wait for room
+ * (needed for logs and replays, where a missing event corrupts the output).
+ * An exception from the listener is counted and reported, and the next event is delivered as usual.
+ *
+ * Only one thread may publish to an AsyncListener (one game per listener).
+ */
+public class AsyncListener implements GameListener, AutoCloseable {
+    public enum Overflow { DROP, BLOCK }
+
+    // Event types, stored in the top byte of an event
+    private static final int GAME_START = 1;
+    private static final int ROUND_START = 2;
+    private static final int DEAL = 3;
+    private static final int TURN_UP = 4;
+    private static final int TURN = 5;
+    private static final int DRAW = 6;
+    private static final int PLAY = 7;
+    private static final int COLOR = 8;
+    private static final int UNO = 9;
+    private static final int PENALTY = 10;
+    private static final int ROUND_END = 11;
+    private static final int GAME_END = 12;
+    private static final int SWAP = 13;
+    private static final int ROTATE = 14;
+    private static final int DRAW_CHOSEN = 15;
+    private static final int RESHUFFLE = 16;
+
+    private static final Card.Color[] COLORS = Card.Color.values();
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(AsyncListener.class, "head", long.class);
+            TAIL = lookup.findVarHandle(AsyncListener.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final GameListener delegate;
+    private final Overflow overflow;
+    private final long[] ring;
+    private final int mask;
+    private final Thread consumer;
+    private long head;       // Next event the consumer reads (written by the consumer)
+    private long tail;       // Next free slot (written by the producer)
+    private long cachedHead; // The producer's last look at head, so it rarely reads the consumer's field
+    private volatile boolean consumerParked;
+    private volatile Thread blockedProducer; // Waiting for room (Overflow.BLOCK)
+    private volatile long dropped;           // Only the producer writes it
+    private volatile long failed;            // Only the consumer writes it
+    private volatile RuntimeException lastFailure;
+    private volatile boolean closed;
+
+    private AsyncListener(GameListener delegate, int capacity, Overflow overflow) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        this.delegate = delegate;
+        this.overflow = overflow;
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.ring = new long[size];
+        this.mask = ring.length - 1;
+        this.consumer = new Thread(this::consume, "async-" + delegate.getClass().getSimpleName());
+        consumer.setDaemon(true);
+    }
+
+    /**
+     * Makes an AsyncListener and starts its consumer thread.
+     * @param capacity Events that can wait for the listener (rounded up to a power of two)
+     * @param overflow What publishing does when the ring is full
+     */
+    public static AsyncListener start(GameListener delegate, int capacity, Overflow overflow) {
+        AsyncListener listener = new AsyncListener(delegate, capacity, overflow);
+        listener.consumer.start();
+        return listener;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * @return Events lost because the listener fell a full ring behind (always 0 with Overflow.BLOCK),
+     * or because they were published after close()
+     */
+    public long getDroppedEvents() {
+        return dropped;
+    }
+
+    /**
+     * @return Events whose delivery threw an exception
+     */
+    public long getFailedEvents() {
+        return failed;
+    }
+
+    /**
+     * @return The last exception the listener threw, or null
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Delivers the events still in the ring and stops the consumer thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Producer side ---
+    private void publish(int type, int seat, int value) {
+        long t = tail;
+        if (t - cachedHead >= ring.length) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            if (t - cachedHead >= ring.length && (overflow == Overflow.DROP || !awaitRoom(t))) {
+                dropped++;
+                return;
+            }
+        }
+        if (closed) {
+            dropped++; // Nobody would deliver it
+            return;
+        }
+        ring[(int) t & mask] = (long) type << 56 | (long) (seat & 0xFF) << 48 | (value & 0xFFFFFFFFL);
+        // A volatile write, so either the consumer sees the event or we see it parked (and wake it)
+        TAIL.setVolatile(this, t + 1);
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Parks the producer until the consumer makes room for event t.
+     * @return false if the listener was closed in the meantime
+     */
+    private boolean awaitRoom(long t) {
+        blockedProducer = Thread.currentThread();
+        try {
+            while (true) {
+                cachedHead = (long) HEAD.getVolatile(this);
+                if (t - cachedHead < ring.length) {
+                    return true;
+                }
+                if (closed) {
+                    return false;
+                }
+                LockSupport.park(this);
+            }
+        } finally {
+            blockedProducer = null;
+        }
+    }
+
+    @Override
+    public void gameStarted(int playerCount) {
+        publish(GAME_START, 0, playerCount);
+    }
+
+    @Override
+    public void roundStarted(int round, int startingSeat) {
+        publish(ROUND_START, startingSeat, round);
+    }
+
+    @Override
+    public void cardDealt(int seat, Card card) {
+        publish(DEAL, seat, card.getId());
+    }
+
+    @Override
+    public void cardTurnedUp(Card card) {
+        publish(TURN_UP, 0, card.getId());
+    }
+
+    @Override
+    public void turnStarted(int seat, int turn) {
+        publish(TURN, seat, turn);
+    }
+
+    @Override
+    public void drawChosen(int seat) {
+        publish(DRAW_CHOSEN, seat, 0);
+    }
+
+    @Override
+    public void cardDrawn(int seat, Card card) {
+        publish(DRAW, seat, card.getId());
+    }
+
+    @Override
+    public void discardReshuffled(int cards) {
+        publish(RESHUFFLE, 0, cards);
+    }
+
+    @Override
+    public void cardPlayed(int seat, Card card) {
+        publish(PLAY, seat, card.getId());
+    }
+
+    @Override
+    public void colorChosen(int seat, Card.Color color) {
+        publish(COLOR, seat, color.ordinal());
+    }
+
+    @Override
+    public void unoCalled(int seat) {
+        publish(UNO, seat, 0);
+    }
+
+    @Override
+    public void penaltyApplied(int seat, int cards) {
+        publish(PENALTY, seat, cards);
+    }
+
+    @Override
+    public void handsSwapped(int seat, int otherSeat) {
+        publish(SWAP, seat, otherSeat);
+    }
+
+    @Override
+    public void handsRotated(boolean clockwise) {
+        publish(ROTATE, 0, clockwise ? 1 : 0);
+    }
+
+    @Override
+    public void roundEnded(int winnerSeat, int points) {
+        publish(ROUND_END, winnerSeat, points);
+    }
+
+    @Override
+    public void gameEnded(int winnerSeat) {
+        publish(GAME_END, winnerSeat, 0);
+    }
+
+    // --- Consumer side ---
+    private void consume() {
+        long h = head;
+        while (true) {
+            boolean closing = closed; // Read before tail, so nothing published before close() is missed
+            long t = (long) TAIL.getAcquire(this);
+            if (h == t) {
+                if (closing) {
+                    wakeProducer();
+                    return;
+                }
+                // Say we are going to sleep, then look once more: the producer checks the flag after every event
+                consumerParked = true;
+                if ((long) TAIL.getVolatile(this) == h && !closed) {
+                    LockSupport.park(this);
+                }
+                consumerParked = false;
+                continue;
+            }
+            for (; h < t; h++) {
+                deliver(ring[(int) h & mask]);
+            }
+            HEAD.setVolatile(this, h);
+            wakeProducer();
+        }
+    }
+
+    private void wakeProducer() {
+        Thread producer = blockedProducer;
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+    private void deliver(long event) {
+        try {
+            dispatch(event);
+        } catch (RuntimeException e) {
+            if (failed == 0) {
+                System.err.println(consumer.getName() + ": listener failed on event type " + (event >>> 56)
+                        + " (later failures are only counted): " + e);
+            }
+            failed++;
+            lastFailure = e;
+        }
+    }
+
+    private void dispatch(long event) {
+        int type = (int) (event >>> 56);
+        int seat = (byte) (event >>> 48); // Sign-extends, so a seat of -1 comes back as -1
+        int value = (int) event;
+        switch (type) {
+            case GAME_START: delegate.gameStarted(value); break;
+            case ROUND_START: delegate.roundStarted(value, seat); break;
+            case DEAL: delegate.cardDealt(seat, Card.byId(value)); break;
+            case TURN_UP: delegate.cardTurnedUp(Card.byId(value)); break;
+            case TURN: delegate.turnStarted(seat, value); break;
+            case DRAW: delegate.cardDrawn(seat, Card.byId(value)); break;
+            case PLAY: delegate.cardPlayed(seat, Card.byId(value)); break;
+            case COLOR: delegate.colorChosen(seat, COLORS[value]); break;
+            case UNO: delegate.unoCalled(seat); break;
+            case PENALTY: delegate.penaltyApplied(seat, value); break;
+            case ROUND_END: delegate.roundEnded(seat, value); break;
+            case GAME_END: delegate.gameEnded(seat); break;
+            case SWAP: delegate.handsSwapped(seat, value); break;
+            case ROTATE: delegate.handsRotated(value != 0); break;
+            case DRAW_CHOSEN: delegate.drawChosen(seat); break;
+            case RESHUFFLE: delegate.discardReshuffled(value); break;
+            default: throw new IllegalStateException("Unknown event type " + type);
+        }
+    }
+}
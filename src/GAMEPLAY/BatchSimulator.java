@@ -0,0 +1,459 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+import CARDS.Deck;
+import PLAYERS.Hand;
+import RULES.Referee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The BatchSimulator class plays bot-only games like a Tournament of BotPlayers, but many at a time:
+ * instead of one object graph (Deck, Players, Hands) per game, a batch keeps LANES games side by side
+ * in flat primitive arrays (struct of arrays) and moves all of them forward one turn at a time.
+ *
+ * Every turn runs in three passes over the lanes still playing:
+ * 1. the playable card IDs of the player to move, as two bitset words (a table lookup and an AND, no branches),
+ * 2. the BotPlayer's choice among them (Hand.bestPlayableId),
+ * 3. the moves themselves, with the same effects as Action_Cards and StandardRules.
+ * The piles are kept exactly like Deck keeps them and every game gets Tournament.gameSeed as its
+ * shuffle seed, so runRange(from, to) gives the same TournamentResult as new Tournament(seats, masterSeed)
+ * .runRange(from, to), only faster. A lane that finishes its game starts the next one right away.
+ */
+public class BatchSimulator {
+    public static final int LANES = 256;
+
+    private static final int IDS = Card.ID_COUNT;
+    private static final int SIZE = Deck.DECK_SIZE;
+    private static final int COLORS = 4; // Wild cards take no part in the bot's color choice
+    private static final int FACES = IDS / Card.Color.values().length;
+    private static final int[] TEMPLATE = Deck.copyTemplate();
+
+    // Same effects as SimState: looked up per card ID instead of asking Action_Cards
+    private static final int EFFECT_NONE = 0;
+    private static final int EFFECT_SKIP = 1;
+    private static final int EFFECT_REVERSE = 2;
+    private static final int EFFECT_DRAW_TWO = 3;
+    private static final int EFFECT_WILD = 4;
+    private static final int EFFECT_WILD_DRAW_FOUR = 5;
+    private static final byte[] EFFECTS = new byte[IDS];
+
+    static {
+        for (int id = 0; id < IDS; id++) {
+            switch (Card.typeOf(id)) {
+                case SKIP: EFFECTS[id] = EFFECT_SKIP; break;
+                case REVERSE: EFFECTS[id] = EFFECT_REVERSE; break;
+                case DRAW_TWO: EFFECTS[id] = EFFECT_DRAW_TWO; break;
+                case WILD: EFFECTS[id] = EFFECT_WILD; break;
+                case WILD_DRAW_FOUR: EFFECTS[id] = EFFECT_WILD_DRAW_FOUR; break;
+                default: EFFECTS[id] = EFFECT_NONE;
+            }
+        }
+    }
+
+    private final int seats;
+    private final long masterSeed;
+    private final int targetScore;
+
+    public BatchSimulator(int seats, long masterSeed) {
+        this(seats, masterSeed, Referee.DEFAULT_TARGET_SCORE);
+    }
+
+    public BatchSimulator(int seats, long masterSeed, int targetScore) {
+        if (seats < 2 || seats > SimState.MAX_PLAYERS) {
+            throw new IllegalArgumentException("A game needs 2 to " + SimState.MAX_PLAYERS + " players: " + seats);
+        }
+        this.seats = seats;
+        this.masterSeed = masterSeed;
+        this.targetScore = targetScore;
+    }
+
+    /**
+     * Plays the games in slices of the common fork-join pool, one batch per slice.
+     */
+    public TournamentResult run(int games) {
+        return run(games, ForkJoinPool.commonPool());
+    }
+
+    public TournamentResult run(int games, ForkJoinPool pool) {
+        // Enough slices to keep every thread busy, but each one big enough to fill its lanes
+        int slices = Math.max(1, Math.min(pool.getParallelism() * 4, games / LANES));
+        List<Callable<TournamentResult>> tasks = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            long from = (long) games * i / slices;
+            long to = (long) games * (i + 1) / slices;
+            tasks.add(() -> runRange(from, to));
+        }
+        TournamentResult result = new TournamentResult(seats);
+        try {
+            for (Future<TournamentResult> future : pool.invokeAll(tasks)) {
+                result.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch simulation failed", e.getCause());
+        }
+        return result;
+    }
+
+    /**
+     * Plays games [from, to) on the calling thread.
+     */
+    public TournamentResult runRange(long from, long to) {
+        TournamentResult result = new TournamentResult(seats);
+        new Batch((int) Math.min(LANES, Math.max(0, to - from))).run(from, to, result);
+        return result;
+    }
+
+    /**
+     * The state of up to LANES games. Per-lane values are indexed by lane,
+     * per-seat values by lane * seats + seat, hands by (lane * seats + seat) * IDS + card ID.
+     */
+    private final class Batch {
+        private final int lanes;
+
+        // The games
+        private final SplittableRandom[] random;
+        private final int[] rounds;
+        private final int[] gameTurns;
+        private final int[] gamePoints;
+
+        // The piles, laid out like Deck: the draw pile from the front, the discards from the back
+        private final int[] piles;
+        private final int[] drawCount;
+        private final int[] discardCount;
+
+        // The round
+        private final int[] current;
+        private final int[] direction; // +1 clockwise, -1 counter-clockwise
+        private final int[] activeColor;
+        private final int[] turns;
+        private final int[] winner;
+
+        // The hands
+        private final byte[] hands;
+        private final long[] present0;
+        private final long[] present1;
+        private final int[] handSizes;
+        private final int[] handPoints;
+        private final int[] colorCounts; // [(lane * seats + seat) * COLORS + color]
+
+        // The lanes still playing, and their moves for this turn
+        private final int[] active;
+        private final long[] playable0;
+        private final long[] playable1;
+        private final int[] moves;
+        private final int[] finalPoints = new int[seats];
+
+        Batch(int lanes) {
+            this.lanes = lanes;
+            random = new SplittableRandom[lanes];
+            rounds = new int[lanes];
+            gameTurns = new int[lanes];
+            gamePoints = new int[lanes * seats];
+            piles = new int[lanes * SIZE];
+            drawCount = new int[lanes];
+            discardCount = new int[lanes];
+            current = new int[lanes];
+            direction = new int[lanes];
+            activeColor = new int[lanes];
+            turns = new int[lanes];
+            winner = new int[lanes];
+            hands = new byte[lanes * seats * IDS];
+            present0 = new long[lanes * seats];
+            present1 = new long[lanes * seats];
+            handSizes = new int[lanes * seats];
+            handPoints = new int[lanes * seats];
+            colorCounts = new int[lanes * seats * COLORS];
+            active = new int[lanes];
+            playable0 = new long[lanes];
+            playable1 = new long[lanes];
+            moves = new int[lanes];
+        }
+
+        void run(long from, long to, TournamentResult result) {
+            long next = from;
+            int count = 0;
+            for (int lane = 0; lane < lanes && next < to; lane++) {
+                startGame(lane, next++);
+                startRound(lane);
+                active[count++] = lane;
+            }
+            while (count > 0) {
+                // Pass 1: what the player to move could play
+                for (int i = 0; i < count; i++) {
+                    int lane = active[i];
+                    int player = lane * seats + current[lane];
+                    int top = piles[lane * SIZE + SIZE - discardCount[lane]];
+                    playable0[i] = present0[player] & Card.playableMask(top, activeColor[lane], 0);
+                    playable1[i] = present1[player] & Card.playableMask(top, activeColor[lane], 1);
+                }
+                // Pass 2: what a BotPlayer picks
+                for (int i = 0; i < count; i++) {
+                    int best = Hand.bestPlayableId(playable0[i], playable1[i]);
+                    moves[i] = best == Card.NO_CARD ? GameState.DRAW_MOVE : best;
+                }
+                // Pass 3: play the moves, finish rounds and games, refill or retire lanes
+                int kept = 0;
+                for (int i = 0; i < count; i++) {
+                    int lane = active[i];
+                    turns[lane]++;
+                    apply(lane, moves[i]);
+                    if (winner[lane] >= 0 || turns[lane] >= UnoGame.MAX_TURNS_PER_ROUND) {
+                        if (finishRound(lane, result)) {
+                            if (next >= to) {
+                                continue; // Retire the lane
+                            }
+                            startGame(lane, next++);
+                        }
+                        startRound(lane);
+                    }
+                    active[kept++] = lane;
+                }
+                count = kept;
+            }
+        }
+
+        // --- Games and rounds ---
+
+        private void startGame(int lane, long game) {
+            random[lane] = new SplittableRandom(Tournament.gameSeed(masterSeed, game));
+            rounds[lane] = 0;
+            gameTurns[lane] = 0;
+            Arrays.fill(gamePoints, lane * seats, (lane + 1) * seats, 0);
+        }
+
+        /**
+         * Deals like UnoGame.startRound: a fresh shuffled deck, CARDS_PER_HAND cards to every seat in turn,
+         * then cards are turned up until one is a number card.
+         */
+        private void startRound(int lane) {
+            int base = lane * seats;
+            Arrays.fill(hands, base * IDS, (base + seats) * IDS, (byte) 0);
+            Arrays.fill(present0, base, base + seats, 0);
+            Arrays.fill(present1, base, base + seats, 0);
+            Arrays.fill(handSizes, base, base + seats, 0);
+            Arrays.fill(handPoints, base, base + seats, 0);
+            Arrays.fill(colorCounts, base * COLORS, (base + seats) * COLORS, 0);
+            System.arraycopy(TEMPLATE, 0, piles, lane * SIZE, SIZE);
+            drawCount[lane] = SIZE;
+            discardCount[lane] = 0;
+            shuffle(lane, 0, SIZE);
+
+            for (int i = 0; i < UnoGame.CARDS_PER_HAND; i++) {
+                for (int seat = 0; seat < seats; seat++) {
+                    addToHand(base + seat, draw(lane));
+                }
+            }
+            int first;
+            do {
+                first = draw(lane);
+                discard(lane, first);
+            } while (first % FACES >= 10);
+
+            current[lane] = rounds[lane] % seats;
+            rounds[lane]++;
+            direction[lane] = 1;
+            activeColor[lane] = first / FACES;
+            turns[lane] = 0;
+            winner[lane] = -1;
+        }
+
+        /**
+         * Scores the round like UnoGame.finishRound and checks for a game winner like UnoGame.getGameWinner.
+         * @return true if the game is over (and recorded)
+         */
+        private boolean finishRound(int lane, TournamentResult result) {
+            int base = lane * seats;
+            gameTurns[lane] += turns[lane];
+            if (winner[lane] >= 0) {
+                int points = 0;
+                for (int seat = 0; seat < seats; seat++) {
+                    points += handPoints[base + seat];
+                }
+                gamePoints[base + winner[lane]] += points; // The winner's own hand is empty
+            }
+            int gameWinner = -1;
+            for (int seat = 0; seat < seats; seat++) {
+                if (gamePoints[base + seat] >= targetScore
+                        && (gameWinner < 0 || gamePoints[base + seat] > gamePoints[base + gameWinner])) {
+                    gameWinner = seat;
+                }
+            }
+            if (gameWinner < 0) {
+                return false;
+            }
+            System.arraycopy(gamePoints, base, finalPoints, 0, seats);
+            result.recordGame(gameWinner, finalPoints, rounds[lane], gameTurns[lane]);
+            return true;
+        }
+
+        // --- Turns ---
+
+        /**
+         * Plays one move for the player to move, like UnoGame.playTurn with StandardRules
+         */
+        private void apply(int lane, int move) {
+            int seat = current[lane];
+            if (move == GameState.DRAW_MOVE) {
+                if (!hasCardsToDraw(lane)) {
+                    advance(lane, 1);
+                    return;
+                }
+                int drawn = draw(lane);
+                addToHand(lane * seats + seat, drawn);
+                int top = piles[lane * SIZE + SIZE - discardCount[lane]];
+                if (!Card.canPlay(drawn, top, activeColor[lane])) {
+                    advance(lane, 1);
+                    return;
+                }
+                move = drawn;
+            }
+
+            int player = lane * seats + seat;
+            removeFromHand(player, move);
+            discard(lane, move);
+            int effect = EFFECTS[move];
+            activeColor[lane] = effect >= EFFECT_WILD ? favoriteColor(player) : move / FACES;
+            if (handSizes[player] == 0) {
+                winner[lane] = seat;
+            }
+            // The effects still apply to the last card, like StandardRules.afterPlay
+            switch (effect) {
+                case EFFECT_SKIP:
+                    advance(lane, 2);
+                    break;
+                case EFFECT_REVERSE:
+                    direction[lane] = -direction[lane];
+                    advance(lane, seats == 2 ? 2 : 1); // In a 2-player game, REVERSE acts as SKIP
+                    break;
+                case EFFECT_DRAW_TWO:
+                    drawCards(lane, 2);
+                    advance(lane, 2);
+                    break;
+                case EFFECT_WILD_DRAW_FOUR:
+                    drawCards(lane, 4);
+                    advance(lane, 2);
+                    break;
+                default:
+                    advance(lane, 1);
+            }
+        }
+
+        private void advance(int lane, int steps) {
+            current[lane] = Math.floorMod(current[lane] + direction[lane] * steps, seats);
+        }
+
+        /**
+         * The next player draws, as long as there is something to draw
+         */
+        private void drawCards(int lane, int count) {
+            int player = lane * seats + Math.floorMod(current[lane] + direction[lane], seats);
+            for (int i = 0; i < count && hasCardsToDraw(lane); i++) {
+                addToHand(player, draw(lane));
+            }
+        }
+
+        /**
+         * The color a player holds most of (RED if none), like BotPlayer.chooseColor
+         */
+        private int favoriteColor(int player) {
+            int at = player * COLORS;
+            int best = 0;
+            for (int color = 1; color < COLORS; color++) {
+                if (colorCounts[at + color] > colorCounts[at + best]) {
+                    best = color;
+                }
+            }
+            return best;
+        }
+
+        // --- Hands ---
+
+        private void addToHand(int player, int id) {
+            hands[player * IDS + id]++;
+            if (id < 64) {
+                present0[player] |= 1L << id;
+            } else {
+                present1[player] |= 1L << id;
+            }
+            handSizes[player]++;
+            handPoints[player] += Card.pointsOf(id);
+            int color = id / FACES;
+            if (color < COLORS) {
+                colorCounts[player * COLORS + color]++;
+            }
+        }
+
+        private void removeFromHand(int player, int id) {
+            if (--hands[player * IDS + id] == 0) {
+                if (id < 64) {
+                    present0[player] &= ~(1L << id);
+                } else {
+                    present1[player] &= ~(1L << id);
+                }
+            }
+            handSizes[player]--;
+            handPoints[player] -= Card.pointsOf(id);
+            int color = id / FACES;
+            if (color < COLORS) {
+                colorCounts[player * COLORS + color]--;
+            }
+        }
+
+        // --- Piles, exactly like Deck ---
+
+        private boolean hasCardsToDraw(int lane) {
+            return drawCount[lane] > 0 || discardCount[lane] > 1;
+        }
+
+        private int draw(int lane) {
+            if (drawCount[lane] == 0) {
+                reshuffle(lane);
+            }
+            return piles[lane * SIZE + --drawCount[lane]];
+        }
+
+        private void discard(int lane, int id) {
+            piles[lane * SIZE + SIZE - ++discardCount[lane]] = id;
+        }
+
+        /**
+         * Everything below the top discard is shuffled where it lies and moved to the empty draw pile
+         */
+        private void reshuffle(int lane) {
+            int base = lane * SIZE;
+            int start = SIZE - discardCount[lane] + 1;
+            int moved = discardCount[lane] - 1;
+            if (moved <= 0) {
+                throw new IllegalStateException("The draw pile is empty and only the top discard is left!");
+            }
+            shuffle(lane, start, SIZE);
+            int top = piles[base + start - 1];
+            System.arraycopy(piles, base + start, piles, base, moved);
+            drawCount[lane] = moved;
+            piles[base + SIZE - 1] = top;
+            discardCount[lane] = 1;
+        }
+
+        private void shuffle(int lane, int from, int to) {
+            SplittableRandom source = random[lane];
+            int base = lane * SIZE;
+            for (int i = to - 1; i > from; i--) {
+                int j = from + source.nextInt(i - from + 1);
+                int tmp = piles[base + i];
+                piles[base + i] = piles[base + j];
+                piles[base + j] = tmp;
+            }
+        }
+    }
+}
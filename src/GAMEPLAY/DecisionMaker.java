@@ -0,0 +1,87 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+import PLAYERS.Player;
+
+/**
+ * The DecisionMaker interface is how the turn engine asks a player what to do.
+ * Bots answer directly, human players answer through the console menu,
+ * so the engine itself never touches a Scanner or System.out.
+ */
+public interface DecisionMaker {
+
+    /**
+     * Chooses a card from the player's hand to play on the current top card.
+     * @param state The current game state (top card, active color, other players)
+     * @param player The player whose turn it is
+     * @return The card to play, or null to draw a card instead
+     */
+    Card chooseCardToPlay(GameState state, Player player);
+
+    /**
+     * Chooses the next color after the player played a WILD or WILD DRAW FOUR card.
+     * @return One of RED, BLUE, GREEN or YELLOW
+     */
+    Card.Color chooseColor(GameState state, Player player);
+
+    /**
+     * Decides whether a card that was just drawn (and can be played) should be played right away.
+     */
+    default boolean playDrawnCard(GameState state, Player player, Card drawnCard) {
+        return true;
+    }
+
+    /**
+     * Decides whether the player calls UNO when they are down to one card.
+     */
+    default boolean shouldCallUNO(GameState state, Player player) {
+        return true;
+    }
+
+    /**
+     * Answers a stack of draw cards aimed at the player (house rule: stacking): pass it on with a
+     * Draw Two (only on a Draw Two) or a Wild Draw Four, or take all the cards.
+     * Asked at the start of the player's turn instead of chooseCardToPlay; the top card is the last
+     * card stacked. A card that cannot be stacked counts as taking the cards.
+     * By default a Draw Two if it can be stacked, otherwise a Wild Draw Four, otherwise null.
+     * @param cardsToDraw Cards the player takes if they do not stack
+     * @return The card to stack, or null to draw cardsToDraw cards and lose the turn
+     */
+    default Card answerStack(GameState state, Player player, int cardsToDraw) {
+        Card wildDrawFour = null;
+        for (Card card : player.getHand()) {
+            if (card.getType() == Card.Type.DRAW_TWO && state.getTopDiscard().getType() == Card.Type.DRAW_TWO) {
+                return card;
+            }
+            if (card.getType() == Card.Type.WILD_DRAW_FOUR && wildDrawFour == null) {
+                wildDrawFour = card;
+            }
+        }
+        return wildDrawFour;
+    }
+
+    /**
+     * Decides whether to jump in out of turn with a card identical to the one just played
+     * (house rule: jump-in). Only asked when the player holds such a card.
+     */
+    default boolean jumpIn(GameState state, Player player, Card card) {
+        return true;
+    }
+
+    /**
+     * Chooses whose hand to take after playing a 7 (house rule: seven-swap).
+     * By default the opponent with the fewest cards.
+     * @return A seat other than the player's own
+     */
+    default int chooseSwapSeat(GameState state, Player player) {
+        int own = state.getPlayers().indexOf(player);
+        int best = -1;
+        for (int seat = 0; seat < state.getPlayerCount(); seat++) {
+            if (seat != own && (best < 0
+                    || state.getPlayers().get(seat).getHand().size() < state.getPlayers().get(best).getHand().size())) {
+                best = seat;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,136 @@
+package GAMEPLAY;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The EndgameMemo class caches EndgameSolver results (one long per position key) in a fixed
+ * number of slots and can be shared by solvers on any number of threads.
+ *
+ * Slots are grouped in sets of WAYS; a key can only live in its own set. When a set is full,
+ * a clock hand sweeps it: every slot read or written since the hand last passed gets a second
+ * chance, the first one that was not is evicted. So positions that keep being looked up stay,
+ * like with LRU, without keeping a list in order.
+ * Each set is guarded by one of a fixed number of striped locks, held for a scan of WAYS slots.
+ */
+public class EndgameMemo {
+    public static final int WAYS = 8;
+    private static final int LOCKS = 256;
+
+    // Slot states
+    private static final byte EMPTY = 0;
+    private static final byte PRESENT = 1;
+    private static final byte REFERENCED = 2;
+
+    private final long[] keys;
+    private final long[] values;
+    private final byte[] states;
+    private final int[] hands;     // Clock hand of every set
+    private final Object[] locks = new Object[LOCKS];
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity Number of entries (rounded up to a power of two, at least WAYS)
+     */
+    public EndgameMemo(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = WAYS;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.keys = new long[size];
+        this.values = new long[size];
+        this.states = new byte[size];
+        this.hands = new int[size / WAYS];
+        this.setMask = size / WAYS - 1;
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return The cached value, or 'missing' if the key is not in the memo
+     */
+    public long get(long key, long missing) {
+        int set = setOf(key);
+        int first = set * WAYS;
+        synchronized (locks[set & (LOCKS - 1)]) {
+            for (int slot = first; slot < first + WAYS; slot++) {
+                if (states[slot] != EMPTY && keys[slot] == key) {
+                    states[slot] = REFERENCED;
+                    hits.increment();
+                    return values[slot];
+                }
+            }
+        }
+        misses.increment();
+        return missing;
+    }
+
+    public void put(long key, long value) {
+        int set = setOf(key);
+        int first = set * WAYS;
+        synchronized (locks[set & (LOCKS - 1)]) {
+            int free = -1;
+            for (int slot = first; slot < first + WAYS; slot++) {
+                if (states[slot] == EMPTY) {
+                    free = free < 0 ? slot : free;
+                } else if (keys[slot] == key) {
+                    values[slot] = value;
+                    states[slot] = REFERENCED;
+                    return;
+                }
+            }
+            if (free < 0) {
+                // Sweep the clock hand: clear reference bits until a slot without one comes up
+                int hand = hands[set];
+                while (states[first + hand] == REFERENCED) {
+                    states[first + hand] = PRESENT;
+                    hand = (hand + 1) & (WAYS - 1);
+                }
+                free = first + hand;
+                hands[set] = (hand + 1) & (WAYS - 1);
+                evictions.increment();
+            }
+            keys[free] = key;
+            values[free] = value;
+            states[free] = REFERENCED;
+        }
+    }
+
+    public void clear() {
+        for (int lock = 0; lock < LOCKS; lock++) {
+            synchronized (locks[lock]) {
+                for (int set = lock; set <= setMask; set += LOCKS) {
+                    Arrays.fill(states, set * WAYS, set * WAYS + WAYS, EMPTY);
+                }
+            }
+        }
+    }
+
+    private int setOf(long key) {
+        // Mix the high bits in: keys are Zobrist hashes, but callers may combine several
+        return (int) (key ^ key >>> 32) & setMask;
+    }
+}
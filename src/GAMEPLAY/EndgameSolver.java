@@ -0,0 +1,266 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+
+import java.util.SplittableRandom;
+
+/**
+ * The EndgameSolver class searches small-hand positions exactly instead of sampling them.
+ *
+ * On a position with every card known (a SimState, e.g. one determinization of what a bot observes)
+ * the round is deterministic, so it is searched with alpha-beta: the solving player maximizes and
+ * everybody else is assumed to play against them (paranoid search). A position is worth WIN if the
+ * solving player goes out, -WIN if anybody else does, and otherwise scored by hand sizes at the horizon.
+ * Moves follow the same rules as SimState, whose effect of every card ID mirrors Action_Cards.
+ *
+ * The search deepens one turn at a time until the result is proven or the deadline passes, and
+ * keeps every searched position in an EndgameMemo, keyed by the exact position (hash() ^ drawPileHash()).
+ * The memo can be shared; the solver itself belongs to one thread and keeps a private TranspositionTable
+ * in front of it, so positions it searched itself are found again without the memo's locks.
+ */
+public class EndgameSolver {
+    public static final int WIN = 1_000_000;
+    public static final int NO_MOVE = -1;
+    public static final int MAX_DEPTH = 64;  // Turns
+    private static final int SAMPLES = 8;    // Determinizations chooseMove aims for within its budget
+    private static final int LOCAL_ENTRIES = 1 << 16;
+
+    // Memo entries: value (32 bits) | depth (8) | bound (2) | best move (7)
+    private static final long MISSING = -1L;
+    private static final int EXACT = 0;
+    private static final int LOWER = 1; // The value is at least this
+    private static final int UPPER = 2; // The value is at most this
+    private static final long[] SOLVER_KEYS = new long[SimState.MAX_PLAYERS];
+
+    static {
+        SplittableRandom keys = new SplittableRandom(0xE7D6_A3E5L);
+        for (int i = 0; i < SOLVER_KEYS.length; i++) {
+            SOLVER_KEYS[i] = keys.nextLong();
+        }
+    }
+
+    private final EndgameMemo memo;
+    private final TranspositionTable local = new TranspositionTable(LOCAL_ENTRIES);
+    private final SplittableRandom random;
+    private final int[][] moves = new int[MAX_DEPTH + 1][Card.ID_COUNT + 1];
+    private SimState[] stack = new SimState[0]; // One state per ply, reused
+    private int solver;
+    private long deadline;
+    private boolean timedOut;
+    private int rootMove;
+    private long nodes;
+
+    // The last solve
+    private int lastValue;
+    private int lastDepth;
+    private boolean lastProven;
+
+    public EndgameSolver(EndgameMemo memo, long seed) {
+        this.memo = memo;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Whether every hand is small enough for the solver to be worth calling
+     */
+    public static boolean isEndgame(GameState state, int maxHandSize) {
+        for (int seat = 0; seat < state.getPlayerCount(); seat++) {
+            if (state.getPlayers().get(seat).getHand().size() > maxHandSize) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public EndgameMemo getMemo() {
+        return memo;
+    }
+
+    /** The solver's private first-level cache */
+    public TranspositionTable getLocalTable() {
+        return local;
+    }
+
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /** The value of the last solve() for the player who moved, between -WIN and WIN */
+    public int getLastValue() {
+        return lastValue;
+    }
+
+    /** The deepest search the last solve() finished, in turns */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /** Whether the last solve() found a forced win or loss (against opponents who all play against the solver) */
+    public boolean isLastProven() {
+        return lastProven;
+    }
+
+    /**
+     * Finds the best move for the player to move in a fully known position.
+     * @param deadlineNanos System.nanoTime() after which to stop and answer from the deepest finished search
+     * @return A card ID or SimState.DRAW, or NO_MOVE if not even a one-turn search finished in time
+     */
+    public int solve(SimState position, long deadlineNanos) {
+        int players = position.getPlayerCount();
+        if (stack.length == 0 || stack[0].getPlayerCount() != players) {
+            stack = new SimState[MAX_DEPTH + 1];
+            for (int i = 0; i < stack.length; i++) {
+                stack[i] = new SimState(players, random);
+            }
+        }
+        stack[0].copyFrom(position);
+        solver = position.getCurrentPlayer();
+        deadline = deadlineNanos;
+        timedOut = false;
+        lastValue = 0;
+        lastDepth = 0;
+        lastProven = false;
+
+        int best = NO_MOVE;
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            int value = search(0, depth, -WIN - 1, WIN + 1);
+            if (timedOut) {
+                break;
+            }
+            best = rootMove;
+            lastValue = value;
+            lastDepth = depth;
+            if (Math.abs(value) == WIN) {
+                lastProven = true; // Every line was searched to someone going out
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Solves sampled versions of what a player sees (SimState.determinize) until the budget is spent,
+     * and picks the move most of them found best. Proven wins count double, proven losses not at all.
+     * @return A card ID or SimState.DRAW, or NO_MOVE if nothing useful finished in time
+     */
+    public int chooseMove(GameState state, int seat, long budgetNanos) {
+        long start = System.nanoTime();
+        long end = start + budgetNanos;
+        Observation observation = new Observation(state, seat);
+        SimState sample = new SimState(state.getPlayerCount(), random);
+        int[] votes = new int[Card.ID_COUNT + 1];
+        for (int i = 0; System.nanoTime() < end; i++) {
+            sample.determinize(observation, random);
+            // Give every sample its share of what is left, so several get solved
+            long now = System.nanoTime();
+            int move = solve(sample, now + Math.max((end - now) / Math.max(1, SAMPLES - i), 1));
+            // A proven loss only means the opponents could gang up; it says nothing about the move
+            if (move != NO_MOVE && !(lastProven && lastValue == -WIN)) {
+                votes[move] += lastProven ? 2 : 1;
+            }
+        }
+        int best = NO_MOVE;
+        for (int move = 0; move < votes.length; move++) {
+            if (votes[move] > 0 && (best == NO_MOVE || votes[move] > votes[best])) {
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    private int search(int ply, int depth, int alpha, int beta) {
+        SimState position = stack[ply];
+        if (position.getWinner() != SimState.NO_WINNER) {
+            return position.getWinner() == solver ? WIN : -WIN;
+        }
+        if (depth == 0 || ply == MAX_DEPTH) {
+            return evaluate(position);
+        }
+        if ((++nodes & 1023) == 0 && System.nanoTime() > deadline) {
+            timedOut = true;
+            return 0;
+        }
+
+        long key = key(position);
+        long entry = local.get(key, MISSING);
+        if (entry == MISSING) {
+            entry = memo.get(key, MISSING);
+            if (entry != MISSING) {
+                local.put(key, entry);
+            }
+        }
+        int memoMove = NO_MOVE;
+        if (entry != MISSING) {
+            int value = (int) entry;
+            int bound = (int) (entry >>> 40) & 3;
+            if (ply > 0 && (int) (entry >>> 32 & 0xFF) >= depth
+                    && (bound == EXACT || bound == LOWER && value >= beta || bound == UPPER && value <= alpha)) {
+                return value;
+            }
+            memoMove = (int) (entry >>> 42) & 0x7F;
+        }
+
+        int[] list = moves[ply];
+        int count = position.legalMoves(list);
+        for (int i = 1; i < count; i++) {
+            if (list[i] == memoMove) { // Try the best move of an earlier search first
+                list[i] = list[0];
+                list[0] = memoMove;
+            }
+        }
+        boolean maximizing = position.getCurrentPlayer() == solver;
+        int best = maximizing ? -WIN - 1 : WIN + 1;
+        int bestMove = list[0];
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        SimState next = stack[ply + 1];
+        for (int i = 0; i < count; i++) {
+            next.copyFrom(position);
+            next.apply(list[i]);
+            int value = search(ply + 1, depth - 1, alpha, beta);
+            if (timedOut) {
+                return 0;
+            }
+            if (maximizing ? value > best : value < best) {
+                best = value;
+                bestMove = list[i];
+                if (ply == 0) {
+                    rootMove = bestMove;
+                }
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, value);
+            } else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = best <= originalAlpha ? UPPER : best >= originalBeta ? LOWER : EXACT;
+        long result = (best & 0xFFFFFFFFL) | (long) depth << 32 | (long) bound << 40 | (long) bestMove << 42;
+        local.put(key, result);
+        memo.put(key, result);
+        return best;
+    }
+
+    private long key(SimState position) {
+        // Values are from the solving player's side, so they are part of the key
+        return position.hash() ^ position.drawPileHash() ^ SOLVER_KEYS[solver];
+    }
+
+    /**
+     * Score of an unfinished position: how much closer to going out the solving player is
+     * than the closest opponent, in cards
+     */
+    private int evaluate(SimState position) {
+        int closest = Integer.MAX_VALUE;
+        for (int player = 0; player < position.getPlayerCount(); player++) {
+            if (player != solver) {
+                closest = Math.min(closest, position.getHandSize(player));
+            }
+        }
+        return (closest - position.getHandSize(solver)) * 100;
+    }
+}
@@ -0,0 +1,180 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+import CARDS.Deck;
+import CARDS.DeckRandom;
+import PLAYERS.Hand;
+import PLAYERS.Player;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The GameCheckpoint class saves everything an UnoGame needs to go on after a restart into a few
+ * hundred bytes, and puts it back into a new game with the same players and rules.
+ * Save between turns (e.g. from the afterTurn hook of UnoGame.continueRound) or between rounds.
+ *
+ * Layout (the buffer's byte order, card IDs one byte each):
+ * <pre>
+ *   version, seat count (bytes)
+ *   round number, turn count (ints), current seat, clockwise, active color (bytes, Card.NO_COLOR for none)
+ *   move count (int), then seat and move (bytes) per move
+ *   TurnRules.saveState() (long), DeckRandom state (long)
+ *   draw pile: count (byte), IDs bottom first; discard pile: count (byte), IDs bottom first
+ *   per seat: round, game and penalty points (ints), hand size (byte), IDs in hand order
+ * </pre>
+ * The deck has to shuffle with a DeckRandom (as a Deck made from a seed does): its state is saved
+ * as it is, so writing a checkpoint changes nothing and the restored game shuffles like the live one.
+ */
+public final class GameCheckpoint {
+    public static final int VERSION = 1;
+
+    private static final int[] DECK_COUNTS = new int[Card.ID_COUNT];
+
+    static {
+        for (int id : Deck.copyTemplate()) {
+            DECK_COUNTS[id]++;
+        }
+    }
+
+    private GameCheckpoint() {
+    }
+
+    /**
+     * Appends the game's checkpoint to the buffer.
+     * @throws java.nio.BufferOverflowException if it does not fit (writing it again into a bigger buffer is fine)
+     * @throws IllegalStateException if the deck does not shuffle with a DeckRandom
+     */
+    public static void write(UnoGame game, ByteBuffer out) {
+        GameState state = game.getState();
+        Deck deck = state.getDeck();
+        List<Player> players = state.getPlayers();
+        if (!(deck.getRandom() instanceof DeckRandom)) {
+            throw new IllegalStateException("Cannot save the shuffles of a deck using " + deck.getRandom().getClass().getName());
+        }
+        long shuffles = ((DeckRandom) deck.getRandom()).getState();
+
+        out.put((byte) VERSION).put((byte) players.size());
+        out.putInt(state.getRoundNumber()).putInt(state.getTurnCount());
+        out.put((byte) state.getCurrentPlayerIndex()).put((byte) (state.isClockwise() ? 1 : 0));
+        out.put((byte) (state.getActiveColor() == null ? Card.NO_COLOR : state.getActiveColor().ordinal()));
+        out.putInt(state.getMoveCount());
+        for (int i = 0; i < state.getMoveCount(); i++) {
+            out.put((byte) state.getMoveSeat(i)).put((byte) state.getMove(i));
+        }
+        out.putLong(game.getRules().saveState()).putLong(shuffles);
+
+        int[] pile = new int[Deck.DECK_SIZE];
+        putIds(out, pile, deck.copyDrawPile(pile));
+        putIds(out, pile, deck.copyDiscardPile(pile));
+        for (Player player : players) {
+            out.putInt(player.getRoundPoints()).putInt(player.getGamePoints()).putInt(player.getPenaltyPoints());
+            Hand hand = player.getHand();
+            out.put((byte) hand.size());
+            for (int i = 0; i < hand.size(); i++) {
+                out.put((byte) hand.get(i).getId());
+            }
+        }
+    }
+
+    /**
+     * Puts a checkpoint back into a game with the same seats and rules, as it was when it was written.
+     * Nothing is published on the game's event bus.
+     * @throws IllegalArgumentException if the checkpoint is damaged or for another table
+     */
+    public static void restore(UnoGame game, ByteBuffer in) {
+        GameState state = game.getState();
+        List<Player> players = state.getPlayers();
+        try {
+            int version = in.get();
+            int seats = in.get();
+            if (version != VERSION || seats != players.size()) {
+                throw new IllegalArgumentException("Checkpoint version " + version + " for " + seats
+                        + " seats does not fit a game of " + players.size());
+            }
+            int roundNumber = in.getInt();
+            int turnCount = in.getInt();
+            int current = in.get();
+            boolean clockwise = in.get() != 0;
+            int color = in.get();
+            int moveCount = in.getInt();
+            if (current < 0 || current >= seats || color < 0 || color > Card.NO_COLOR || moveCount < 0
+                    || moveCount > in.remaining() / 2) {
+                throw new IllegalArgumentException("Damaged checkpoint header");
+            }
+            int[] moveSeats = new int[moveCount];
+            int[] moves = new int[moveCount];
+            for (int i = 0; i < moveCount; i++) {
+                moveSeats[i] = in.get();
+                moves[i] = in.get();
+            }
+            long rulesState = in.getLong();
+            long shuffles = in.getLong();
+
+            int[] counts = new int[Card.ID_COUNT];
+            int[] draw = new int[Deck.DECK_SIZE];
+            int drawCount = getIds(in, draw, counts);
+            int[] discard = new int[Deck.DECK_SIZE];
+            int discardCount = getIds(in, discard, counts);
+            int[][] hands = new int[seats][];
+            int[] points = new int[seats * 3];
+            for (int seat = 0; seat < seats; seat++) {
+                points[seat * 3] = in.getInt();
+                points[seat * 3 + 1] = in.getInt();
+                points[seat * 3 + 2] = in.getInt();
+                hands[seat] = new int[Deck.DECK_SIZE];
+                int size = getIds(in, hands[seat], counts);
+                hands[seat] = Arrays.copyOf(hands[seat], size);
+            }
+            for (int id = 0; id < Card.ID_COUNT; id++) {
+                if (counts[id] != DECK_COUNTS[id]) {
+                    throw new IllegalArgumentException("Damaged checkpoint: " + counts[id] + " copies of "
+                            + Card.byId(id) + " instead of " + DECK_COUNTS[id]);
+                }
+            }
+
+            // Everything checked out: change the game
+            Deck deck = state.getDeck();
+            deck.restore(draw, drawCount, discard, discardCount);
+            deck.setSeed(shuffles);
+            for (int seat = 0; seat < seats; seat++) {
+                Player player = players.get(seat);
+                player.clearHand();
+                for (int id : hands[seat]) {
+                    player.drawCard(Card.byId(id));
+                }
+                player.restorePoints(points[seat * 3], points[seat * 3 + 1], points[seat * 3 + 2]);
+            }
+            state.restore(roundNumber, turnCount, current, clockwise,
+                    color == Card.NO_COLOR ? null : Card.Color.values()[color], moveSeats, moves, moveCount);
+            game.getRules().restoreState(rulesState);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated checkpoint", e);
+        }
+    }
+
+    private static void putIds(ByteBuffer out, int[] ids, int count) {
+        out.put((byte) count);
+        for (int i = 0; i < count; i++) {
+            out.put((byte) ids[i]);
+        }
+    }
+
+    private static int getIds(ByteBuffer in, int[] ids, int[] counts) {
+        int count = in.get() & 0xFF;
+        if (count > Deck.DECK_SIZE) {
+            throw new IllegalArgumentException("Damaged checkpoint: a pile or hand of " + count + " cards");
+        }
+        for (int i = 0; i < count; i++) {
+            int id = in.get();
+            if (id < 0 || id >= Card.ID_COUNT) {
+                throw new IllegalArgumentException("Damaged checkpoint: card ID " + id);
+            }
+            ids[i] = id;
+            counts[id]++;
+        }
+        return count;
+    }
+}
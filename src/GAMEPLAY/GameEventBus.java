@@ -0,0 +1,170 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The GameEventBus class is where UnoGame publishes its events.
+ * It is itself a GameListener that hands every event to all subscribers in order.
+ * The subscribers are kept in an array that is replaced on (un)subscribe, so publishing
+ * is a plain loop that does nothing when nobody is subscribed.
+ *
+ * A slow subscriber (console, file, network) can be subscribed through subscribeAsync,
+ * which puts an AsyncListener in between so the game does not wait for it.
+ */
+public class GameEventBus implements GameListener {
+    // Replaced, never changed, so the game thread sees new subscribers without a lock
+    private volatile GameListener[] subscribers = new GameListener[0];
+
+    public synchronized void subscribe(GameListener listener) {
+        GameListener[] grown = Arrays.copyOf(subscribers, subscribers.length + 1);
+        grown[subscribers.length] = listener;
+        subscribers = grown;
+    }
+
+    /**
+     * Subscribes a listener that is called on its own thread, in batches.
+     * Events are dropped (and counted) if it falls a full ring behind, so use the Overflow.BLOCK
+     * version for logs and replays.
+     * Close the returned AsyncListener when the game is over to deliver the last events.
+     * @param capacity Events that can wait for the listener (rounded up to a power of two)
+     */
+    public AsyncListener subscribeAsync(GameListener listener, int capacity) {
+        return subscribeAsync(listener, capacity, AsyncListener.Overflow.DROP);
+    }
+
+    /**
+     * @param overflow What publishing does when the listener is a full ring behind
+     */
+    public AsyncListener subscribeAsync(GameListener listener, int capacity, AsyncListener.Overflow overflow) {
+        AsyncListener async = AsyncListener.start(listener, capacity, overflow);
+        subscribe(async);
+        return async;
+    }
+
+    public synchronized void unsubscribe(GameListener listener) {
+        List<GameListener> remaining = new ArrayList<>(Arrays.asList(subscribers));
+        remaining.remove(listener);
+        subscribers = remaining.toArray(new GameListener[0]);
+    }
+
+    public boolean hasSubscribers() {
+        return subscribers.length > 0;
+    }
+
+    // --- Publishing ---
+    @Override
+    public void gameStarted(int playerCount) {
+        for (GameListener listener : subscribers) {
+            listener.gameStarted(playerCount);
+        }
+    }
+
+    @Override
+    public void roundStarted(int round, int startingSeat) {
+        for (GameListener listener : subscribers) {
+            listener.roundStarted(round, startingSeat);
+        }
+    }
+
+    @Override
+    public void cardDealt(int seat, Card card) {
+        for (GameListener listener : subscribers) {
+            listener.cardDealt(seat, card);
+        }
+    }
+
+    @Override
+    public void cardTurnedUp(Card card) {
+        for (GameListener listener : subscribers) {
+            listener.cardTurnedUp(card);
+        }
+    }
+
+    @Override
+    public void turnStarted(int seat, int turn) {
+        for (GameListener listener : subscribers) {
+            listener.turnStarted(seat, turn);
+        }
+    }
+
+    @Override
+    public void drawChosen(int seat) {
+        for (GameListener listener : subscribers) {
+            listener.drawChosen(seat);
+        }
+    }
+
+    @Override
+    public void cardDrawn(int seat, Card card) {
+        for (GameListener listener : subscribers) {
+            listener.cardDrawn(seat, card);
+        }
+    }
+
+    @Override
+    public void discardReshuffled(int cards) {
+        for (GameListener listener : subscribers) {
+            listener.discardReshuffled(cards);
+        }
+    }
+
+    @Override
+    public void cardPlayed(int seat, Card card) {
+        for (GameListener listener : subscribers) {
+            listener.cardPlayed(seat, card);
+        }
+    }
+
+    @Override
+    public void colorChosen(int seat, Card.Color color) {
+        for (GameListener listener : subscribers) {
+            listener.colorChosen(seat, color);
+        }
+    }
+
+    @Override
+    public void unoCalled(int seat) {
+        for (GameListener listener : subscribers) {
+            listener.unoCalled(seat);
+        }
+    }
+
+    @Override
+    public void penaltyApplied(int seat, int cards) {
+        for (GameListener listener : subscribers) {
+            listener.penaltyApplied(seat, cards);
+        }
+    }
+
+    @Override
+    public void handsSwapped(int seat, int otherSeat) {
+        for (GameListener listener : subscribers) {
+            listener.handsSwapped(seat, otherSeat);
+        }
+    }
+
+    @Override
+    public void handsRotated(boolean clockwise) {
+        for (GameListener listener : subscribers) {
+            listener.handsRotated(clockwise);
+        }
+    }
+
+    @Override
+    public void roundEnded(int winnerSeat, int points) {
+        for (GameListener listener : subscribers) {
+            listener.roundEnded(winnerSeat, points);
+        }
+    }
+
+    @Override
+    public void gameEnded(int winnerSeat) {
+        for (GameListener listener : subscribers) {
+            listener.gameEnded(winnerSeat);
+        }
+    }
+}
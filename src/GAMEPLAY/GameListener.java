@@ -0,0 +1,63 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+
+/**
+ * The GameListener interface is told about everything that happens in an UnoGame, in order.
+ * All methods do nothing by default, so a listener only overrides what it cares about.
+ * Seats are indexes into the game's player list.
+ */
+public interface GameListener {
+
+    /** A new game starts (all scores are reset) */
+    default void gameStarted(int playerCount) {}
+
+    /** A new round starts; the cards are dealt next */
+    default void roundStarted(int round, int startingSeat) {}
+
+    /** A card is dealt to a seat at the start of a round */
+    default void cardDealt(int seat, Card card) {}
+
+    /** A card is turned up from the draw pile to start the discard pile */
+    default void cardTurnedUp(Card card) {}
+
+    /** A seat's turn starts */
+    default void turnStarted(int seat, int turn) {}
+
+    /** A seat chose to draw instead of playing a card; the draws follow */
+    default void drawChosen(int seat) {}
+
+    /** A seat draws a card, by choice, from an action card or as a penalty */
+    default void cardDrawn(int seat, Card card) {}
+
+    /** The discard pile below its top card was shuffled into a new draw pile; the draw that emptied the pile follows */
+    default void discardReshuffled(int cards) {}
+
+    /** A seat plays a card */
+    default void cardPlayed(int seat, Card card) {}
+
+    /** A seat picks the next color after a wild card (ActionResult.newColor) */
+    default void colorChosen(int seat, Card.Color color) {}
+
+    /** A seat calls UNO */
+    default void unoCalled(int seat) {}
+
+    /** A seat is penalized (e.g. for forgetting UNO) and has to draw cards; the draws follow */
+    default void penaltyApplied(int seat, int cards) {}
+
+    /** Two seats swap their whole hands (house rule: seven-swap) */
+    default void handsSwapped(int seat, int otherSeat) {}
+
+    /** Every hand moves on to the next seat in the given direction (house rule: zero-rotate) */
+    default void handsRotated(boolean clockwise) {}
+
+    /**
+     * A round is over.
+     * @param winnerSeat The seat that went out, or -1 if the round hit the turn limit
+     * @param points The points the winner scored
+     */
+    default void roundEnded(int winnerSeat, int points) {}
+
+    /** A seat reached the target score; sent right after the last roundEnded */
+    default void gameEnded(int winnerSeat) {}
+}
@@ -0,0 +1,168 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+import CARDS.Deck;
+import PLAYERS.Player;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The GameState class holds everything the turn engine needs to know about a running game:
+ * the players, the deck, whose turn it is, the direction of play and the active color.
+ * It does no I/O and makes no decisions, so it can be driven and inspected headless.
+ */
+public class GameState {
+
+    private final List<Player> players;
+    private final Deck deck;
+    private int currentPlayerIndex;
+    private boolean isClockwise;
+    private Card.Color activeColor;
+    private int turnCount;   // Turns taken in the current round
+    private int roundNumber; // Rounds started since the game began
+    // Every decision of the current round: who moved and which card ID they played (or DRAW_MOVE)
+    private int[] moveSeats = new int[64];
+    private int[] moves = new int[64];
+    private int moveCount;
+
+    /** Move recorded when a player chose to draw instead of playing a card */
+    public static final int DRAW_MOVE = Card.ID_COUNT;
+
+    public GameState(List<Player> players, Deck deck) {
+        if (players.size() < 2) {
+            throw new IllegalArgumentException("UNO needs at least 2 players");
+        }
+        this.players = Collections.unmodifiableList(players);
+        this.deck = deck;
+        this.currentPlayerIndex = 0;
+        this.isClockwise = true;
+    }
+
+    // --- Getters ---
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    public Deck getDeck() {
+        return deck;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public Player getCurrentPlayer() {
+        return players.get(currentPlayerIndex);
+    }
+
+    public boolean isClockwise() {
+        return isClockwise;
+    }
+
+    public Card.Color getActiveColor() {
+        return activeColor;
+    }
+
+    public Card getTopDiscard() {
+        return deck.peekTopDiscard();
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    /**
+     * Number of decisions taken so far in the current round
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Seat index of the player who took decision i of the current round
+     */
+    public int getMoveSeat(int i) {
+        return moveSeats[i];
+    }
+
+    /**
+     * Decision i of the current round: the ID of the card chosen, or DRAW_MOVE
+     */
+    public int getMove(int i) {
+        return moves[i];
+    }
+
+    // --- State changes (used by the turn engine) ---
+
+    /**
+     * Gets the index of the player who is 'steps' seats away in the current direction of play
+     */
+    public int playerIndexAfter(int steps) {
+        int n = players.size();
+        int offset = isClockwise ? steps : -steps;
+        return Math.floorMod(currentPlayerIndex + offset, n);
+    }
+
+    void setCurrentPlayerIndex(int index) {
+        this.currentPlayerIndex = index;
+    }
+
+    void reverseDirection() {
+        this.isClockwise = !this.isClockwise;
+    }
+
+    void setActiveColor(Card.Color color) {
+        this.activeColor = color;
+    }
+
+    void nextTurn() {
+        this.turnCount++;
+    }
+
+    void recordMove(int seat, int move) {
+        if (moveCount == moves.length) {
+            moves = Arrays.copyOf(moves, moveCount * 2);
+            moveSeats = Arrays.copyOf(moveSeats, moveCount * 2);
+        }
+        moveSeats[moveCount] = seat;
+        moves[moveCount++] = move;
+    }
+
+    /**
+     * Puts back everything from a checkpoint (see GameCheckpoint)
+     */
+    void restore(int roundNumber, int turnCount, int currentPlayerIndex, boolean clockwise, Card.Color activeColor,
+                 int[] moveSeats, int[] moves, int moveCount) {
+        this.roundNumber = roundNumber;
+        this.turnCount = turnCount;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.isClockwise = clockwise;
+        this.activeColor = activeColor;
+        this.moveSeats = Arrays.copyOf(moveSeats, Math.max(64, moveCount));
+        this.moves = Arrays.copyOf(moves, Math.max(64, moveCount));
+        this.moveCount = moveCount;
+    }
+
+    void startGame() {
+        this.roundNumber = 0;
+        this.turnCount = 0;
+    }
+
+    void startRound(int startingPlayerIndex) {
+        this.roundNumber++;
+        this.turnCount = 0;
+        this.moveCount = 0;
+        this.isClockwise = true;
+        this.currentPlayerIndex = startingPlayerIndex;
+    }
+}
@@ -0,0 +1,115 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+import CARDS.Deck;
+import PLAYERS.Player;
+
+/**
+ * The Observation class is what one player can see of a running round: their own hand,
+ * the discard pile, how many cards everybody holds, the active color and the direction.
+ * The cards they cannot see (other hands and the draw pile) are kept as one unseen pool,
+ * which SimState.determinize deals out at random.
+ */
+public class Observation {
+    private static final int[] DECK_COUNTS = new int[Card.ID_COUNT];
+
+    static {
+        for (int id : Deck.copyTemplate()) {
+            DECK_COUNTS[id]++;
+        }
+    }
+
+    private final int viewer;
+    private final int[] ownCounts = new int[Card.ID_COUNT];
+    private final int[] handSizes;
+    private final int[] unseen = new int[Deck.DECK_SIZE];
+    private int unseenCount;
+    private final int[] discards = new int[Deck.DECK_SIZE]; // Bottom first, top card last
+    private final int discardCount;
+    private final int activeColor;
+    private final int currentPlayer;
+    private final boolean clockwise;
+
+    /**
+     * Takes the view of the player in seat 'viewer' of the given game.
+     */
+    public Observation(GameState state, int viewer) {
+        this.viewer = viewer;
+        this.handSizes = new int[state.getPlayerCount()];
+        for (int seat = 0; seat < handSizes.length; seat++) {
+            Player player = state.getPlayers().get(seat);
+            handSizes[seat] = player.getHand().size();
+        }
+        for (Card card : state.getPlayers().get(viewer).getHand()) {
+            ownCounts[card.getId()]++;
+        }
+        this.discardCount = state.getDeck().copyDiscardPile(discards);
+        this.activeColor = state.getActiveColor() == null ? Card.NO_COLOR : state.getActiveColor().ordinal();
+        this.currentPlayer = state.getCurrentPlayerIndex();
+        this.clockwise = state.isClockwise();
+
+        // Unseen = a full deck minus what this player can see
+        int[] counts = DECK_COUNTS.clone();
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            counts[id] -= ownCounts[id];
+        }
+        for (int i = 0; i < discardCount; i++) {
+            counts[discards[i]]--;
+        }
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            for (int n = counts[id]; n > 0; n--) {
+                unseen[unseenCount++] = id;
+            }
+        }
+    }
+
+    public int getViewer() {
+        return viewer;
+    }
+
+    public int getPlayerCount() {
+        return handSizes.length;
+    }
+
+    public int getOwnCount(int cardId) {
+        return ownCounts[cardId];
+    }
+
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    /**
+     * @return The unseen card IDs; only the first getUnseenCount() entries are used
+     */
+    public int[] getUnseen() {
+        return unseen;
+    }
+
+    public int getUnseenCount() {
+        return unseenCount;
+    }
+
+    /**
+     * @return The discard pile IDs, bottom first and top card last; only the first getDiscardCount() entries are used
+     */
+    public int[] getDiscards() {
+        return discards;
+    }
+
+    public int getDiscardCount() {
+        return discardCount;
+    }
+
+    public int getActiveColor() {
+        return activeColor;
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public boolean isClockwise() {
+        return clockwise;
+    }
+}
@@ -1 +1,68 @@
 package GAMEPLAY;
+
+import CARDS.Deck;
+import PLAYERS.BotPlayer;
+import PLAYERS.Player;
+import UI.ConsoleRenderer;
+import RULES.Referee;
+import UI.Menu;
+import VARIATIONS.HouseRule;
+import VARIATIONS.RunVariations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.Set;
+
+/**
+ * The Run class sets up a console game (one human against bots)
+ * and drives the UnoGame engine round by round.
+ */
+public class Run {
+    private final Menu menu;
+    private final List<Player> players;
+    private UnoGame game;
+
+    public Run() {
+        this.menu = new Menu(new Scanner(System.in));
+        this.players = new ArrayList<>();
+    }
+
+    /**
+     * Asks for the player's name, the number of bots and the house rules, then creates the game.
+     */
+    public void setupGame() {
+        players.clear();
+        players.add(new Player(menu.askText("Enter your name")));
+        int bots = menu.askNumber("How many bots do you want to play against?", 1, 9);
+        for (int i = 1; i <= bots; i++) {
+            players.add(new BotPlayer("Bot " + i));
+        }
+        Set<HouseRule> houseRules = RunVariations.askHouseRules(menu);
+        game = new UnoGame(players, new Deck(), new Referee(), menu, RunVariations.compile(houseRules));
+        game.getEvents().subscribe(new ConsoleRenderer(players, System.out));
+    }
+
+    /**
+     * Plays rounds until someone reaches the target score, printing the scores after every round.
+     */
+    public void startGameLoop() {
+        if (game == null) {
+            throw new IllegalStateException("Call setupGame() first");
+        }
+        game.startGame();
+        Player winner = null;
+        while (winner == null) {
+            Player roundWinner = game.playRound();
+            System.out.println();
+            System.out.println(roundWinner == null ? "The round ended without a winner."
+                    : roundWinner.getName() + " wins round " + game.getState().getRoundNumber() + "!");
+            for (Player player : players) {
+                player.showScore();
+            }
+            winner = game.getGameWinner();
+        }
+        System.out.println();
+        System.out.println(winner.getName() + " wins the game with " + winner.getGamePoints() + " points!");
+    }
+}
@@ -0,0 +1,58 @@
+package GAMEPLAY;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * The ShardWorker class is the main class of the worker JVMs a ShardedRunner starts.
+ * It plays one range of a tournament's games headless (BotPlayers on a Deck, no console)
+ * and reports on standard output, one line at a time:
+ * <pre>
+ *   PARTIAL from to crc totals   after every REPORT_EVERY games, totals as in TournamentResult.encode()
+ *   DONE                         once the whole range is played
+ * </pre>
+ * Each PARTIAL covers only its own games, so the coordinator can add them up as they come
+ * and, if the worker dies, restart from the first game that was not reported.
+ * The crc (CRC32 of "from to totals", in hex) lets the coordinator tell a line cut short
+ * by a dying worker from a complete one.
+ *
+ * Usage: ShardWorker seats masterSeed from to
+ */
+public class ShardWorker {
+    public static final int REPORT_EVERY = 1000;
+    static final String PARTIAL = "PARTIAL";
+    static final String DONE = "DONE";
+
+    public static void main(String[] args) {
+        if (args.length != 4) {
+            System.err.println("Usage: ShardWorker seats masterSeed from to");
+            System.exit(2);
+        }
+        int seats = Integer.parseInt(args[0]);
+        long masterSeed = Long.parseLong(args[1]);
+        long from = Long.parseLong(args[2]);
+        long to = Long.parseLong(args[3]);
+
+        PrintStream out = System.out;
+        Tournament tournament = new Tournament(seats, masterSeed);
+        for (long start = from; start < to; start += REPORT_EVERY) {
+            long end = Math.min(to, start + REPORT_EVERY);
+            TournamentResult partial = tournament.runRange(start, end);
+            out.println(partial(start, end, partial.encode()));
+            out.flush();
+        }
+        out.println(DONE);
+        out.flush();
+    }
+
+    static String partial(long from, long to, String totals) {
+        return PARTIAL + " " + from + " " + to + " " + Long.toHexString(checksum(from, to, totals)) + " " + totals;
+    }
+
+    static long checksum(long from, long to, String totals) {
+        CRC32 crc = new CRC32();
+        crc.update((from + " " + to + " " + totals).getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,342 @@
+package GAMEPLAY;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The ShardedRunner class plays a tournament campaign in several worker JVMs on this machine,
+ * so no single heap has to hold it and every worker collects its own garbage.
+ *
+ * The games are split into shards of consecutive game numbers. Up to 'processes' shards run at
+ * the same time, each in a ShardWorker started with ProcessBuilder from this JVM's java and class path.
+ * Workers send their totals back through their standard output every ShardWorker.REPORT_EVERY games,
+ * and the totals are merged as they arrive. Game i always gets the same seed (Tournament.gameSeed),
+ * so the merged result equals new Tournament(seats, masterSeed).run(games) in a single process.
+ *
+ * A worker that dies, or sends a line that does not check out (e.g. cut short as it died), is started
+ * again for the games it had not reported yet, up to maxAttempts times per shard; nothing it already
+ * reported is played twice.
+ */
+public class ShardedRunner {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final int SHARDS_PER_PROCESS = 4; // Smaller shards even out slow and fast workers
+
+    private final int seats;
+    private final long masterSeed;
+    private int processes = Runtime.getRuntime().availableProcessors();
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private List<String> jvmOptions = new ArrayList<>();
+    private String workerClass = ShardWorker.class.getName();
+
+    // The running campaign
+    private final Deque<Shard> pending = new ArrayDeque<>();
+    private final Set<Process> live = new HashSet<>();
+    private int running;
+    private long retries;
+    private RuntimeException failure;
+
+    public ShardedRunner(int seats, long masterSeed) {
+        this.seats = seats;
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Number of worker JVMs running at the same time (default: one per processor)
+     */
+    public void setProcesses(int processes) {
+        if (processes < 1) {
+            throw new IllegalArgumentException("At least one worker process is needed: " + processes);
+        }
+        this.processes = processes;
+    }
+
+    /**
+     * How often one shard may be started before the campaign fails
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is needed: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Options for every worker JVM, e.g. List.of("-Xmx256m")
+     */
+    public void setJvmOptions(List<String> jvmOptions) {
+        this.jvmOptions = new ArrayList<>(jvmOptions);
+    }
+
+    /**
+     * Main class of the worker JVMs; it has to speak the ShardWorker protocol (for tests)
+     */
+    void setWorkerClass(String workerClass) {
+        this.workerClass = workerClass;
+    }
+
+    /**
+     * Number of times a shard had to be restarted in the last run
+     */
+    public synchronized long getRetries() {
+        return retries;
+    }
+
+    /**
+     * Plays games [0, games) in worker processes and merges their totals.
+     * @throws IllegalStateException if a shard kept failing
+     */
+    public TournamentResult run(long games) throws InterruptedException {
+        int shards = (int) Math.max(1, Math.min(games, (long) processes * SHARDS_PER_PROCESS));
+        synchronized (this) {
+            pending.clear();
+            running = 0;
+            retries = 0;
+            failure = null;
+            for (int i = 0; i < shards; i++) {
+                pending.add(new Shard(games * i / shards, games * (i + 1) / shards, 1));
+            }
+        }
+
+        TournamentResult result = new TournamentResult(seats);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < Math.min(processes, shards); i++) {
+            Thread thread = new Thread(() -> work(result), "shard-runner-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            fail(new IllegalStateException("Interrupted while waiting for the workers", e));
+            throw e;
+        }
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One coordinator thread: runs shards one after the other until none are left
+     */
+    private void work(TournamentResult result) {
+        Shard shard;
+        while ((shard = take()) != null) {
+            Shard rest = null;
+            try {
+                rest = runShard(shard, result);
+            } catch (IOException e) {
+                System.err.println("Worker for games [" + shard.from + ", " + shard.to + ") could not start: "
+                        + e.getMessage());
+                rest = new Shard(shard.from, shard.to, shard.attempt + 1);
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+            finish(shard, rest);
+        }
+    }
+
+    /**
+     * Runs one worker for a shard, merging every partial total it reports.
+     * @return The games still to play if the worker died, or null if it finished the shard
+     * @throws IOException if the worker could not be started
+     */
+    private Shard runShard(Shard shard, TournamentResult result) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(workerClass);
+        command.add(Integer.toString(seats));
+        command.add(Long.toString(masterSeed));
+        command.add(Long.toString(shard.from));
+        command.add(Long.toString(shard.to));
+
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        if (!register(process)) {
+            process.destroyForcibly();
+            return null;
+        }
+        long reached = shard.from;
+        boolean done = false;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.equals(ShardWorker.DONE)) {
+                    done = true;
+                } else if (line.startsWith(ShardWorker.PARTIAL + " ")) {
+                    TournamentResult partial = parsePartial(line);
+                    if (partial == null) {
+                        System.err.println("Worker for games [" + shard.from + ", " + shard.to
+                                + ") sent a damaged line after game " + reached + ": " + line);
+                        break; // Treat it like a dead worker: play the rest again
+                    }
+                    long from = Long.parseLong(line.split(" ", 3)[1]);
+                    long to = from + partial.getGames();
+                    if (from != reached || to > shard.to) {
+                        throw new IllegalStateException("Worker reported games [" + from + ", " + to
+                                + ") but " + reached + " was next");
+                    }
+                    synchronized (result) {
+                        result.merge(partial);
+                    }
+                    reached = to;
+                }
+            }
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+            int exitCode = process.waitFor();
+            if (done && exitCode == 0 && reached == shard.to) {
+                return null;
+            }
+            System.err.println("Worker for games [" + shard.from + ", " + shard.to + ") stopped with exit code "
+                    + exitCode + " after game " + reached);
+        } catch (IOException e) {
+            // Lost the pipe: whatever was merged stays, the rest is played again
+            process.destroyForcibly();
+            System.err.println("Lost the worker for games [" + shard.from + ", " + shard.to + ") after game "
+                    + reached + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+            throw new IllegalStateException("Interrupted while waiting for a worker", e);
+        } finally {
+            unregister(process);
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+        return new Shard(reached, shard.to, shard.attempt + 1);
+    }
+
+    /**
+     * @return The totals of a PARTIAL line, or null if it is damaged (cut short, checksum or counts wrong)
+     */
+    static TournamentResult parsePartial(String line) {
+        String[] fields = line.split(" ", 5);
+        if (fields.length != 5) {
+            return null;
+        }
+        try {
+            long from = Long.parseLong(fields[1]);
+            long to = Long.parseLong(fields[2]);
+            if (Long.parseUnsignedLong(fields[3], 16) != ShardWorker.checksum(from, to, fields[4])) {
+                return null;
+            }
+            TournamentResult partial = TournamentResult.decode(fields[4]);
+            return partial.getGames() == to - from ? partial : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // --- Shard bookkeeping, shared by the coordinator threads ---
+
+    /**
+     * Waits for a shard to run, or returns null once the campaign is over (or failed)
+     */
+    private synchronized Shard take() {
+        while (pending.isEmpty() && running > 0 && failure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        if (failure != null || pending.isEmpty()) {
+            return null;
+        }
+        running++;
+        return pending.poll();
+    }
+
+    private synchronized void finish(Shard shard, Shard rest) {
+        running--;
+        if (rest != null && rest.from < rest.to && failure == null) {
+            if (rest.attempt > maxAttempts) {
+                fail(new IllegalStateException("Games [" + rest.from + ", " + rest.to + ") failed "
+                        + maxAttempts + " times"));
+            } else {
+                retries++;
+                pending.add(rest);
+            }
+        }
+        notifyAll();
+    }
+
+    private synchronized void fail(RuntimeException e) {
+        if (failure == null) {
+            failure = e;
+        }
+        for (Process process : live) {
+            process.destroyForcibly();
+        }
+        notifyAll();
+    }
+
+    private synchronized boolean register(Process process) {
+        if (failure != null) {
+            return false;
+        }
+        live.add(process);
+        return true;
+    }
+
+    private synchronized void unregister(Process process) {
+        live.remove(process);
+    }
+
+    /**
+     * Games [from, to), on their n-th attempt
+     */
+    private static final class Shard {
+        final long from;
+        final long to;
+        final int attempt;
+
+        Shard(long from, long to, int attempt) {
+            this.from = from;
+            this.to = to;
+            this.attempt = attempt;
+        }
+    }
+
+    /**
+     * Usage: ShardedRunner seats games [processes] [masterSeed]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardedRunner seats games [processes] [masterSeed]");
+            System.exit(2);
+        }
+        int seats = Integer.parseInt(args[0]);
+        long games = Long.parseLong(args[1]);
+        ShardedRunner runner = new ShardedRunner(seats, args.length > 3 ? Long.parseLong(args[3]) : 42);
+        if (args.length > 2) {
+            runner.setProcesses(Integer.parseInt(args[2]));
+        }
+        long start = System.nanoTime();
+        TournamentResult result = runner.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(result);
+        System.out.printf("%d games in %.1f s (%.0f games/s), %d shard restarts%n",
+                result.getGames(), seconds, result.getGames() / seconds, runner.getRetries());
+    }
+}
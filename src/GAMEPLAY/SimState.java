@@ -0,0 +1,535 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+import CARDS.Deck;
+
+import PLAYERS.Player;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The SimState class is a compact, allocation-free copy of a round for search and simulation.
+ * Hands are per-ID counts with a bitset of the IDs present, the piles are card-ID arrays,
+ * and the rules are the same as in UnoGame: bots always call UNO, a drawn card that can be
+ * played is played, and a wild card switches to the color the player holds most of.
+ *
+ * Everything lives in a few fixed-size primitive arrays, so copyFrom() snapshots or restores
+ * a position with a handful of array copies and no allocation.
+ * The position also has a Zobrist hash (hash()): the hands' part is updated on every card
+ * that enters or leaves a hand, the rest is mixed in when the hash is read.
+ */
+public class SimState {
+    /** Move: draw a card instead of playing one (same value as GameState.DRAW_MOVE) */
+    public static final int DRAW = GameState.DRAW_MOVE;
+    public static final int NO_WINNER = -1;
+    /** A round deals at least one card to everybody and turns one up, so no more players fit */
+    public static final int MAX_PLAYERS = (Deck.DECK_SIZE - 1) / UnoGame.CARDS_PER_HAND;
+
+    private static final int IDS = Card.ID_COUNT;
+    private static final int COLORS = Card.Color.values().length;
+    private static final int WILD_COLOR = Card.Color.WILD.ordinal();
+
+    // Effect of every card ID when played, looked up instead of switching on the type
+    private static final int EFFECT_NONE = 0;
+    private static final int EFFECT_SKIP = 1;
+    private static final int EFFECT_REVERSE = 2;
+    private static final int EFFECT_DRAW_TWO = 3;
+    private static final int EFFECT_WILD = 4;
+    private static final int EFFECT_WILD_DRAW_FOUR = 5;
+    private static final int[] EFFECTS = new int[IDS];
+
+    // Zobrist keys, the same for every SimState so hashes can be compared and cached across states
+    private static final int MAX_COPIES = 4; // No ID is in the deck more than 4 times
+    private static final long[] HAND_KEYS = new long[MAX_PLAYERS * IDS * (MAX_COPIES + 1)]; // Count 0 has key 0
+    private static final long[] TOP_KEYS = new long[IDS + 1];
+    private static final long[] COLOR_KEYS = new long[COLORS + 1];
+    private static final long[] CURRENT_KEYS = new long[MAX_PLAYERS];
+    private static final long[] DRAW_COUNT_KEYS = new long[Deck.DECK_SIZE + 1];
+    private static final long COUNTER_CLOCKWISE_KEY;
+    private static final long[] PILE_KEYS = new long[Deck.DECK_SIZE * IDS]; // [position * IDS + id]
+
+    static {
+        SplittableRandom keys = new SplittableRandom(0x5EED_2B0B_15L);
+        for (int i = 0; i < HAND_KEYS.length; i++) {
+            HAND_KEYS[i] = i % (MAX_COPIES + 1) == 0 ? 0 : keys.nextLong();
+        }
+        for (long[] table : new long[][] { TOP_KEYS, COLOR_KEYS, CURRENT_KEYS, DRAW_COUNT_KEYS }) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = keys.nextLong();
+            }
+        }
+        COUNTER_CLOCKWISE_KEY = keys.nextLong();
+        for (int i = 0; i < PILE_KEYS.length; i++) {
+            PILE_KEYS[i] = keys.nextLong();
+        }
+
+        for (int id = 0; id < IDS; id++) {
+            switch (Card.typeOf(id)) {
+                case SKIP: EFFECTS[id] = EFFECT_SKIP; break;
+                case REVERSE: EFFECTS[id] = EFFECT_REVERSE; break;
+                case DRAW_TWO: EFFECTS[id] = EFFECT_DRAW_TWO; break;
+                case WILD: EFFECTS[id] = EFFECT_WILD; break;
+                case WILD_DRAW_FOUR: EFFECTS[id] = EFFECT_WILD_DRAW_FOUR; break;
+                default: EFFECTS[id] = EFFECT_NONE;
+            }
+        }
+    }
+
+    private final int players;
+    private final int[] hands;        // [player * IDS + id] -> number of copies held
+    private final int[] handSizes;
+    private final int[] colorCounts;  // [player * COLORS + color] -> cards of that color held
+    private final long[] present;     // [player * 2 + word] -> bitset of the IDs held
+    private final int[] drawPile = new int[Deck.DECK_SIZE];
+    private int drawCount;
+    private final int[] discardPile = new int[Deck.DECK_SIZE]; // Below the top card
+    private int discardCount;
+    private int topId;
+    private int activeColor;
+    private int current;
+    private int direction; // +1 clockwise, -1 counter-clockwise
+    private int winner;
+    private int turns;
+    private long handHash; // Zobrist hash of all hands
+    private RandomGenerator random;
+
+    public SimState(int players, RandomGenerator random) {
+        if (players < 2 || players > MAX_PLAYERS) {
+            throw new IllegalArgumentException("A round needs 2 to " + MAX_PLAYERS + " players: " + players);
+        }
+        this.players = players;
+        this.hands = new int[players * IDS];
+        this.handSizes = new int[players];
+        this.colorCounts = new int[players * COLORS];
+        this.present = new long[players * 2];
+        this.random = random;
+        reset();
+    }
+
+    /**
+     * Empties all hands and piles.
+     */
+    public void clear() {
+        reset();
+    }
+
+    private void reset() {
+        Arrays.fill(hands, 0);
+        Arrays.fill(handSizes, 0);
+        Arrays.fill(colorCounts, 0);
+        Arrays.fill(present, 0);
+        drawCount = 0;
+        discardCount = 0;
+        topId = Card.NO_CARD;
+        activeColor = Card.NO_COLOR;
+        current = 0;
+        direction = 1;
+        winner = NO_WINNER;
+        turns = 0;
+        handHash = 0;
+    }
+
+    /**
+     * Makes this state an exact copy of another one with the same number of players
+     * (a snapshot, or a restore from one). The random source is not copied.
+     */
+    public void copyFrom(SimState other) {
+        if (other.players != players) {
+            throw new IllegalArgumentException("Cannot copy a " + other.players + "-player state into a "
+                    + players + "-player state");
+        }
+        System.arraycopy(other.hands, 0, hands, 0, hands.length);
+        System.arraycopy(other.handSizes, 0, handSizes, 0, players);
+        System.arraycopy(other.colorCounts, 0, colorCounts, 0, colorCounts.length);
+        System.arraycopy(other.present, 0, present, 0, present.length);
+        System.arraycopy(other.drawPile, 0, drawPile, 0, other.drawCount);
+        System.arraycopy(other.discardPile, 0, discardPile, 0, other.discardCount);
+        drawCount = other.drawCount;
+        discardCount = other.discardCount;
+        topId = other.topId;
+        activeColor = other.activeColor;
+        current = other.current;
+        direction = other.direction;
+        winner = other.winner;
+        turns = other.turns;
+        handHash = other.handHash;
+    }
+
+    /**
+     * Fills this state with the exact position of a running game (every hand and the pile order),
+     * for what-if analysis with full knowledge.
+     */
+    public void load(GameState state) {
+        if (state.getPlayerCount() != players) {
+            throw new IllegalArgumentException("Cannot load a " + state.getPlayerCount() + "-player game into a "
+                    + players + "-player state");
+        }
+        clear();
+        for (int seat = 0; seat < players; seat++) {
+            Player player = state.getPlayers().get(seat);
+            for (Card card : player.getHand()) {
+                addToHand(seat, card.getId());
+            }
+        }
+        drawCount = state.getDeck().copyDrawPile(drawPile);
+        int[] discards = new int[Deck.DECK_SIZE];
+        int count = state.getDeck().copyDiscardPile(discards);
+        for (int i = 0; i < count; i++) {
+            pushDiscard(discards[i]);
+        }
+        activeColor = state.getActiveColor() == null ? Card.NO_COLOR : state.getActiveColor().ordinal();
+        current = state.getCurrentPlayerIndex();
+        direction = state.isClockwise() ? 1 : -1;
+    }
+
+    // --- Setting up a position ---
+    public void addToHand(int player, int cardId) {
+        int count = hands[player * IDS + cardId]++;
+        int key = (player * IDS + cardId) * (MAX_COPIES + 1) + count;
+        handHash ^= HAND_KEYS[key] ^ HAND_KEYS[key + 1];
+        handSizes[player]++;
+        colorCounts[player * COLORS + cardId / (IDS / COLORS)]++;
+        if (count == 0) {
+            present[player * 2 + (cardId >>> 6)] |= 1L << cardId;
+        }
+    }
+
+    public void removeFromHand(int player, int cardId) {
+        int count = --hands[player * IDS + cardId];
+        if (count < 0) {
+            hands[player * IDS + cardId] = 0;
+            throw new IllegalStateException("Player " + player + " does not hold " + Card.byId(cardId));
+        }
+        int key = (player * IDS + cardId) * (MAX_COPIES + 1) + count;
+        handHash ^= HAND_KEYS[key] ^ HAND_KEYS[key + 1];
+        handSizes[player]--;
+        colorCounts[player * COLORS + cardId / (IDS / COLORS)]--;
+        if (count == 0) {
+            present[player * 2 + (cardId >>> 6)] &= ~(1L << cardId);
+        }
+    }
+
+    /**
+     * Puts a card on top of the draw pile.
+     */
+    public void pushDrawPile(int cardId) {
+        drawPile[drawCount++] = cardId;
+    }
+
+    /**
+     * Puts a card on the discard pile; it becomes the new top card.
+     */
+    public void pushDiscard(int cardId) {
+        if (topId != Card.NO_CARD) {
+            discardPile[discardCount++] = topId;
+        }
+        topId = cardId;
+    }
+
+    public void setActiveColor(int colorIndex) {
+        this.activeColor = colorIndex;
+    }
+
+    public void setCurrentPlayer(int player) {
+        this.current = player;
+    }
+
+    public void setClockwise(boolean clockwise) {
+        this.direction = clockwise ? 1 : -1;
+    }
+
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Shuffles the draw pile in place (Fisher-Yates).
+     */
+    public void shuffleDrawPile() {
+        for (int i = drawCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = drawPile[i];
+            drawPile[i] = drawPile[j];
+            drawPile[j] = tmp;
+        }
+    }
+
+    // --- Reading the position ---
+    public int getPlayerCount() {
+        return players;
+    }
+
+    public int getCurrentPlayer() {
+        return current;
+    }
+
+    public boolean isClockwise() {
+        return direction > 0;
+    }
+
+    public int getTopId() {
+        return topId;
+    }
+
+    public int getActiveColor() {
+        return activeColor;
+    }
+
+    public int getHandSize(int player) {
+        return handSizes[player];
+    }
+
+    public int getCount(int player, int cardId) {
+        return hands[player * IDS + cardId];
+    }
+
+    public int getDrawCount() {
+        return drawCount;
+    }
+
+    public int getDiscardCount() {
+        return discardCount;
+    }
+
+    /**
+     * @return The player who emptied their hand, or NO_WINNER
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Zobrist hash of the position: all hands, the top card, the active color, the player to move,
+     * the direction and the size of the draw pile. The order of the draw pile and the discards
+     * below the top card are not part of it.
+     */
+    public long hash() {
+        return handHash ^ TOP_KEYS[topId] ^ COLOR_KEYS[activeColor] ^ CURRENT_KEYS[current]
+                ^ DRAW_COUNT_KEYS[drawCount] ^ (direction < 0 ? COUNTER_CLOCKWISE_KEY : 0);
+    }
+
+    /**
+     * Hash of the order of the draw pile, which hash() leaves out.
+     * hash() ^ drawPileHash() identifies a position exactly: two states that share it play out
+     * the same way for the same moves (until the draw pile runs dry and gets reshuffled).
+     * Computed on every call, in time proportional to the size of the draw pile.
+     */
+    public long drawPileHash() {
+        long hash = 0;
+        for (int i = 0; i < drawCount; i++) {
+            hash ^= PILE_KEYS[i * IDS + drawPile[i]];
+        }
+        return hash;
+    }
+
+    /**
+     * Sum of the points of the cards in a player's hand
+     */
+    public int handPoints(int player) {
+        int points = 0;
+        for (int id = 0; id < IDS; id++) {
+            points += hands[player * IDS + id] * Card.pointsOf(id);
+        }
+        return points;
+    }
+
+    // --- Moves ---
+
+    /**
+     * Lists the legal moves of the player to move: every distinct playable card ID,
+     * or just DRAW when nothing can be played.
+     * @param moves Receives the moves (needs room for Card.ID_COUNT entries)
+     * @return Number of moves written
+     */
+    public int legalMoves(int[] moves) {
+        long playable0 = present[current * 2] & Card.playableMask(topId, activeColor, 0);
+        long playable1 = present[current * 2 + 1] & Card.playableMask(topId, activeColor, 1);
+        int n = 0;
+        while (playable0 != 0) {
+            moves[n++] = Long.numberOfTrailingZeros(playable0);
+            playable0 &= playable0 - 1;
+        }
+        while (playable1 != 0) {
+            moves[n++] = 64 + Long.numberOfTrailingZeros(playable1);
+            playable1 &= playable1 - 1;
+        }
+        if (n == 0) {
+            moves[n++] = DRAW;
+        }
+        return n;
+    }
+
+    /**
+     * Plays one move for the player to move and passes the turn on.
+     * @param move A card ID held by the player, or DRAW
+     */
+    public void apply(int move) {
+        turns++;
+        if (move == DRAW) {
+            int cardId = draw();
+            if (cardId < 0) {
+                advance(1); // Nothing left to draw, pass
+                return;
+            }
+            addToHand(current, cardId);
+            if (!Card.canPlay(cardId, topId, activeColor)) {
+                advance(1);
+                return;
+            }
+            move = cardId;
+        }
+        play(move);
+    }
+
+    private void play(int cardId) {
+        int player = current;
+        removeFromHand(player, cardId);
+        pushDiscard(cardId);
+        int effect = EFFECTS[cardId];
+        activeColor = effect >= EFFECT_WILD ? favoriteColor(player) : cardId / (IDS / COLORS);
+        if (handSizes[player] == 0) {
+            winner = player;
+        }
+        switch (effect) {
+            case EFFECT_SKIP:
+                advance(2);
+                break;
+            case EFFECT_REVERSE:
+                direction = -direction;
+                advance(players == 2 ? 2 : 1); // In a 2-player game, REVERSE acts as SKIP
+                break;
+            case EFFECT_DRAW_TWO:
+                drawCards(nextPlayer(), 2);
+                advance(2);
+                break;
+            case EFFECT_WILD_DRAW_FOUR:
+                drawCards(nextPlayer(), 4);
+                advance(2);
+                break;
+            default:
+                advance(1);
+        }
+    }
+
+    /**
+     * The color a player holds most of (RED if they hold no colored cards), like BotPlayer.chooseColor
+     */
+    public int favoriteColor(int player) {
+        int best = 0;
+        for (int color = 1; color < COLORS; color++) {
+            if (color != WILD_COLOR && colorCounts[player * COLORS + color] > colorCounts[player * COLORS + best]) {
+                best = color;
+            }
+        }
+        return best;
+    }
+
+    private int nextPlayer() {
+        return Math.floorMod(current + direction, players);
+    }
+
+    private void advance(int steps) {
+        current = Math.floorMod(current + direction * steps, players);
+    }
+
+    private void drawCards(int player, int count) {
+        for (int i = 0; i < count; i++) {
+            int cardId = draw();
+            if (cardId < 0) return;
+            addToHand(player, cardId);
+        }
+    }
+
+    /**
+     * Takes the top card of the draw pile, reshuffling the discards below the top card when it runs dry.
+     * @return The card ID, or -1 if there is nothing left to draw
+     */
+    private int draw() {
+        if (drawCount == 0) {
+            if (discardCount == 0) return -1;
+            System.arraycopy(discardPile, 0, drawPile, 0, discardCount);
+            drawCount = discardCount;
+            discardCount = 0;
+            shuffleDrawPile();
+        }
+        return drawPile[--drawCount];
+    }
+
+    // --- Playing out ---
+
+    /**
+     * Plays random legal moves for everyone until the round ends.
+     * @param maxTurns Turn limit, after which the round is left without a winner
+     * @return The winner, or NO_WINNER if the turn limit was hit
+     */
+    public int playOut(int maxTurns) {
+        int limit = turns + maxTurns;
+        while (winner == NO_WINNER && turns < limit) {
+            apply(randomMove());
+        }
+        return winner;
+    }
+
+    /**
+     * A uniformly random playable card ID of the player to move, or DRAW
+     */
+    public int randomMove() {
+        long playable0 = present[current * 2] & Card.playableMask(topId, activeColor, 0);
+        long playable1 = present[current * 2 + 1] & Card.playableMask(topId, activeColor, 1);
+        int count = Long.bitCount(playable0) + Long.bitCount(playable1);
+        if (count == 0) {
+            return DRAW;
+        }
+        int pick = random.nextInt(count);
+        int count0 = Long.bitCount(playable0);
+        long word = pick < count0 ? playable0 : playable1;
+        int base = pick < count0 ? 0 : 64;
+        for (int skip = pick < count0 ? pick : pick - count0; skip > 0; skip--) {
+            word &= word - 1;
+        }
+        return base + Long.numberOfTrailingZeros(word);
+    }
+
+    // --- Determinization ---
+
+    /**
+     * Fills this state with one possible version of what a player observes:
+     * their own hand is exact, the unseen cards are shuffled and dealt to the
+     * other players and the draw pile in the observed quantities.
+     */
+    public void determinize(Observation observation, RandomGenerator random) {
+        clear();
+        this.random = random;
+        int viewer = observation.getViewer();
+        for (int id = 0; id < IDS; id++) {
+            for (int n = observation.getOwnCount(id); n > 0; n--) {
+                addToHand(viewer, id);
+            }
+        }
+        // Shuffle the unseen cards on the draw pile, then deal the other hands from it
+        int[] unseen = observation.getUnseen();
+        for (int i = 0; i < observation.getUnseenCount(); i++) {
+            pushDrawPile(unseen[i]);
+        }
+        shuffleDrawPile();
+        for (int player = 0; player < players; player++) {
+            if (player == viewer) continue;
+            for (int n = observation.getHandSize(player); n > 0 && drawCount > 0; n--) {
+                addToHand(player, drawPile[--drawCount]);
+            }
+        }
+        int[] discards = observation.getDiscards();
+        for (int i = 0; i < observation.getDiscardCount(); i++) {
+            pushDiscard(discards[i]);
+        }
+        activeColor = observation.getActiveColor();
+        current = observation.getCurrentPlayer();
+        direction = observation.isClockwise() ? 1 : -1;
+    }
+}
@@ -0,0 +1,55 @@
+package GAMEPLAY;
+
+import CARDS.Action_Cards;
+import CARDS.Card;
+
+/**
+ * The StandardRules class plays turns by the official rules: a player who draws takes one card
+ * and may play it if it fits, and action cards skip, reverse or make the next player draw.
+ * It keeps no state, so one instance serves every game.
+ */
+public class StandardRules implements TurnRules {
+    public static final StandardRules INSTANCE = new StandardRules();
+
+    protected StandardRules() {
+    }
+
+    @Override
+    public Card drawForTurn(TableActions table, int seat) {
+        Card drawn = table.drawCard(seat);
+        return drawn != null && isPlayable(table, drawn)
+                && table.getDecisions(seat).playDrawnCard(table.getState(), table.getPlayer(seat), drawn)
+                ? drawn : null;
+    }
+
+    @Override
+    public void afterPlay(TableActions table, int seat, Card card, Action_Cards.ActionResult result) {
+        applyResult(table, result);
+    }
+
+    /**
+     * Whether a card fits on the current top card and active color
+     */
+    public static boolean isPlayable(TableActions table, Card card) {
+        GameState state = table.getState();
+        return card.canPlayOn(state.getTopDiscard(), state.getActiveColor());
+    }
+
+    /**
+     * Applies the effects of an action card and moves the turn on.
+     * @param result The effects of the card that was just played, or null for a number card
+     */
+    public static void applyResult(TableActions table, Action_Cards.ActionResult result) {
+        if (result == null) {
+            table.moveTurn(1);
+            return;
+        }
+        if (result.reverseDirection) {
+            table.reverseDirection();
+        }
+        if (result.cardsToDrawByNextPlayer > 0) {
+            table.drawCards(table.getState().playerIndexAfter(1), result.cardsToDrawByNextPlayer);
+        }
+        table.moveTurn(result.skipNextPlayer ? 2 : 1);
+    }
+}
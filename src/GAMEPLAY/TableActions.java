@@ -0,0 +1,58 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+import PLAYERS.Player;
+
+/**
+ * The TableActions interface is what TurnRules may do to a running game.
+ * Every action goes through UnoGame, so the game state stays consistent and
+ * the event bus hears about every card that moves.
+ */
+public interface TableActions {
+
+    GameState getState();
+
+    Player getPlayer(int seat);
+
+    DecisionMaker getDecisions(int seat);
+
+    /**
+     * @return true once a player has emptied their hand
+     */
+    boolean isRoundOver();
+
+    /**
+     * Draws one card into a seat's hand.
+     * @return The card, or null if there is nothing left to draw
+     */
+    Card drawCard(int seat);
+
+    /** Draws up to 'count' cards into a seat's hand */
+    void drawCards(int seat, int count);
+
+    /**
+     * Plays a card from a seat's hand, out of the normal order if need be
+     * (stacking, jump-in): it is checked, logged as that seat's move, and its effects are applied.
+     * @throws IllegalStateException if the seat does not hold the card or it cannot be played
+     */
+    void playCard(int seat, Card card);
+
+    /**
+     * Logs a move a rule makes for a seat without playing a card, e.g. drawing a stacked penalty.
+     * @param card null for a draw
+     */
+    void recordMove(int seat, Card card);
+
+    /** Moves the turn on by a number of seats in the direction of play */
+    void moveTurn(int steps);
+
+    void setCurrentPlayer(int seat);
+
+    void reverseDirection();
+
+    /** Two seats exchange their whole hands */
+    void swapHands(int seat, int otherSeat);
+
+    /** Every hand moves on to the next seat in the direction of play */
+    void rotateHands();
+}
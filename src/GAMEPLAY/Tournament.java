@@ -0,0 +1,179 @@
+package GAMEPLAY;
+
+import CARDS.Deck;
+import METRICS.GameMetrics;
+import PLAYERS.BotPlayer;
+import PLAYERS.Player;
+import RULES.Leaderboard;
+import RULES.Referee;
+import STATS.StatsRecorder;
+import STATS.StatsStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * The Tournament class plays a batch of bot-only games spread over a fork-join pool.
+ * Every leaf task builds its own line-up, deck and engine, so workers share no state.
+ * Game i is always shuffled from the same seed (derived from the master seed and i),
+ * so a master seed gives the same totals whatever the number of threads,
+ * and runRange(i, i + 1) replays game i on its own.
+ */
+public class Tournament {
+    private static final int MIN_GAMES_PER_TASK = 16;
+
+    private final int seats;
+    private final IntFunction<? extends Player> seatFactory;
+    private final long masterSeed;
+    private GameMetrics metrics; // null: no metrics (the default, it costs a little per turn)
+    private Leaderboard leaderboard; // null: no leaderboard
+    private Supplier<? extends TurnRules> rules = () -> StandardRules.INSTANCE;
+    private StatsStore stats; // null: no statistics
+    private String variant = "standard";
+
+    /**
+     * A tournament between plain BotPlayers.
+     */
+    public Tournament(int seats, long masterSeed) {
+        this(seats, seat -> new BotPlayer("Bot " + (seat + 1)), masterSeed);
+    }
+
+    /**
+     * @param seats Number of players at the table
+     * @param seatFactory Creates the player for a seat; called once per seat by every worker.
+     *                    The players have to be DecisionMakers (bots)
+     * @param masterSeed Seed all game seeds are derived from
+     */
+    public Tournament(int seats, IntFunction<? extends Player> seatFactory, long masterSeed) {
+        this.seats = seats;
+        this.seatFactory = seatFactory;
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Reports every game of the following runs to a GameMetrics, or to none if null.
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds the points of every round of the following runs to a leaderboard (shared by all workers),
+     * or to none if null. Players are ranked by name, as the seat factory names them.
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Plays the following runs with other turn rules, e.g. () -> RunVariations.compile(houseRules).
+     * Every worker gets its own instance, as rules may keep round state.
+     */
+    public void setRules(Supplier<? extends TurnRules> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Adds every game of the following runs to a statistics store (shared by all workers), or to none if null.
+     * @param variant Name of the rules the games are played with, e.g. RunVariations.describe(houseRules)
+     */
+    public void setStats(StatsStore stats, String variant) {
+        this.stats = stats;
+        this.variant = variant;
+    }
+
+    /**
+     * Plays the games on the common fork-join pool.
+     */
+    public TournamentResult run(int games) {
+        return run(games, ForkJoinPool.commonPool());
+    }
+
+    public TournamentResult run(int games, ForkJoinPool pool) {
+        int gamesPerTask = Math.max(MIN_GAMES_PER_TASK, games / (pool.getParallelism() * 8));
+        return pool.invoke(new GamesTask(0, games, gamesPerTask));
+    }
+
+    /**
+     * Plays games [from, to) on the calling thread.
+     */
+    public TournamentResult runRange(long from, long to) {
+        List<Player> players = new ArrayList<>(seats);
+        for (int seat = 0; seat < seats; seat++) {
+            players.add(seatFactory.apply(seat));
+        }
+        Deck deck = new Deck(masterSeed); // Reseeded for every game below
+        Referee referee = new Referee();
+        referee.setLeaderboard(leaderboard);
+        UnoGame game = new UnoGame(players, deck, referee, null, rules.get());
+        if (metrics != null) {
+            game.enableMetrics(metrics);
+        }
+        if (stats != null) {
+            game.addListener(new StatsRecorder(stats, players, variant));
+        }
+        TournamentResult result = new TournamentResult(seats);
+        int[] gamePoints = new int[seats];
+
+        for (long i = from; i < to; i++) {
+            deck.setSeed(gameSeed(masterSeed, i));
+            game.startGame();
+            int turns = 0;
+            Player winner = null;
+            while (winner == null) {
+                game.playRound();
+                turns += game.getState().getTurnCount();
+                winner = game.getGameWinner();
+            }
+            for (int seat = 0; seat < seats; seat++) {
+                gamePoints[seat] = players.get(seat).getGamePoints();
+            }
+            result.recordGame(players.indexOf(winner), gamePoints, game.getState().getRoundNumber(), turns);
+        }
+        return result;
+    }
+
+    /**
+     * Derives the seed of game i from the master seed (SplitMix64 finalizer),
+     * so neighbouring games get unrelated shuffles.
+     */
+    public static long gameSeed(long masterSeed, long gameIndex) {
+        long z = masterSeed + (gameIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Splits the game range in halves until it is small enough, then plays it
+     */
+    private class GamesTask extends RecursiveTask<TournamentResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final int gamesPerTask;
+
+        GamesTask(long from, long to, int gamesPerTask) {
+            this.from = from;
+            this.to = to;
+            this.gamesPerTask = gamesPerTask;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+            if (to - from <= gamesPerTask) {
+                return runRange(from, to);
+            }
+            long middle = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, middle, gamesPerTask);
+            left.fork();
+            TournamentResult right = new GamesTask(middle, to, gamesPerTask).compute();
+            return right.merge(left.join());
+        }
+    }
+}
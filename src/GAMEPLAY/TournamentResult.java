@@ -0,0 +1,159 @@
+package GAMEPLAY;
+
+import java.util.Arrays;
+
+/**
+ * The TournamentResult class holds the totals of a batch of games.
+ * Partial results from different workers are combined with merge(); since everything
+ * is a plain sum, the merged totals do not depend on how the games were split up.
+ */
+public class TournamentResult {
+    private final long[] winsBySeat;
+    private final long[] pointsBySeat; // Sum of Player.getGamePoints() at the end of every game
+    private long games;
+    private long rounds;
+    private long turns;
+
+    public TournamentResult(int seats) {
+        this.winsBySeat = new long[seats];
+        this.pointsBySeat = new long[seats];
+    }
+
+    /**
+     * Records one finished game.
+     * @param winnerSeat Seat index of the game winner
+     * @param gamePoints Game points of every seat at the end of the game
+     */
+    public void recordGame(int winnerSeat, int[] gamePoints, int gameRounds, int gameTurns) {
+        games++;
+        rounds += gameRounds;
+        turns += gameTurns;
+        winsBySeat[winnerSeat]++;
+        for (int seat = 0; seat < gamePoints.length; seat++) {
+            pointsBySeat[seat] += gamePoints[seat];
+        }
+    }
+
+    /**
+     * Adds the totals of another partial result to this one.
+     * @return this, for chaining
+     */
+    public TournamentResult merge(TournamentResult other) {
+        if (other.winsBySeat.length != winsBySeat.length) {
+            throw new IllegalArgumentException("Cannot merge results with different seat counts");
+        }
+        games += other.games;
+        rounds += other.rounds;
+        turns += other.turns;
+        for (int seat = 0; seat < winsBySeat.length; seat++) {
+            winsBySeat[seat] += other.winsBySeat[seat];
+            pointsBySeat[seat] += other.pointsBySeat[seat];
+        }
+        return this;
+    }
+
+    /**
+     * Writes the totals as one line of text, e.g. to pass a partial result between processes.
+     * Format: seats games rounds turns, then the wins and the points of every seat, separated by spaces.
+     */
+    public String encode() {
+        StringBuilder line = new StringBuilder();
+        line.append(winsBySeat.length).append(' ').append(games).append(' ').append(rounds).append(' ').append(turns);
+        for (long wins : winsBySeat) {
+            line.append(' ').append(wins);
+        }
+        for (long points : pointsBySeat) {
+            line.append(' ').append(points);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Reads totals written by encode().
+     */
+    public static TournamentResult decode(String line) {
+        String[] fields = line.trim().split(" ");
+        try {
+            int seats = Integer.parseInt(fields[0]);
+            if (fields.length != 4 + 2 * seats) {
+                throw new IllegalArgumentException("Expected " + (4 + 2 * seats) + " fields: " + line);
+            }
+            TournamentResult result = new TournamentResult(seats);
+            result.games = Long.parseLong(fields[1]);
+            result.rounds = Long.parseLong(fields[2]);
+            result.turns = Long.parseLong(fields[3]);
+            for (int seat = 0; seat < seats; seat++) {
+                result.winsBySeat[seat] = Long.parseLong(fields[4 + seat]);
+                result.pointsBySeat[seat] = Long.parseLong(fields[4 + seats + seat]);
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a tournament result: " + line, e);
+        }
+    }
+
+    // --- Getters ---
+    public int getSeats() {
+        return winsBySeat.length;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public long getTurns() {
+        return turns;
+    }
+
+    public long getWins(int seat) {
+        return winsBySeat[seat];
+    }
+
+    public long getPoints(int seat) {
+        return pointsBySeat[seat];
+    }
+
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) winsBySeat[seat] / games;
+    }
+
+    public double getAveragePoints(int seat) {
+        return games == 0 ? 0 : (double) pointsBySeat[seat] / games;
+    }
+
+    /**
+     * Average game length in turns
+     */
+    public double getAverageGameLength() {
+        return games == 0 ? 0 : (double) turns / games;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TournamentResult)) return false;
+        TournamentResult other = (TournamentResult) o;
+        return games == other.games && rounds == other.rounds && turns == other.turns
+                && Arrays.equals(winsBySeat, other.winsBySeat)
+                && Arrays.equals(pointsBySeat, other.pointsBySeat);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(games) * 31 + Arrays.hashCode(winsBySeat);
+    }
+
+    @Override
+    public String toString() {
+        return "TournamentResult{" +
+                "games=" + games +
+                ", rounds=" + rounds +
+                ", averageGameLength=" + getAverageGameLength() +
+                ", winsBySeat=" + Arrays.toString(winsBySeat) +
+                ", pointsBySeat=" + Arrays.toString(pointsBySeat) +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+package GAMEPLAY;
+
+import java.util.Arrays;
+
+/**
+ * The TranspositionTable class caches one long value per position hash (SimState.hash())
+ * in a fixed number of slots, so it never grows however many positions are searched.
+ *
+ * Slots come in pairs: a hash may live in either slot of its pair. A new entry goes into
+ * an empty slot or a slot that already holds the same hash, and otherwise replaces the
+ * older of the two entries, so recent positions stay and old ones fade out.
+ * Not thread-safe: give every search thread its own table. EndgameSolver keeps one in front of its
+ * shared EndgameMemo, so most lookups never take the memo's locks.
+ */
+public class TranspositionTable {
+    private final long[] keys;
+    private final long[] values;
+    private final long[] ages;   // When each slot was last written, 0 if never
+    private final int pairMask;
+    private long clock;          // Writes so far; a long never wraps around
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity Number of entries (rounded up to a power of two, at least 2)
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.keys = new long[size];
+        this.values = new long[size];
+        this.ages = new long[size];
+        this.pairMask = size / 2 - 1;
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The cached value, or 'missing' if the hash is not in the table
+     */
+    public long get(long hash, long missing) {
+        int slot = pairOf(hash);
+        if (ages[slot] != 0 && keys[slot] == hash) {
+            hits++;
+            return values[slot];
+        }
+        if (ages[slot + 1] != 0 && keys[slot + 1] == hash) {
+            hits++;
+            return values[slot + 1];
+        }
+        misses++;
+        return missing;
+    }
+
+    public void put(long hash, long value) {
+        int slot = pairOf(hash);
+        // The slot that holds the hash already, else an empty one, else the older one
+        if (ages[slot + 1] != 0 && keys[slot + 1] == hash) {
+            slot++;
+        } else if (ages[slot] != 0 && keys[slot] != hash
+                && (ages[slot + 1] == 0 || ages[slot + 1] < ages[slot])) {
+            slot++;
+        }
+        keys[slot] = hash;
+        values[slot] = value;
+        ages[slot] = ++clock;
+    }
+
+    public void clear() {
+        Arrays.fill(ages, 0);
+        clock = 0;
+        hits = 0;
+        misses = 0;
+    }
+
+    private int pairOf(long hash) {
+        // The low bits of a Zobrist hash are as random as the high ones
+        return ((int) hash & pairMask) << 1;
+    }
+}
@@ -0,0 +1,58 @@
+package GAMEPLAY;
+
+import CARDS.Action_Cards;
+import CARDS.Card;
+
+/**
+ * The TurnRules interface is the part of a turn that house rules can change.
+ * UnoGame calls these hooks at fixed points of every turn and does everything else itself.
+ * StandardRules plays the official game; VARIATIONS.RunVariations compiles house rules.
+ * An instance may keep state for the round (e.g. a stacked draw penalty), so it belongs to one game.
+ */
+public interface TurnRules {
+
+    /** A new round was dealt and the first card turned up */
+    default void roundStarted(TableActions table) {}
+
+    /**
+     * Called before the player to move chooses a card.
+     * @return true if the hook already played the whole turn
+     */
+    default boolean startTurn(TableActions table, int seat) {
+        return false;
+    }
+
+    /**
+     * Looks at the player's choice before it is played and may replace it.
+     * @param choice The chosen card, or null to draw
+     * @return The card to play, or null to draw
+     */
+    default Card checkChoice(TableActions table, int seat, Card choice) {
+        return choice;
+    }
+
+    /**
+     * The player draws instead of playing.
+     * @return A drawn card the player plays right away, or null to end the turn
+     */
+    Card drawForTurn(TableActions table, int seat);
+
+    /**
+     * Applies the effects of a card that was just played (its color is already set)
+     * and moves the turn on.
+     * @param result The card's effects, or null for a number card
+     */
+    void afterPlay(TableActions table, int seat, Card card, Action_Cards.ActionResult result);
+
+    /**
+     * The state the rules keep for the round, packed into a long for a checkpoint (0 if none)
+     */
+    default long saveState() {
+        return 0;
+    }
+
+    /**
+     * Takes back a state from saveState(), when a game resumes from a checkpoint
+     */
+    default void restoreState(long state) {}
+}
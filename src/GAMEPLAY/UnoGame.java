@@ -1,25 +1,426 @@
 package GAMEPLAY;
 
+import CARDS.Action_Cards;
 import CARDS.Card;
 import CARDS.Deck;
+import METRICS.GameMetrics;
+import METRICS.Histogram;
+import METRICS.MetricsListener;
 import PLAYERS.Player;
+import RULES.Referee;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * The UnoGame class is the turn engine. It deals, asks each player's DecisionMaker
+ * what to do, applies the effects of action cards to the GameState and scores the rounds.
+ * It does no console I/O itself, so bot-only games can run headless.
+ * What a played or drawn card does is up to its TurnRules (StandardRules unless house rules are given).
+ */
 public class UnoGame {
+    public static final int CARDS_PER_HAND = 7;
+    public static final int MAX_TURNS_PER_ROUND = 10_000; // Safety net: a round this long ends without a winner
 
-    private List<Player> players;
-    private Deck deck;
-    private List<Card> discardPile;
-    private int currentPlayerIndex;
-    private boolean isClockwise;
+    private final List<Player> players;
+    private final Deck deck;
+    private final Referee referee;
+    private final GameState state;
+    private final DecisionMaker[] decisionMakers;
+    private final TurnRules rules;
+    private final TableActions actions = new Actions();
+    private Player roundWinner;
+    private final GameEventBus events = new GameEventBus();
+    private Histogram[] decisionLatency; // Per seat; null while metrics are off
 
+    /**
+     * @param players The players in seating order
+     * @param humanDecisions Used for every player that is not a DecisionMaker itself (bots are)
+     */
+    public UnoGame(List<Player> players, DecisionMaker humanDecisions) {
+        this(players, new Deck(), new Referee(), humanDecisions);
+    }
+
+    public UnoGame(List<Player> players, Deck deck, Referee referee, DecisionMaker humanDecisions) {
+        this(players, deck, referee, humanDecisions, StandardRules.INSTANCE);
+    }
+
+    /**
+     * @param rules How turns are played, e.g. house rules from VARIATIONS.RunVariations.compile
+     *              (an instance may keep round state, so do not share one between games)
+     */
+    public UnoGame(List<Player> players, Deck deck, Referee referee, DecisionMaker humanDecisions, TurnRules rules) {
+        this.rules = rules;
+        this.players = players;
+        this.deck = deck;
+        this.referee = referee;
+        this.state = new GameState(players, deck);
+        this.decisionMakers = new DecisionMaker[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            decisionMakers[i] = player instanceof DecisionMaker ? (DecisionMaker) player : humanDecisions;
+            if (decisionMakers[i] == null) {
+                throw new IllegalArgumentException("No DecisionMaker for player " + player);
+            }
+        }
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public Referee getReferee() {
+        return referee;
+    }
+
+    /**
+     * The bus every deal, draw, play, color choice and round end is published to.
+     * With no subscribers the engine does no extra work.
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+
+    TurnRules getRules() {
+        return rules;
+    }
+
+    public void addListener(GameListener listener) {
+        events.subscribe(listener);
+    }
 
+    public void removeListener(GameListener listener) {
+        events.unsubscribe(listener);
+    }
+
+    /**
+     * Starts reporting this game to a GameMetrics: turns, rounds, hand sizes, the draw pile
+     * and how long every seat's DecisionMaker takes to choose a card.
+     */
+    public void enableMetrics(GameMetrics metrics) {
+        events.subscribe(new MetricsListener(metrics, state));
+        decisionLatency = new Histogram[players.size()];
+        for (int seat = 0; seat < players.size(); seat++) {
+            decisionLatency[seat] = metrics.decisionLatency(decisionMakers[seat].getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Plays rounds until a player reaches the referee's target score.
+     * @return The player with the most game points once the target is reached
+     */
+    public Player playGame() {
+        startGame();
+        Player winner = null;
+        while (winner == null) {
+            playRound();
+            winner = getGameWinner();
+        }
+        return winner;
+    }
+
+    /**
+     * @return The player with the most game points if anyone reached the target score, otherwise null
+     */
+    public Player getGameWinner() {
+        Player winner = null;
+        for (Player player : players) {
+            if (referee.hasWonGame(player)
+                    && (winner == null || player.getGamePoints() > winner.getGamePoints())) {
+                winner = player;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Resets all scores and hands for a completely new game.
+     */
     public void startGame() {
-        // Deal cards, initialize game state
-        // While no one has won:
-        // - Show current player's hand
-        // - Accept input to play or draw
-        // - Handle special cards (skip, reverse, draw two, etc.)
+        for (Player player : players) {
+            player.endGame();
+        }
+        state.startGame();
+        events.gameStarted(players.size());
+    }
+
+    /**
+     * Plays one full round and scores it.
+     * @return The player who emptied their hand, or null if the round hit MAX_TURNS_PER_ROUND
+     */
+    public Player playRound() {
+        startRound();
+        return continueRound(null);
+    }
+
+    /**
+     * Plays the rest of a round that was already dealt (by startRound, or restored from a checkpoint) and scores it.
+     * @param afterTurn Run after every turn that did not end the round, or null
+     * @return The player who emptied their hand, or null if the round hit MAX_TURNS_PER_ROUND
+     */
+    public Player continueRound(Runnable afterTurn) {
+        while (!playTurn()) {
+            if (state.getTurnCount() >= MAX_TURNS_PER_ROUND) {
+                break;
+            }
+            if (afterTurn != null) {
+                afterTurn.run();
+            }
+        }
+        Player winner = finishRound();
+        Player gameWinner = getGameWinner();
+        if (gameWinner != null) {
+            events.gameEnded(players.indexOf(gameWinner));
+        }
+        return winner;
+    }
+
+    /**
+     * Shuffles, deals a new hand to every player and turns up the first card.
+     * The starting seat moves one place on every round.
+     */
+    public void startRound() {
+        deck.reset();
+        for (Player player : players) {
+            player.clearHand();
+        }
+        int startingSeat = state.getRoundNumber() % players.size();
+        events.roundStarted(state.getRoundNumber() + 1, startingSeat);
+        for (int i = 0; i < CARDS_PER_HAND; i++) {
+            for (int seat = 0; seat < players.size(); seat++) {
+                Card card = deck.drawCard();
+                players.get(seat).drawCard(card);
+                events.cardDealt(seat, card);
+            }
+        }
+
+        // Keep turning up cards until the starting card is a number card
+        Card first;
+        do {
+            first = deck.drawCard();
+            deck.discardCard(first);
+            events.cardTurnedUp(first);
+        } while (first.getType() != Card.Type.NUMBER);
+
+        roundWinner = null;
+        state.setActiveColor(first.getColor());
+        state.startRound(startingSeat);
+        rules.roundStarted(actions);
+    }
+
+    /**
+     * Plays the current player's turn: play a card, or draw one (and play it if possible).
+     * @return true if the round is over
+     */
+    public boolean playTurn() {
+        int seat = state.getCurrentPlayerIndex();
+        Player player = state.getCurrentPlayer();
+        DecisionMaker decisions = decisionMakers[seat];
+        state.nextTurn();
+        events.turnStarted(seat, state.getTurnCount());
+        if (rules.startTurn(actions, seat)) {
+            return roundWinner != null;
+        }
+
+        Histogram latency = decisionLatency == null ? null : decisionLatency[seat];
+        long decisionStart = latency == null ? 0 : System.nanoTime();
+        Card card = decisions.chooseCardToPlay(state, player);
+        if (latency != null) {
+            latency.record(System.nanoTime() - decisionStart);
+        }
+        card = rules.checkChoice(actions, seat, card);
+        state.recordMove(seat, card == null ? GameState.DRAW_MOVE : card.getId());
+        if (card == null) {
+            events.drawChosen(seat);
+            // A drawn card that gets played is part of the draw move, like in SimState
+            card = rules.drawForTurn(actions, seat);
+            if (card == null) {
+                state.setCurrentPlayerIndex(state.playerIndexAfter(1));
+                return false;
+            }
+        } else if (!referee.isValidPlay(player, card, deck.peekTopDiscard(), state.getActiveColor())) {
+            throw new IllegalStateException(player + " cannot play " + card + " on " + deck.peekTopDiscard());
+        }
+
+        playCard(seat, card);
+        return roundWinner != null;
+    }
+
+    private void playCard(int seat, Card card) {
+        Player player = players.get(seat);
+        DecisionMaker decisions = decisionMakers[seat];
+        player.playCard(card);
+        deck.discardCard(card);
+        events.cardPlayed(seat, card);
+
+        Action_Cards.ActionResult result = null;
+        if (card.getType() != Card.Type.NUMBER) {
+            Card.Color chosenColor = null;
+            if (card.getType() == Card.Type.WILD || card.getType() == Card.Type.WILD_DRAW_FOUR) {
+                chosenColor = decisions.chooseColor(state, player);
+                if (chosenColor == null || chosenColor == Card.Color.WILD) {
+                    throw new IllegalStateException(player + " chose an invalid color: " + chosenColor);
+                }
+            }
+            // The interned instance of every action card is an Action_Cards
+            Action_Cards actionCard = (Action_Cards) Card.byId(card.getId());
+            result = actionCard.executeSpecialFunction(players.size(), chosenColor);
+            if (result.newColor != null) {
+                events.colorChosen(seat, result.newColor);
+            }
+        }
+        state.setActiveColor(result != null && result.newColor != null ? result.newColor : card.getColor());
+
+        if (player.getHand().isEmpty()) {
+            roundWinner = player;
+        } else if (player.hasUNO()) {
+            if (decisions.shouldCallUNO(state, player)) {
+                events.unoCalled(seat);
+            } else {
+                events.penaltyApplied(seat, Referee.UNO_PENALTY_CARDS);
+                drawCards(seat, Referee.UNO_PENALTY_CARDS);
+            }
+        }
+
+        rules.afterPlay(actions, seat, card, result);
+    }
+
+    private void drawCards(int seat, int count) {
+        Player player = players.get(seat);
+        for (int i = 0; i < count && deck.hasCardsToDraw(); i++) {
+            Card card = drawFromDeck();
+            player.drawCard(card);
+            events.cardDrawn(seat, card);
+        }
+    }
+
+    /**
+     * Draws the top card, telling the listeners first if the discard pile had to be reshuffled for it
+     */
+    private Card drawFromDeck() {
+        long reshuffles = deck.getReshuffleCount();
+        Card card = deck.drawCard();
+        if (deck.getReshuffleCount() != reshuffles) {
+            events.discardReshuffled(deck.size() + 1);
+        }
+        return card;
+    }
+
+    private Player finishRound() {
+        int points = 0;
+        if (roundWinner != null) {
+            points = referee.calculateRoundPoints(roundWinner, players);
+            roundWinner.addRoundPoints(points);
+            referee.recordRoundPoints(roundWinner, points);
+        }
+        events.roundEnded(players.indexOf(roundWinner), points);
+        for (Player player : players) {
+            player.endRound();
+        }
+        return roundWinner;
+    }
+
+    /**
+     * What the TurnRules get to do to this game
+     */
+    private class Actions implements TableActions {
+        @Override
+        public GameState getState() {
+            return state;
+        }
+
+        @Override
+        public Player getPlayer(int seat) {
+            return players.get(seat);
+        }
+
+        @Override
+        public DecisionMaker getDecisions(int seat) {
+            return decisionMakers[seat];
+        }
+
+        @Override
+        public boolean isRoundOver() {
+            return roundWinner != null;
+        }
+
+        @Override
+        public Card drawCard(int seat) {
+            if (!deck.hasCardsToDraw()) {
+                return null;
+            }
+            Card card = drawFromDeck();
+            players.get(seat).drawCard(card);
+            events.cardDrawn(seat, card);
+            return card;
+        }
+
+        @Override
+        public void drawCards(int seat, int count) {
+            UnoGame.this.drawCards(seat, count);
+        }
+
+        @Override
+        public void playCard(int seat, Card card) {
+            Player player = players.get(seat);
+            if (!referee.isValidPlay(player, card, deck.peekTopDiscard(), state.getActiveColor())) {
+                throw new IllegalStateException(player + " cannot play " + card + " on " + deck.peekTopDiscard());
+            }
+            state.recordMove(seat, card.getId());
+            UnoGame.this.playCard(seat, card);
+        }
+
+        @Override
+        public void recordMove(int seat, Card card) {
+            state.recordMove(seat, card == null ? GameState.DRAW_MOVE : card.getId());
+        }
+
+        @Override
+        public void moveTurn(int steps) {
+            state.setCurrentPlayerIndex(state.playerIndexAfter(steps));
+        }
+
+        @Override
+        public void setCurrentPlayer(int seat) {
+            state.setCurrentPlayerIndex(seat);
+        }
+
+        @Override
+        public void reverseDirection() {
+            state.reverseDirection();
+        }
+
+        @Override
+        public void swapHands(int seat, int otherSeat) {
+            if (seat == otherSeat) {
+                throw new IllegalArgumentException("A seat cannot swap hands with itself: " + seat);
+            }
+            List<Card> first = new ArrayList<>(players.get(seat).getHand());
+            List<Card> second = new ArrayList<>(players.get(otherSeat).getHand());
+            give(players.get(seat), second);
+            give(players.get(otherSeat), first);
+            events.handsSwapped(seat, otherSeat);
+        }
+
+        @Override
+        public void rotateHands() {
+            int n = players.size();
+            int step = state.isClockwise() ? 1 : -1;
+            List<List<Card>> hands = new ArrayList<>(n);
+            for (Player player : players) {
+                hands.add(new ArrayList<>(player.getHand()));
+            }
+            for (int seat = 0; seat < n; seat++) {
+                give(players.get(Math.floorMod(seat + step, n)), hands.get(seat));
+            }
+            events.handsRotated(state.isClockwise());
+        }
+
+        private void give(Player player, List<Card> cards) {
+            player.clearHand();
+            for (Card card : cards) {
+                player.drawCard(card);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,204 @@
+package METRICS;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The GameMetrics class collects what all running games do: turns, rounds, games in flight,
+ * reshuffles, draw-pile depth, hand sizes and decision times.
+ * Counters are LongAdders and distributions are striped Histograms, so many tables can
+ * record at once without fighting over a cache line.
+ *
+ * Games feed it through UnoGame.enableMetrics; it can be read over JMX (register())
+ * or as text (render(), served by MetricsEndpoint).
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "UNO:type=GameMetrics";
+    private static final long RATE_INTERVAL_NANOS = 1_000_000_000L;
+    private static final GameMetrics GLOBAL = new GameMetrics();
+
+    final LongAdder turns = new LongAdder();
+    final LongAdder rounds = new LongAdder();
+    final LongAdder gamesStarted = new LongAdder();
+    final LongAdder gamesFinished = new LongAdder();
+    final LongAdder reshuffles = new LongAdder();
+    final LongAdder cardsDrawn = new LongAdder();
+    final LongAdder unoCalls = new LongAdder();
+    final LongAdder penalties = new LongAdder();
+    final Histogram handSizes = new Histogram("hand_size");
+    final Histogram drawPileDepth = new Histogram("draw_pile_depth");
+    private final Map<String, Histogram> decisionLatency = new ConcurrentHashMap<>();
+
+    // Last turn-rate reading
+    private long rateTurns;
+    private long rateNanos = System.nanoTime();
+    private double turnsPerSecond;
+
+    /**
+     * The metrics shared by everything in this JVM that does not bring its own
+     */
+    public static GameMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * The decision-time histogram (in nanoseconds) for one kind of DecisionMaker.
+     */
+    public Histogram decisionLatency(String decider) {
+        return decisionLatency.computeIfAbsent(decider, name -> new Histogram(name));
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server.
+     */
+    public ObjectName register() throws JMException {
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (!server.isRegistered(name)) {
+            server.registerMBean(this, name);
+        }
+        return name;
+    }
+
+    // --- GameMetricsMXBean ---
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    @Override
+    public synchronized double getTurnsPerSecond() {
+        long now = System.nanoTime();
+        if (now - rateNanos >= RATE_INTERVAL_NANOS) {
+            long total = turns.sum();
+            turnsPerSecond = (total - rateTurns) * 1e9 / (now - rateNanos);
+            rateTurns = total;
+            rateNanos = now;
+        }
+        return turnsPerSecond;
+    }
+
+    @Override
+    public long getRounds() {
+        return rounds.sum();
+    }
+
+    @Override
+    public long getGamesInFlight() {
+        return gamesStarted.sum() - gamesFinished.sum();
+    }
+
+    @Override
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    @Override
+    public long getReshuffles() {
+        return reshuffles.sum();
+    }
+
+    @Override
+    public long getCardsDrawn() {
+        return cardsDrawn.sum();
+    }
+
+    @Override
+    public double getMeanDrawPileDepth() {
+        return drawPileDepth.getMean();
+    }
+
+    @Override
+    public long getHandSizeP50() {
+        return handSizes.getPercentile(50);
+    }
+
+    @Override
+    public long getHandSizeP99() {
+        return handSizes.getPercentile(99);
+    }
+
+    @Override
+    public long getHandSizeMax() {
+        return handSizes.getMax();
+    }
+
+    @Override
+    public Map<String, Long> getDecisionLatencyP50Nanos() {
+        return decisionPercentiles(50);
+    }
+
+    @Override
+    public Map<String, Long> getDecisionLatencyP99Nanos() {
+        return decisionPercentiles(99);
+    }
+
+    private Map<String, Long> decisionPercentiles(double percentile) {
+        Map<String, Long> result = new TreeMap<>();
+        decisionLatency.forEach((decider, histogram) -> result.put(decider, histogram.getPercentile(percentile)));
+        return result;
+    }
+
+    // --- Text format ---
+
+    /**
+     * All metrics in the Prometheus text format: one "name{labels} value" line each.
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(2048);
+        counter(out, "uno_turns_total", turns);
+        gauge(out, "uno_turns_per_second", getTurnsPerSecond());
+        counter(out, "uno_rounds_total", rounds);
+        counter(out, "uno_games_started_total", gamesStarted);
+        counter(out, "uno_games_finished_total", gamesFinished);
+        gauge(out, "uno_games_in_flight", getGamesInFlight());
+        counter(out, "uno_reshuffles_total", reshuffles);
+        counter(out, "uno_cards_drawn_total", cardsDrawn);
+        counter(out, "uno_calls_total", unoCalls);
+        counter(out, "uno_penalties_total", penalties);
+        summary(out, "uno_" + handSizes.getName(), "", handSizes, true);
+        summary(out, "uno_" + drawPileDepth.getName(), "", drawPileDepth, true);
+        boolean first = true;
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(decisionLatency).entrySet()) {
+            summary(out, "uno_decision_latency_nanos", "decider=\"" + entry.getKey() + "\",", entry.getValue(), first);
+            first = false;
+        }
+        return out.toString();
+    }
+
+    private static void counter(StringBuilder out, String name, LongAdder counter) {
+        out.append("# TYPE ").append(name).append(" counter\n");
+        out.append(name).append(' ').append(counter.sum()).append('\n');
+    }
+
+    private static void gauge(StringBuilder out, String name, double value) {
+        out.append("# TYPE ").append(name).append(" gauge\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, Histogram histogram, boolean withType) {
+        long[] buckets = histogram.snapshot();
+        long max = histogram.getMax();
+        if (withType) {
+            out.append("# TYPE ").append(name).append(" summary\n");
+        }
+        for (double quantile : new double[] { 0.5, 0.9, 0.99 }) {
+            out.append(name).append("{").append(labels).append("quantile=\"").append(quantile).append("\"} ")
+                    .append(Math.min(Histogram.percentile(buckets, quantile * 100), max)).append('\n');
+        }
+        String braces = labels.isEmpty() ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+        out.append(name).append("_max").append(braces).append(' ').append(max).append('\n');
+        out.append(name).append("_sum").append(braces).append(' ').append(histogram.getSum()).append('\n');
+        long count = 0;
+        for (long c : buckets) {
+            count += c;
+        }
+        out.append(name).append("_count").append(braces).append(' ').append(count).append('\n');
+    }
+}
@@ -0,0 +1,36 @@
+package METRICS;
+
+import java.util.Map;
+
+/**
+ * What GameMetrics shows over JMX (registered as UNO:type=GameMetrics).
+ */
+public interface GameMetricsMXBean {
+    long getTurns();
+
+    /** Turns per second since the previous reading (readings less than a second apart share a value) */
+    double getTurnsPerSecond();
+
+    long getRounds();
+
+    long getGamesInFlight();
+
+    long getGamesFinished();
+
+    long getReshuffles();
+
+    long getCardsDrawn();
+
+    double getMeanDrawPileDepth();
+
+    long getHandSizeP50();
+
+    long getHandSizeP99();
+
+    long getHandSizeMax();
+
+    /** Median decision time in nanoseconds, per kind of DecisionMaker (class name) */
+    Map<String, Long> getDecisionLatencyP50Nanos();
+
+    Map<String, Long> getDecisionLatencyP99Nanos();
+}
@@ -0,0 +1,143 @@
+package METRICS;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The Histogram class counts non-negative values in a fixed set of log-linear buckets:
+ * values below 16 get a bucket each, and every power of two above that is split into
+ * 8 buckets, so a percentile is off by at most 12.5% and the memory never grows.
+ *
+ * Threads record into one of several stripes (picked by thread ID), so parallel tables
+ * rarely touch the same cache lines; reads add the stripes up.
+ */
+public class Histogram {
+    private static final int LINEAR = 16;      // Values 0..15 have a bucket of their own
+    private static final int SUB_BUCKETS = 8;  // Buckets per power of two above that
+    static final int BUCKETS = LINEAR + (63 - 4) * SUB_BUCKETS;
+    private static final int SUM = BUCKETS;     // Per stripe: sum of the values
+    private static final int MAX = BUCKETS + 1; // Per stripe: largest value
+    private static final int STRIDE = (BUCKETS + 2 + 7) & ~7; // Whole cache lines per stripe
+    private static final int STRIPES = stripes();
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(STRIPES * STRIDE);
+
+    public Histogram(String name) {
+        this.name = name;
+    }
+
+    private static int stripes() {
+        int stripes = 1;
+        while (stripes < Runtime.getRuntime().availableProcessors() && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        int base = (int) (Thread.currentThread().threadId() & (STRIPES - 1)) * STRIDE;
+        counts.getAndIncrement(base + bucketOf(value));
+        counts.getAndAdd(base + SUM, value);
+        int max = base + MAX;
+        long seen = counts.get(max);
+        while (value > seen && !counts.compareAndSet(max, seen, value)) {
+            seen = counts.get(max);
+        }
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // 4 or more
+        int sub = (int) (value >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return The largest value that falls into the bucket
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        long lower = (1L << exponent) + ((long) sub << (exponent - 3));
+        return lower + (1L << (exponent - 3)) - 1;
+    }
+
+    /**
+     * @return A copy of the bucket counts, added up over all stripes
+     */
+    public long[] snapshot() {
+        long[] buckets = new long[BUCKETS];
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            for (int b = 0; b < BUCKETS; b++) {
+                buckets[b] += counts.get(stripe * STRIDE + b);
+            }
+        }
+        return buckets;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (long c : snapshot()) {
+            count += c;
+        }
+        return count;
+    }
+
+    public long getSum() {
+        long sum = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            sum += counts.get(stripe * STRIDE + SUM);
+        }
+        return sum;
+    }
+
+    public long getMax() {
+        long max = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            max = Math.max(max, counts.get(stripe * STRIDE + MAX));
+        }
+        return max;
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getSum() / count;
+    }
+
+    /**
+     * @param percentile Between 0 and 100
+     * @return The upper bound of the bucket holding that percentile (at most the largest value),
+     *         or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        return Math.min(percentile(snapshot(), percentile), getMax());
+    }
+
+    static long percentile(long[] buckets, double percentile) {
+        long count = 0;
+        for (long c : buckets) {
+            count += c;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int b = 0; b < buckets.length; b++) {
+            seen += buckets[b];
+            if (seen >= rank) {
+                return upperBoundOf(b);
+            }
+        }
+        return 0;
+    }
+}
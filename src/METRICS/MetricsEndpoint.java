@@ -0,0 +1,43 @@
+package METRICS;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The MetricsEndpoint class serves GameMetrics.render() over HTTP at /metrics,
+ * so a scraper (or curl) can pull the numbers while games are running.
+ */
+public class MetricsEndpoint implements Closeable {
+    private final HttpServer server;
+
+    /**
+     * Starts serving right away.
+     * @param address Where to listen (port 0 picks a free port, see getPort())
+     */
+    public MetricsEndpoint(GameMetrics metrics, InetSocketAddress address) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = metrics.render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
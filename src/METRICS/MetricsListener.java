@@ -0,0 +1,63 @@
+package METRICS;
+
+import CARDS.Card;
+import CARDS.Deck;
+import GAMEPLAY.GameListener;
+import GAMEPLAY.GameState;
+
+/**
+ * The MetricsListener class feeds one game's events into GameMetrics.
+ * It is subscribed by UnoGame.enableMetrics and reads hand sizes and
+ * the draw pile from the game's state at the start of every turn.
+ */
+public class MetricsListener implements GameListener {
+    private final GameMetrics metrics;
+    private final GameState state;
+    private long reshufflesSeen;
+
+    public MetricsListener(GameMetrics metrics, GameState state) {
+        this.metrics = metrics;
+        this.state = state;
+        this.reshufflesSeen = state.getDeck().getReshuffleCount();
+    }
+
+    @Override
+    public void gameStarted(int playerCount) {
+        metrics.gamesStarted.increment();
+    }
+
+    @Override
+    public void turnStarted(int seat, int turn) {
+        metrics.turns.increment();
+        metrics.handSizes.record(state.getPlayers().get(seat).getHand().size());
+        metrics.drawPileDepth.record(state.getDeck().size());
+    }
+
+    @Override
+    public void cardDrawn(int seat, Card card) {
+        metrics.cardsDrawn.increment();
+    }
+
+    @Override
+    public void unoCalled(int seat) {
+        metrics.unoCalls.increment();
+    }
+
+    @Override
+    public void penaltyApplied(int seat, int cards) {
+        metrics.penalties.increment();
+    }
+
+    @Override
+    public void roundEnded(int winnerSeat, int points) {
+        metrics.rounds.increment();
+        Deck deck = state.getDeck();
+        metrics.reshuffles.add(deck.getReshuffleCount() - reshufflesSeen);
+        reshufflesSeen = deck.getReshuffleCount();
+    }
+
+    @Override
+    public void gameEnded(int winnerSeat) {
+        metrics.gamesFinished.increment();
+    }
+}
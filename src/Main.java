@@ -1,6 +1,4 @@
-import GAMEPLAY.UnoGame;
-
-import java.util.Scanner;
+import GAMEPLAY.Run;
 
 
 public class Main {
@@ -8,15 +6,9 @@ public class Main {
 
         System.out.println("Hello and welcome to Uno!");
 
-        UnoGame game = new UnoGame();
-        game.startGame();
-
-
-
-
-        Scanner scanner = new Scanner(System.in);
-        System.out.println("Choose a card to play or type 'draw':");
-        String input = scanner.nextLine();
+        Run game = new Run();
+        game.setupGame();
+        game.startGameLoop();
     }
 
-}
\ No newline at end of file
+}
@@ -1,47 +1,97 @@
 package PLAYERS;
 import CARDS.Card; // Make sure this import is there
-import java.util.List;
+import GAMEPLAY.DecisionMaker;
+import GAMEPLAY.GameState;
+import GAMEPLAY.UnoGame;
 
 /**
  * The BotPlayer class represents an automated player in the UNO game.
  * It extends the Player class and implements its own logic for choosing cards.
+ * It is its own DecisionMaker, so the turn engine can run it without any input.
  */
-public class BotPlayer extends Player {
+public class BotPlayer extends Player implements DecisionMaker {
+    /** Bits decisionKey() may use: a DecisionCache key word less the playable IDs 64 and up */
+    public static final int DECISION_KEY_BITS = DecisionCache.KEY_BITS - (Card.ID_COUNT - 64);
+    private static final int NOT_CACHED = -1;
+
+    private CardTracker cardTracker; // null unless trackCards was called
+    private DecisionCache decisionCache; // null: decide every time
+
 
     public BotPlayer(String name) {
         super(name, true); // Call the Player constructor with name and 'true' for isBot
     }
 
+    /**
+     * Makes this bot remember the cards of the given game from its own seat.
+     * Strategies can then ask getCardTracker() what the other seats may hold.
+     * @return The tracker, already subscribed to the game
+     */
+    public CardTracker trackCards(UnoGame game) {
+        int seat = game.getState().getPlayers().indexOf(this);
+        if (seat < 0) {
+            throw new IllegalArgumentException(getName() + " does not play in this game");
+        }
+        if (cardTracker != null) {
+            game.removeListener(cardTracker);
+        }
+        cardTracker = new CardTracker(game.getState(), seat);
+        game.addListener(cardTracker);
+        return cardTracker;
+    }
+
+    /**
+     * @return What this bot knows about the unseen cards, or null if it does not track them
+     */
+    public CardTracker getCardTracker() {
+        return cardTracker;
+    }
+
+    /**
+     * Makes this bot look its card choices up in a cache first, or stop if null.
+     * A cache may be shared with other bots of the same strategy(), also on other threads.
+     * @throws IllegalArgumentException If the cache holds the decisions of another strategy
+     */
+    public void setDecisionCache(DecisionCache decisionCache) {
+        if (decisionCache != null) {
+            decisionCache.bind(strategy());
+        }
+        this.decisionCache = decisionCache;
+    }
+
+    public DecisionCache getDecisionCache() {
+        return decisionCache;
+    }
+
     /**
      * Bot's logic to choose a card to play from its hand.
-     * It tries to play a card that matches the top discard card's color or type.
-     * Prioritizes playing action cards if possible.
+     * It tries to play a card that matches the top discard card's color, type or number.
+     * Prioritizes playing action cards if possible, then the highest number.
      * If no direct match, it might try to play a Wild card.
+     * The hand answers this from its playable-card bitsets, without scanning the cards.
      *
      * @param topDiscardCard The card currently on top of the discard pile.
      * @param currentActiveColor The color that must be matched (set by a Wild card).
      * @return The card the bot chooses to play, or null if it cannot play any card.
      */
     public Card chooseCardToPlay(Card topDiscardCard, Card.Color currentActiveColor) {
-        List<Card> currentHand = getHand(); // Access hand from superclass
-
-        // Strategy 1: Find a direct match (color or type) or an action card of matching color
-        for (Card card : currentHand) {
-            // Check if it's a direct color match, or a direct type match
-            if (card.getColor() == currentActiveColor ||
-                    card.getType() == topDiscardCard.getType()) {
-                return card; // Found a playable card
-            }
-        }
+        return getHand().bestPlayable(topDiscardCard, currentActiveColor); // null: bot must draw
+    }
 
-        // Strategy 2: If no direct match, look for a Wild card
-        for (Card card : currentHand) {
-            if (card.getType() == Card.Type.WILD || card.getType() == Card.Type.WILD_DRAW_FOUR) {
-                return card; // Play a wild card if nothing else fits
+    /**
+     * Bot's logic to choose the color after playing a Wild card.
+     * A simple bot picks the color it holds the most cards of.
+     * @return The chosen color (never WILD)
+     */
+    public Card.Color chooseColor() {
+        Hand hand = getHand();
+        Card.Color best = Card.Color.RED;
+        for (Card.Color color : Card.Color.values()) {
+            if (color != Card.Color.WILD && hand.countColor(color) > hand.countColor(best)) {
+                best = color;
             }
         }
-
-        return null; // No playable card found, bot must draw
+        return best;
     }
 
     /**
@@ -52,4 +102,84 @@ public class BotPlayer extends Player {
     public boolean shouldCallUNO() {
         return true; // Simple bot always calls UNO
     }
-}
\ No newline at end of file
+
+    // --- Strategy (what subclasses override) ---
+
+    /**
+     * Chooses the card to play, or null to draw; only called if the decision is not cached.
+     * It may only depend on which cards in hand are playable and on decisionKey().
+     */
+    protected Card decideCard(GameState state) {
+        return chooseCardToPlay(state.getTopDiscard(), state.getActiveColor());
+    }
+
+    /**
+     * Everything besides the set of playable cards that decideCard looks at, packed into at most
+     * DECISION_KEY_BITS bits for the DecisionCache key, or -1 to decide without the cache this time.
+     * A plain bot only looks at the playable cards.
+     * @param playable0 Playable card IDs in hand below 64, as bits
+     * @param playable1 Playable card IDs in hand from 64 up, as bits from 0
+     */
+    protected long decisionKey(GameState state, long playable0, long playable1) {
+        return 0;
+    }
+
+    /**
+     * Chooses the next color after a wild card.
+     */
+    protected Card.Color decideColor(GameState state) {
+        return chooseColor();
+    }
+
+    /**
+     * What decideCard depends on besides the game, compared with equals():
+     * bots with equal strategies decide alike and may share a DecisionCache. By default the class.
+     */
+    protected Object strategy() {
+        return getClass();
+    }
+
+    // --- DecisionMaker ---
+    @Override
+    public Card chooseCardToPlay(GameState state, Player player) {
+        DecisionCache cache = decisionCache;
+        if (cache == null) {
+            return decideCard(state);
+        }
+        // The key: the playable cards in hand (IDs 0-63, then 64 and up) and the strategy's decisionKey()
+        Hand hand = getHand();
+        int top = state.getTopDiscard() == null ? Card.NO_CARD : state.getTopDiscard().getId();
+        int color = state.getActiveColor() == null ? Card.NO_COLOR : state.getActiveColor().ordinal();
+        long playable0 = hand.playableIds(top, color, 0);
+        long playable1 = hand.playableIds(top, color, 1);
+        if ((playable0 | playable1) == 0) {
+            return null; // Nothing to decide: draw
+        }
+        long key = decisionKey(state, playable0, playable1);
+        if (key < 0) {
+            cache.bypass();
+            return decideCard(state);
+        }
+        if (key >>> DECISION_KEY_BITS != 0) {
+            throw new IllegalStateException(getClass().getSimpleName() + " decision key does not fit: " + key);
+        }
+        long key1 = key << (Card.ID_COUNT - 64) | playable1;
+        int id = cache.get(playable0, key1, NOT_CACHED);
+        if (id == NOT_CACHED) {
+            Card card = decideCard(state);
+            cache.put(playable0, key1, card == null ? Card.NO_CARD : card.getId());
+            return card;
+        }
+        return id == Card.NO_CARD ? null : Card.byId(id);
+    }
+
+    @Override
+    public Card.Color chooseColor(GameState state, Player player) {
+        return decideColor(state);
+    }
+
+    @Override
+    public boolean shouldCallUNO(GameState state, Player player) {
+        return shouldCallUNO();
+    }
+}
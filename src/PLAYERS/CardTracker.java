@@ -0,0 +1,378 @@
+package PLAYERS;
+
+import CARDS.Card;
+import CARDS.Deck;
+import GAMEPLAY.GameListener;
+import GAMEPLAY.GameState;
+
+import java.util.Arrays;
+
+/**
+ * The CardTracker class remembers, for one seat, which cards it has not seen yet: everything that is
+ * neither in its own hand nor in the discard pile (other hands and the draw pile). Observation rebuilds
+ * the same pool from scratch on every call; the tracker is subscribed to the game's events instead and
+ * keeps the unseen counts per card ID, color, type and number up to date with a few array updates per
+ * play or draw. A reshuffle puts the old discards back into the pool in one pass over the card IDs.
+ *
+ * It also remembers what a seat gave away by drawing: a seat that chose to draw on a red 5 holds no card
+ * that could be played on it (no red card, no 5, no wild). That holds for the cards it had at the time,
+ * so cards it gets later are not covered, and it assumes the seat only draws when it cannot play (bots do).
+ * If the seat later plays one of those cards anyway, the tracker forgets the constraint.
+ *
+ * The probability queries treat a hand as a random draw from the unseen cards that fit its constraint.
+ * They only read the tracker and are meant to be called from a bot's decisions on the game's thread.
+ */
+public class CardTracker implements GameListener {
+    private static final int COLORS = Card.Color.values().length;
+    private static final int TYPES = Card.Type.values().length;
+    private static final int[] DECK_COUNTS = new int[Card.ID_COUNT];
+    private static final long[] COLOR_MASKS = new long[COLORS * 2]; // Two bitset words of card IDs per color
+
+    static {
+        for (int id : Deck.copyTemplate()) {
+            DECK_COUNTS[id]++;
+        }
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            COLOR_MASKS[Card.colorOf(id).ordinal() * 2 + (id >>> 6)] |= 1L << id;
+        }
+    }
+
+    private final GameState state;
+    private final int viewer;
+
+    private final int[] unseen = new int[Card.ID_COUNT];
+    private final int[] unseenByColor = new int[COLORS];
+    private final int[] unseenByType = new int[TYPES];
+    private final int[] unseenByNumber = new int[10];
+    private int unseenTotal;
+    private final int[] own = new int[Card.ID_COUNT];
+    private final int[] discards = new int[Card.ID_COUNT];
+    private int topId = Card.NO_CARD;
+
+    private final int[] handSizes;
+    // Per seat: card IDs its older cards cannot be (two bitset words), and how many cards it got since
+    private final long[] voids;
+    private final int[] fresh;
+
+    /**
+     * Tracks the game from the given seat's view, starting from what that seat can see right now.
+     * Subscribe it to the game (UnoGame.addListener) to keep it up to date.
+     */
+    public CardTracker(GameState state, int viewer) {
+        if (viewer < 0 || viewer >= state.getPlayerCount()) {
+            throw new IllegalArgumentException("No seat " + viewer + " at a table of " + state.getPlayerCount());
+        }
+        this.state = state;
+        this.viewer = viewer;
+        this.handSizes = new int[state.getPlayerCount()];
+        this.voids = new long[handSizes.length * 2];
+        this.fresh = new int[handSizes.length];
+        rebuild();
+    }
+
+    // --- Queries ---
+
+    public int getViewer() {
+        return viewer;
+    }
+
+    /** Copies of a card ID the viewer has not seen */
+    public int getUnseen(int cardId) {
+        return unseen[cardId];
+    }
+
+    public int getUnseen(Card.Color color) {
+        return unseenByColor[color.ordinal()];
+    }
+
+    public int getUnseen(Card.Type type) {
+        return unseenByType[type.ordinal()];
+    }
+
+    /** Unseen NUMBER cards showing the given number, in any color */
+    public int getUnseenNumber(int number) {
+        return unseenByNumber[number];
+    }
+
+    public int getUnseenTotal() {
+        return unseenTotal;
+    }
+
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    /**
+     * @return false if the seat cannot be holding the card, as far as the viewer can tell
+     */
+    public boolean mayHold(int seat, int cardId) {
+        if (seat == viewer) {
+            return own[cardId] > 0;
+        }
+        return unseen[cardId] > 0 && (fresh[seat] > 0 || (voids[seat * 2 + (cardId >>> 6)] & 1L << cardId) == 0);
+    }
+
+    /**
+     * Chance that the next card drawn is the given card ID, if the draw pile is as mixed as the unseen pool
+     */
+    public double drawProbability(int cardId) {
+        return unseenTotal == 0 ? 0 : (double) unseen[cardId] / unseenTotal;
+    }
+
+    /**
+     * Chance that the seat holds at least one card of the given set of card IDs.
+     * @param mask0 Bitset of IDs 0-63
+     * @param mask1 Bitset of IDs 64 and up
+     */
+    public double probabilityHolds(int seat, long mask0, long mask1) {
+        if (seat == viewer) {
+            return sum(own, mask0, mask1) > 0 ? 1 : 0;
+        }
+        int size = handSizes[seat];
+        int newer = Math.min(fresh[seat], size);
+        long void0 = voids[seat * 2];
+        long void1 = voids[seat * 2 + 1];
+        // Older cards come from the unseen cards outside the constraint, newer ones from all of them
+        int pool = unseenTotal;
+        int targets = sum(unseen, mask0, mask1);
+        int oldPool = pool - sum(unseen, void0, void1);
+        int oldTargets = sum(unseen, mask0 & ~void0, mask1 & ~void1);
+        return 1 - noneDrawn(oldPool, oldTargets, size - newer) * noneDrawn(pool, targets, newer);
+    }
+
+    public double probabilityHoldsColor(int seat, Card.Color color) {
+        return probabilityHolds(seat, COLOR_MASKS[color.ordinal() * 2], COLOR_MASKS[color.ordinal() * 2 + 1]);
+    }
+
+    /**
+     * Chance that the seat could play on the given top card and color (IDs and ordinals as in Card.canPlay)
+     */
+    public double probabilityCanPlay(int seat, int topId, int colorIndex) {
+        return probabilityHolds(seat, Card.playableMask(topId, colorIndex, 0), Card.playableMask(topId, colorIndex, 1));
+    }
+
+    private static int sum(int[] counts, long mask0, long mask1) {
+        int total = 0;
+        for (long bits = mask0; bits != 0; bits &= bits - 1) {
+            total += counts[Long.numberOfTrailingZeros(bits)];
+        }
+        for (long bits = mask1; bits != 0; bits &= bits - 1) {
+            total += counts[64 + Long.numberOfTrailingZeros(bits)];
+        }
+        return total;
+    }
+
+    /**
+     * Chance that n cards drawn from a pool of 'pool' cards, 'targets' of them wanted, include none of those
+     */
+    private static double noneDrawn(int pool, int targets, int n) {
+        if (n > pool - targets) {
+            return 0;
+        }
+        double chance = 1;
+        for (int i = 0; i < n && chance > 0; i++) {
+            chance *= (double) (pool - targets - i) / (pool - i);
+        }
+        return chance;
+    }
+
+    // --- Events ---
+
+    @Override
+    public void roundStarted(int round, int startingSeat) {
+        rebuild(); // Hands are empty and the deck is full again
+    }
+
+    @Override
+    public void cardDealt(int seat, Card card) {
+        received(seat, card.getId());
+    }
+
+    @Override
+    public void cardTurnedUp(Card card) {
+        discard(card.getId());
+        see(card.getId(), 1);
+    }
+
+    @Override
+    public void drawChosen(int seat) {
+        if (seat == viewer) {
+            return;
+        }
+        int color = state.getActiveColor() == null ? Card.NO_COLOR : state.getActiveColor().ordinal();
+        long void0 = Card.playableMask(topId, color, 0);
+        long void1 = Card.playableMask(topId, color, 1);
+        if (fresh[seat] == 0) {
+            // No new cards since the last constraint, so both hold for the whole hand
+            void0 |= voids[seat * 2];
+            void1 |= voids[seat * 2 + 1];
+        }
+        voids[seat * 2] = void0;
+        voids[seat * 2 + 1] = void1;
+        fresh[seat] = 0;
+    }
+
+    @Override
+    public void cardDrawn(int seat, Card card) {
+        received(seat, card.getId());
+    }
+
+    @Override
+    public void discardReshuffled(int cards) {
+        // Everything below the top card goes back where the viewer cannot see it
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            int back = discards[id] - (id == topId ? 1 : 0);
+            if (back > 0) {
+                see(id, -back);
+            }
+            discards[id] = 0;
+        }
+        discards[topId] = 1;
+    }
+
+    @Override
+    public void cardPlayed(int seat, Card card) {
+        int id = card.getId();
+        handSizes[seat]--;
+        discard(id);
+        if (seat == viewer) {
+            own[id]--;
+            return;
+        }
+        see(id, 1);
+        if ((voids[seat * 2 + (id >>> 6)] & 1L << id) != 0) {
+            if (fresh[seat] > 0) {
+                fresh[seat]--; // Must have been one of the newer cards
+            } else {
+                clearConstraint(seat); // It drew while it could play after all
+            }
+        }
+        fresh[seat] = Math.min(fresh[seat], handSizes[seat]);
+    }
+
+    @Override
+    public void handsSwapped(int seat, int otherSeat) {
+        swap(seat, otherSeat);
+        if (seat == viewer || otherSeat == viewer) {
+            rebuildOwn();
+        }
+    }
+
+    @Override
+    public void handsRotated(boolean clockwise) {
+        // Seat s gets the hand (and what is known about it) of the seat before it
+        int n = handSizes.length;
+        int step = clockwise ? 1 : n - 1;
+        int[] sizes = handSizes.clone();
+        int[] got = fresh.clone();
+        long[] masks = voids.clone();
+        for (int seat = 0; seat < n; seat++) {
+            int from = (seat + n - step) % n;
+            handSizes[seat] = sizes[from];
+            fresh[seat] = got[from];
+            voids[seat * 2] = masks[from * 2];
+            voids[seat * 2 + 1] = masks[from * 2 + 1];
+        }
+        rebuildOwn();
+    }
+
+    // --- Bookkeeping ---
+
+    private void received(int seat, int id) {
+        handSizes[seat]++;
+        if (seat == viewer) {
+            own[id]++;
+            see(id, 1);
+        } else {
+            fresh[seat]++;
+        }
+    }
+
+    private void discard(int id) {
+        discards[id]++;
+        topId = id;
+    }
+
+    /**
+     * Takes 'copies' of a card ID out of the unseen pool (or puts them back if negative)
+     */
+    private void see(int id, int copies) {
+        unseen[id] -= copies;
+        unseenByColor[Card.colorOf(id).ordinal()] -= copies;
+        unseenByType[Card.typeOf(id).ordinal()] -= copies;
+        int number = Card.numberOf(id);
+        if (number >= 0) {
+            unseenByNumber[number] -= copies;
+        }
+        unseenTotal -= copies;
+    }
+
+    private void swap(int seat, int other) {
+        int size = handSizes[seat];
+        handSizes[seat] = handSizes[other];
+        handSizes[other] = size;
+        int got = fresh[seat];
+        fresh[seat] = fresh[other];
+        fresh[other] = got;
+        for (int word = 0; word < 2; word++) {
+            long mask = voids[seat * 2 + word];
+            voids[seat * 2 + word] = voids[other * 2 + word];
+            voids[other * 2 + word] = mask;
+        }
+    }
+
+    private void clearConstraint(int seat) {
+        voids[seat * 2] = 0;
+        voids[seat * 2 + 1] = 0;
+        fresh[seat] = 0;
+    }
+
+    /**
+     * Counts everything again from the game state, the way Observation does
+     */
+    private void rebuild() {
+        Arrays.fill(unseen, 0);
+        Arrays.fill(unseenByColor, 0);
+        Arrays.fill(unseenByType, 0);
+        Arrays.fill(unseenByNumber, 0);
+        Arrays.fill(own, 0);
+        Arrays.fill(discards, 0);
+        Arrays.fill(voids, 0);
+        Arrays.fill(fresh, 0);
+        unseenTotal = 0;
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            see(id, -DECK_COUNTS[id]);
+        }
+        int[] pile = new int[Deck.DECK_SIZE];
+        int pileSize = state.getDeck().copyDiscardPile(pile);
+        topId = Card.NO_CARD;
+        for (int i = 0; i < pileSize; i++) {
+            discard(pile[i]);
+            see(pile[i], 1);
+        }
+        for (int seat = 0; seat < handSizes.length; seat++) {
+            handSizes[seat] = state.getPlayers().get(seat).getHand().size();
+        }
+        for (Card card : state.getPlayers().get(viewer).getHand()) {
+            own[card.getId()]++;
+            see(card.getId(), 1);
+        }
+    }
+
+    /**
+     * The viewer's hand was replaced by another one: forget the old cards, see the new ones
+     */
+    private void rebuildOwn() {
+        clearConstraint(viewer); // The viewer needs none, and its old hand goes on without one
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            if (own[id] > 0) {
+                see(id, -own[id]);
+                own[id] = 0;
+            }
+        }
+        for (Card card : state.getPlayers().get(viewer).getHand()) {
+            own[card.getId()]++;
+            see(card.getId(), 1);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package PLAYERS;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The DecisionCache class remembers what BotPlayers decided, so bots that keep meeting the same
+ * situation in a long simulation look the answer up instead of working it out again.
+ * A situation is keyed on two longs; BotPlayer uses the set of playable cards in hand and whatever
+ * else its strategy looks at (BotPlayer.decisionKey), which repeats far more often than whole hands.
+ *
+ * It has a fixed number of slots and evicts like GAMEPLAY.EndgameMemo: sets of WAYS slots and
+ * a clock hand per set. Writers take one of a few striped locks; readers take none. A slot keeps
+ * its first key word XORed with its second word, so a reader that catches a slot while it is being
+ * rewritten sees words that do not match and counts a miss (lockless hashing, as chess engines do
+ * it). One cache can be shared by bots on all worker threads.
+ * The keys do not say which strategy decided, so a cache belongs to the strategy of the first bot
+ * that uses it (BotPlayer.strategy(): the class, plus the weights of a HeuristicBotPlayer) and
+ * bots of any other strategy are refused. BENCHMARKS.DecisionCacheBenchmark measures the gain.
+ */
+public class DecisionCache {
+    public static final int WAYS = 8;
+    /** Decisions are 0 to MAX_DECISION (a card ID or Card.NO_CARD, a color ordinal) */
+    public static final int MAX_DECISION = 127;
+    /** Bits of the second key word */
+    public static final int KEY_BITS = 56;
+    private static final int LOCKS = 64;
+    private static final int SWEEP = 2 * WAYS; // Readers may set reference bits during a sweep; stop after this many
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Two longs per slot, next to each other so a set is two cache lines:
+    // key0 ^ word, then word = key1 << 8 | decision + 1 (0 for an empty slot)
+    private final long[] entries;
+    private final byte[] referenced; // Clock reference bit per slot; readers set it without a lock
+    private final int[] clocks;      // Clock hand of every set
+    private final Object[] locks = new Object[LOCKS];
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private Object strategy; // null until a bot uses the cache
+
+    /**
+     * @param capacity Number of decisions kept (rounded up to a power of two, at least WAYS)
+     */
+    public DecisionCache(int capacity) {
+        if (capacity < 1 || capacity > 1 << 29) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^29: " + capacity);
+        }
+        int size = WAYS;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = new long[size * 2];
+        this.referenced = new byte[size];
+        this.clocks = new int[size / WAYS];
+        this.setMask = size / WAYS - 1;
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * @return The strategy whose decisions this cache holds, or null if no bot used it yet
+     */
+    public synchronized Object getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Lets a bot of the given strategy use this cache; the first one decides the strategy
+     * @throws IllegalArgumentException If the cache holds the decisions of another strategy
+     */
+    synchronized void bind(Object botStrategy) {
+        if (strategy == null) {
+            strategy = botStrategy;
+        } else if (!strategy.equals(botStrategy)) {
+            throw new IllegalArgumentException("Cache holds decisions of " + strategy + ", not " + botStrategy);
+        }
+    }
+
+    public int getCapacity() {
+        return referenced.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /** Decisions that were not looked up because the strategy could not key them */
+    public long getBypasses() {
+        return bypasses.sum();
+    }
+
+    /**
+     * @return Hits per lookup (0 before the first lookup)
+     */
+    public double getHitRate() {
+        long found = hits.sum();
+        long lookups = found + misses.sum();
+        return lookups == 0 ? 0 : (double) found / lookups;
+    }
+
+    /**
+     * @return The decision stored for the situation, or 'missing' if there is none
+     */
+    public int get(long key0, long key1, int missing) {
+        int first = setOf(key0, key1) * WAYS;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            long word = (long) SLOTS.getOpaque(entries, slot * 2 + 1);
+            if (word != 0 && word >>> 8 == key1
+                    && ((long) SLOTS.getOpaque(entries, slot * 2) ^ word) == key0) {
+                referenced[slot] = 1;
+                hits.increment();
+                return (int) (word & 0xFF) - 1;
+            }
+        }
+        misses.increment();
+        return missing;
+    }
+
+    /**
+     * @param key1 Up to KEY_BITS bits
+     * @param decision 0 to MAX_DECISION
+     */
+    public void put(long key0, long key1, int decision) {
+        if (decision < 0 || decision > MAX_DECISION || key1 >>> KEY_BITS != 0) {
+            throw new IllegalArgumentException("Cannot cache decision " + decision + " for key " + key1);
+        }
+        long word = key1 << 8 | decision + 1;
+        int set = setOf(key0, key1);
+        int first = set * WAYS;
+        synchronized (locks[set & (LOCKS - 1)]) {
+            int free = -1;
+            for (int slot = first; slot < first + WAYS; slot++) {
+                long old = entries[slot * 2 + 1];
+                if (old == 0) {
+                    free = free < 0 ? slot : free;
+                } else if (old >>> 8 == key1 && (entries[slot * 2] ^ old) == key0) {
+                    free = slot;
+                    break;
+                }
+            }
+            if (free < 0) {
+                // Sweep the clock hand: clear reference bits until a slot without one comes up
+                int clock = clocks[set];
+                for (int i = 0; i < SWEEP && referenced[first + clock] != 0; i++) {
+                    referenced[first + clock] = 0;
+                    clock = (clock + 1) & (WAYS - 1);
+                }
+                free = first + clock;
+                clocks[set] = (clock + 1) & (WAYS - 1);
+                evictions.increment();
+            }
+            SLOTS.setOpaque(entries, free * 2, key0 ^ word);
+            SLOTS.setOpaque(entries, free * 2 + 1, word);
+            referenced[free] = 1;
+        }
+    }
+
+    /**
+     * Counts a decision that was made without the cache (see getBypasses)
+     */
+    void bypass() {
+        bypasses.increment();
+    }
+
+    public void clear() {
+        for (int lock = 0; lock < LOCKS; lock++) {
+            synchronized (locks[lock]) {
+                for (int set = lock; set <= setMask; set += LOCKS) {
+                    Arrays.fill(entries, set * WAYS * 2, set * WAYS * 2 + WAYS * 2, 0);
+                    Arrays.fill(referenced, set * WAYS, set * WAYS + WAYS, (byte) 0);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DecisionCache[%d slots, %d hits, %d misses (%.1f%%), %d evictions, %d bypasses]",
+                getCapacity(), getHits(), getMisses(), 100 * getHitRate(), getEvictions(), getBypasses());
+    }
+
+    private int setOf(long key0, long key1) {
+        // Key words share their low bits (the lowest IDs), so mix everything before picking a set
+        long h = key0 * 0x9E3779B97F4A7C15L ^ key1 * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ h >>> 29 ^ h >>> 47) & setMask;
+    }
+}
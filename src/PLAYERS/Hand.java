@@ -0,0 +1,261 @@
+package PLAYERS;
+
+import CARDS.Card;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The Hand class holds a player's cards as card IDs and keeps per-ID, per-color,
+ * per-type and per-number counts, a bitset of the IDs present and the point total
+ * up to date on every change.
+ * Adding, removing and the playable-card queries all run in constant time.
+ * To everyone but the owning Player it is a read-only List of cards.
+ */
+public class Hand extends AbstractList<Card> implements RandomAccess {
+    private static final int NONE = -1;
+
+    // Preference order of bestPlayable(): action cards, then numbers from 9 down to 0, then wild cards
+    private static final long[][] PREFERENCE_GROUPS = buildPreferenceGroups();
+
+    private int[] slots = new int[16];    // Card IDs in hand order
+    private int[] nextSame = new int[16]; // Next slot holding the same ID, or NONE
+    private int[] prevSame = new int[16]; // Previous slot holding the same ID, or NONE
+    private int size;
+
+    private final int[] firstSlot = new int[Card.ID_COUNT]; // First slot per ID, or NONE
+    private final int[] idCounts = new int[Card.ID_COUNT];
+    private final int[] colorCounts = new int[Card.Color.values().length];
+    private final int[] typeCounts = new int[Card.Type.values().length];
+    private final int[] numberCounts = new int[10];
+    private long present0; // Bit 'id' set if the hand holds card 'id' (IDs 0-63)
+    private long present1; // Same for IDs 64 and up
+    private int points;    // Sum of the points of all cards held
+
+    Hand() {
+        Arrays.fill(firstSlot, NONE);
+    }
+
+    // --- Read-only List view ---
+    @Override
+    public Card get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for hand of " + size);
+        }
+        return Card.byId(slots[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Card && idCounts[((Card) o).getId()] > 0;
+    }
+
+    // --- Counts ---
+    /**
+     * @return The points the cards in this hand are worth to the round winner
+     */
+    public int getPoints() {
+        return points;
+    }
+
+    public int count(Card card) {
+        return idCounts[card.getId()];
+    }
+
+    public int countById(int cardId) {
+        return idCounts[cardId];
+    }
+
+    public int countColor(Card.Color color) {
+        return colorCounts[color.ordinal()];
+    }
+
+    public int countType(Card.Type type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    /**
+     * Counts the NUMBER cards with the given face value (0-9), whatever their color
+     */
+    public int countNumber(int number) {
+        return numberCounts[number];
+    }
+
+    // --- Playable-card queries ---
+
+    /**
+     * Checks if any card in hand can be played on the top card
+     */
+    public boolean hasPlayable(Card topCard, Card.Color activeColor) {
+        int top = topId(topCard);
+        int color = colorIndex(activeColor);
+        return (present0 & Card.playableMask(top, color, 0)) != 0
+                || (present1 & Card.playableMask(top, color, 1)) != 0;
+    }
+
+    /**
+     * One word of the set of card IDs in hand that can be played on the top card (see Card.playableMask)
+     * @param word 0 for IDs 0-63, 1 for IDs 64 and up
+     */
+    public long playableIds(int topId, int colorIndex, int word) {
+        return (word == 0 ? present0 : present1) & Card.playableMask(topId, colorIndex, word);
+    }
+
+    /**
+     * Gets the best card to play on the top card: the highest scoring color, type or number match
+     * (action cards first, then the highest number), and a wild card only if nothing else matches.
+     * Getting rid of high-scoring cards first keeps the points left in hand low.
+     * @return The card to play, or null if nothing in hand can be played
+     */
+    public Card bestPlayable(Card topCard, Card.Color activeColor) {
+        int top = topId(topCard);
+        int color = colorIndex(activeColor);
+        int best = bestPlayableId(present0 & Card.playableMask(top, color, 0),
+                present1 & Card.playableMask(top, color, 1));
+        return best == Card.NO_CARD ? null : Card.byId(best);
+    }
+
+    /**
+     * The choice of bestPlayable() among a set of playable card IDs, for code that keeps hands as bitsets
+     * @param playable0 Bit 'id' set for every playable ID 0-63
+     * @param playable1 Same for IDs 64 and up
+     * @return The card ID to play, or Card.NO_CARD if both sets are empty
+     */
+    public static int bestPlayableId(long playable0, long playable1) {
+        if ((playable0 | playable1) == 0) {
+            return Card.NO_CARD;
+        }
+        for (long[] group : PREFERENCE_GROUPS) {
+            long match0 = playable0 & group[0];
+            if (match0 != 0) {
+                return Long.numberOfTrailingZeros(match0);
+            }
+            long match1 = playable1 & group[1];
+            if (match1 != 0) {
+                return 64 + Long.numberOfTrailingZeros(match1);
+            }
+        }
+        return Card.NO_CARD;
+    }
+
+    private static int topId(Card topCard) {
+        return topCard == null ? Card.NO_CARD : topCard.getId();
+    }
+
+    private static int colorIndex(Card.Color color) {
+        return color == null ? Card.NO_COLOR : color.ordinal();
+    }
+
+    private static long[][] buildPreferenceGroups() {
+        long[][] groups = new long[12][2];
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            Card.Type type = Card.typeOf(id);
+            int group;
+            if (type == Card.Type.WILD || type == Card.Type.WILD_DRAW_FOUR) {
+                group = 11;
+            } else if (type == Card.Type.NUMBER) {
+                group = 10 - Card.numberOf(id); // 9 -> group 1, 0 -> group 10
+            } else {
+                group = 0;
+            }
+            groups[group][id >>> 6] |= 1L << id;
+        }
+        return groups;
+    }
+
+    // --- Changes (only through the owning Player) ---
+
+    void addCard(Card card) {
+        int id = card.getId();
+        if (size == slots.length) {
+            int capacity = size * 2;
+            slots = Arrays.copyOf(slots, capacity);
+            nextSame = Arrays.copyOf(nextSame, capacity);
+            prevSame = Arrays.copyOf(prevSame, capacity);
+        }
+        int slot = size++;
+        slots[slot] = id;
+        // Link the new slot in as the first one holding this ID
+        prevSame[slot] = NONE;
+        nextSame[slot] = firstSlot[id];
+        if (firstSlot[id] != NONE) {
+            prevSame[firstSlot[id]] = slot;
+        }
+        firstSlot[id] = slot;
+        updateCounts(id, 1);
+        modCount++;
+    }
+
+    boolean removeCard(Card card) {
+        int id = card.getId();
+        int slot = firstSlot[id];
+        if (slot == NONE) {
+            return false;
+        }
+        // Unlink the slot (it is the first one for its ID)
+        firstSlot[id] = nextSame[slot];
+        if (firstSlot[id] != NONE) {
+            prevSame[firstSlot[id]] = NONE;
+        }
+
+        // Move the last card into the freed slot so the cards stay packed
+        int last = --size;
+        if (slot != last) {
+            int movedId = slots[last];
+            int prev = prevSame[last];
+            int next = nextSame[last];
+            slots[slot] = movedId;
+            prevSame[slot] = prev;
+            nextSame[slot] = next;
+            if (prev != NONE) {
+                nextSame[prev] = slot;
+            } else {
+                firstSlot[movedId] = slot;
+            }
+            if (next != NONE) {
+                prevSame[next] = slot;
+            }
+        }
+        updateCounts(id, -1);
+        modCount++;
+        return true;
+    }
+
+    void removeAllCards() {
+        size = 0;
+        Arrays.fill(firstSlot, NONE);
+        Arrays.fill(idCounts, 0);
+        Arrays.fill(colorCounts, 0);
+        Arrays.fill(typeCounts, 0);
+        Arrays.fill(numberCounts, 0);
+        present0 = 0;
+        present1 = 0;
+        points = 0;
+        modCount++;
+    }
+
+    private void updateCounts(int id, int delta) {
+        int count = idCounts[id] += delta;
+        points += Card.pointsOf(id) * delta;
+        colorCounts[Card.colorOf(id).ordinal()] += delta;
+        Card.Type type = Card.typeOf(id);
+        typeCounts[type.ordinal()] += delta;
+        if (type == Card.Type.NUMBER) {
+            numberCounts[Card.numberOf(id)] += delta;
+        }
+        if (count == 0 || count == 1 && delta > 0) {
+            // The ID just appeared or disappeared
+            if (id < 64) {
+                present0 ^= 1L << id;
+            } else {
+                present1 ^= 1L << id;
+            }
+        }
+    }
+}
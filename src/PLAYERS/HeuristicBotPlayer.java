@@ -0,0 +1,169 @@
+package PLAYERS;
+
+import CARDS.Card;
+import GAMEPLAY.GameState;
+
+import java.util.List;
+
+/**
+ * The HeuristicBotPlayer class is a BotPlayer that scores every playable card with a set of
+ * HeuristicWeights and plays the best one, instead of following fixed priorities.
+ * The weights can be tuned by self-play (TUNING.WeightOptimizer).
+ * Colors and UNO calls are decided like a plain BotPlayer.
+ */
+public class HeuristicBotPlayer extends BotPlayer {
+    private static final Card.Color[] SUITS = { Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW };
+    // Card ID sets for decisionKey: the IDs of every suit (all below 64), then the wild cards and
+    // the Skip, Draw Two and Wild Draw Four cards as two words each (IDs 0-63, 64 and up)
+    private static final long[] SUIT_IDS = new long[SUITS.length];
+    private static final long[] WILD_IDS = new long[2];
+    private static final long[] THREAT_IDS = new long[2];
+
+    static {
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            Card.Type type = Card.typeOf(id);
+            if (id < 64) {
+                for (int i = 0; i < SUITS.length; i++) {
+                    if (Card.colorOf(id) == SUITS[i]) {
+                        SUIT_IDS[i] |= 1L << id;
+                    }
+                }
+            }
+            if (type == Card.Type.WILD || type == Card.Type.WILD_DRAW_FOUR) {
+                WILD_IDS[id >>> 6] |= 1L << id;
+            }
+            if (type == Card.Type.SKIP || type == Card.Type.DRAW_TWO || type == Card.Type.WILD_DRAW_FOUR) {
+                THREAT_IDS[id >>> 6] |= 1L << id;
+            }
+        }
+    }
+
+    private final HeuristicWeights weights;
+    private final double action;
+    private final double points;
+    private final double color;
+    private final double wild;
+    private final double leader;
+
+    public HeuristicBotPlayer(String name, HeuristicWeights weights) {
+        super(name);
+        this.weights = weights;
+        this.action = weights.get(HeuristicWeights.ACTION);
+        this.points = weights.get(HeuristicWeights.POINTS);
+        this.color = weights.get(HeuristicWeights.COLOR);
+        this.wild = weights.get(HeuristicWeights.WILD);
+        this.leader = weights.get(HeuristicWeights.LEADER);
+    }
+
+    @Override
+    protected Card decideCard(GameState state) {
+        Hand hand = getHand();
+        Card topCard = state.getTopDiscard();
+        Card.Color activeColor = state.getActiveColor();
+        int leaderSize = leaderHandSize(state);
+        double threat = leaderSize < 0 ? 0 : 1.0 / Math.max(1, leaderSize);
+
+        Card best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i);
+            if (card.canPlayOn(topCard, activeColor)) {
+                double score = score(hand, card, threat);
+                // Ties go to the lower card ID, so the choice does not depend on the order of the hand
+                if (score > bestScore || score == bestScore && card.getId() < best.getId()) {
+                    best = card;
+                    bestScore = score;
+                }
+            }
+        }
+        return best; // null: nothing playable, draw
+    }
+
+    private double score(Hand hand, Card card, double threat) {
+        Card.Type type = card.getType();
+        boolean isWild = type == Card.Type.WILD || type == Card.Type.WILD_DRAW_FOUR;
+        double score = points * card.getPoints() / 50.0;
+        if (type == Card.Type.SKIP || type == Card.Type.REVERSE || type == Card.Type.DRAW_TWO) {
+            score += action;
+        }
+        if (isWild) {
+            score += wild;
+        }
+        if (hand.size() > 1) {
+            // A wild leaves our best color active (see chooseColor), anything else its own color
+            int kept = isWild ? hand.countColor(chooseColor()) : hand.countColor(card.getColor()) - 1;
+            score += color * kept / (hand.size() - 1);
+        }
+        if (type == Card.Type.SKIP || type == Card.Type.DRAW_TWO || type == Card.Type.WILD_DRAW_FOUR) {
+            score += leader * threat;
+        }
+        return score;
+    }
+
+    /**
+     * Bots with the same weights decide alike
+     */
+    @Override
+    protected Object strategy() {
+        return List.of(getClass(), weights);
+    }
+
+    /**
+     * Besides the playable cards, the choice can only turn on the color terms if cards of two colors
+     * (counting wilds as one) are playable: then the hand size and the count of those colors go into
+     * the key, 5 bits each. Likewise the leader threat only counts if both threat cards (Skip, Draw Two,
+     * Wild Draw Four) and others are playable. Hands of more than 31 cards are not cached.
+     */
+    @Override
+    protected long decisionKey(GameState state, long playable0, long playable1) {
+        Hand hand = getHand();
+        if (hand.size() > 31) {
+            return -1;
+        }
+        long key = 0;
+        if (color != 0) {
+            boolean wilds = (playable0 & WILD_IDS[0]) != 0 || (playable1 & WILD_IDS[1]) != 0;
+            int groups = wilds ? 1 : 0;
+            for (long suit : SUIT_IDS) {
+                groups += (playable0 & suit) != 0 ? 1 : 0;
+            }
+            if (groups > 1) {
+                key = hand.size();
+                for (int i = 0; i < SUITS.length; i++) {
+                    if ((playable0 & SUIT_IDS[i]) != 0) {
+                        key |= (long) hand.countColor(SUITS[i]) << (5 + 5 * i);
+                    }
+                }
+                if (wilds) {
+                    key |= (long) hand.countColor(chooseColor()) << 25;
+                }
+            }
+        }
+        if (leader != 0) {
+            long threats0 = playable0 & THREAT_IDS[0];
+            long threats1 = playable1 & THREAT_IDS[1];
+            if ((threats0 | threats1) != 0 && (threats0 != playable0 || threats1 != playable1)) {
+                key |= (long) (leaderHandSize(state) + 1) << 30;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * The hand size of the next player if no other opponent holds fewer cards, otherwise -1.
+     * The leader threat is 1 / that size, or 0.
+     */
+    private int leaderHandSize(GameState state) {
+        List<Player> players = state.getPlayers();
+        Player next = players.get(state.playerIndexAfter(1));
+        if (next == this) {
+            return -1;
+        }
+        for (Player other : players) {
+            if (other != this && other.getHand().size() < next.getHand().size()) {
+                return -1;
+            }
+        }
+        return next.getHand().size();
+    }
+}
@@ -0,0 +1,62 @@
+package PLAYERS;
+
+import java.util.Arrays;
+
+/**
+ * The HeuristicWeights class holds the weights a HeuristicBotPlayer scores its playable cards with.
+ * It is immutable; the tuner (TUNING.WeightOptimizer) works on the plain array form.
+ */
+public final class HeuristicWeights {
+    // Indexes into the weight array
+    public static final int ACTION = 0; // Playing a Skip, Reverse or Draw Two
+    public static final int POINTS = 1; // Getting rid of high-scoring cards (points / 50)
+    public static final int COLOR = 2;  // Share of the hand left in the color the card leaves active
+    public static final int WILD = 3;   // Playing a wild card (negative: hold wilds for later)
+    public static final int LEADER = 4; // Hitting the next player with a Skip or Draw card when they lead
+    public static final int COUNT = 5;
+
+    private static final String[] NAMES = { "action", "points", "color", "wild", "leader" };
+
+    /** Close to BotPlayer's fixed priorities: action cards first, then high numbers, wilds last */
+    public static final HeuristicWeights DEFAULT = new HeuristicWeights(1, 0.5, 0, -2, 0);
+
+    private final double[] weights;
+
+    public HeuristicWeights(double... weights) {
+        if (weights.length != COUNT) {
+            throw new IllegalArgumentException("Expected " + COUNT + " weights, got " + weights.length);
+        }
+        this.weights = weights.clone();
+    }
+
+    public double get(int index) {
+        return weights[index];
+    }
+
+    public double[] toArray() {
+        return weights.clone();
+    }
+
+    public static String getName(int index) {
+        return NAMES[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HeuristicWeights && Arrays.equals(weights, ((HeuristicWeights) o).weights);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(weights);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        for (int i = 0; i < COUNT; i++) {
+            text.append(i == 0 ? "" : ", ").append(NAMES[i]).append(String.format("=%.3f", weights[i]));
+        }
+        return text.append('}').toString();
+    }
+}
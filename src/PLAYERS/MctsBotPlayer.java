@@ -0,0 +1,390 @@
+package PLAYERS;
+
+import CARDS.Card;
+import GAMEPLAY.EndgameSolver;
+import GAMEPLAY.GameState;
+import GAMEPLAY.Observation;
+import GAMEPLAY.SimState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * The MctsBotPlayer class is a strong bot that chooses its cards with
+ * information-set Monte Carlo tree search (single-observer ISMCTS):
+ * every iteration deals the cards it cannot see at random (a determinization),
+ * walks down a shared tree of moves with UCB, adds one new move and plays the round out randomly.
+ *
+ * Each worker keeps its own tree, state and random source, so the workers run in parallel
+ * without locks and their root statistics are summed at the end (root parallelization).
+ * Between moves each worker keeps the subtree below the moves that were actually played.
+ * Wild colors and everything else are decided like a plain BotPlayer.
+ * With an EndgameSolver set, small-hand positions are solved instead of searched.
+ */
+public class MctsBotPlayer extends BotPlayer {
+    public static final double EXPLORATION = 0.7;    // UCB exploration constant
+    private static final int MAX_ROLLOUT_TURNS = 1000;
+    private static final int MAX_NODES_PER_WORKER = 250_000; // After this the tree stops growing
+
+    private final long nanosPerMove;
+    private final int rolloutsPerMove;
+    private final ExecutorService pool;
+    private final Worker[] workers;
+    private EndgameSolver endgameSolver;
+    private int endgameHandSize;
+    private long endgameNanos;
+
+    /**
+     * A single-threaded search on the calling thread.
+     * @param millisPerMove Time budget per decision (0 for none)
+     * @param rolloutsPerMove Rollout budget per decision (0 for none)
+     */
+    public MctsBotPlayer(String name, long millisPerMove, int rolloutsPerMove) {
+        this(name, millisPerMove, rolloutsPerMove, 1, null, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * @param millisPerMove Time budget per decision (0 for none)
+     * @param rolloutsPerMove Rollout budget per decision, shared by all workers (0 for none)
+     * @param threads Number of search workers
+     * @param pool Runs the workers; may be null if threads is 1
+     * @param seed Seed of the workers' random sources
+     */
+    public MctsBotPlayer(String name, long millisPerMove, int rolloutsPerMove, int threads,
+                         ExecutorService pool, long seed) {
+        super(name);
+        if (millisPerMove <= 0 && rolloutsPerMove <= 0) {
+            throw new IllegalArgumentException("MCTS needs a time or a rollout budget");
+        }
+        if (threads > 1 && pool == null) {
+            throw new IllegalArgumentException("A worker pool is needed for " + threads + " threads");
+        }
+        this.nanosPerMove = millisPerMove * 1_000_000L;
+        this.rolloutsPerMove = rolloutsPerMove;
+        this.pool = pool;
+        this.workers = new Worker[threads];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(random.split());
+        }
+    }
+
+    /**
+     * Total number of rollouts played by all workers so far
+     */
+    public long getRolloutCount() {
+        long rollouts = 0;
+        for (Worker worker : workers) {
+            rollouts += worker.rollouts;
+        }
+        return rollouts;
+    }
+
+    /**
+     * Lets the endgame solver pick the card once every hand has at most maxHandSize cards.
+     * The solver gets its own time cap and runs on the calling thread; if it finishes nothing, MCTS decides.
+     * @param solver The solver, or null to always search
+     */
+    public void setEndgameSolver(EndgameSolver solver, int maxHandSize, long millisPerMove) {
+        this.endgameSolver = solver;
+        this.endgameHandSize = maxHandSize;
+        this.endgameNanos = millisPerMove * 1_000_000L;
+    }
+
+    @Override
+    public Card chooseCardToPlay(GameState state, Player player) {
+        Hand hand = getHand();
+        Card topCard = state.getTopDiscard();
+        if (!hand.hasPlayable(topCard, state.getActiveColor())) {
+            return null; // Nothing to think about
+        }
+        int seat = state.getPlayers().indexOf(this);
+        if (endgameSolver != null && EndgameSolver.isEndgame(state, endgameHandSize)) {
+            int move = endgameSolver.chooseMove(state, seat, endgameNanos);
+            if (move != EndgameSolver.NO_MOVE) {
+                return move == SimState.DRAW ? null : Card.byId(move);
+            }
+        }
+        Observation observation = new Observation(state, seat);
+        long deadline = nanosPerMove > 0 ? System.nanoTime() + nanosPerMove : Long.MAX_VALUE;
+        int rolloutsPerWorker = rolloutsPerMove > 0
+                ? Math.max(1, rolloutsPerMove / workers.length) : Integer.MAX_VALUE;
+
+        boolean[] legal = legalMoves(hand, topCard, state.getActiveColor());
+        for (Worker worker : workers) {
+            worker.moveRoot(state, seat, legal);
+        }
+        if (workers.length == 1) {
+            workers[0].search(observation, deadline, rolloutsPerWorker);
+        } else {
+            searchInParallel(observation, deadline, rolloutsPerWorker);
+        }
+
+        // Most visited move over all workers' roots
+        int[] visits = new int[Card.ID_COUNT + 1];
+        for (Worker worker : workers) {
+            Node root = worker.root;
+            for (int i = 0; i < root.childCount; i++) {
+                visits[root.children[i].move] += root.children[i].visits;
+            }
+        }
+        int best = -1;
+        for (int move = 0; move < visits.length; move++) {
+            if (visits[move] > 0 && (best < 0 || visits[move] > visits[best])) {
+                best = move;
+            }
+        }
+        if (best < 0) {
+            return super.chooseCardToPlay(state, player); // Budget too small to search
+        }
+        return best == SimState.DRAW ? null : Card.byId(best);
+    }
+
+    /**
+     * The moves SimState allows the bot in the real position: the playable cards it holds, or DRAW if there are none
+     */
+    private static boolean[] legalMoves(Hand hand, Card topCard, Card.Color activeColor) {
+        int top = topCard == null ? Card.NO_CARD : topCard.getId();
+        int color = activeColor == null ? Card.NO_COLOR : activeColor.ordinal();
+        boolean[] legal = new boolean[Card.ID_COUNT + 1];
+        boolean any = false;
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            legal[id] = hand.countById(id) > 0 && Card.canPlay(id, top, color);
+            any |= legal[id];
+        }
+        legal[SimState.DRAW] = !any;
+        return legal;
+    }
+
+    /**
+     * Runs all workers on the pool and waits until every one of them is done with its tree.
+     * If the calling thread is interrupted, the workers are told to stop early, and it still waits for them
+     * (they stop within 16 iterations), so nobody touches a tree while a worker is changing it.
+     */
+    private void searchInParallel(Observation observation, long deadline, int rolloutsPerWorker) {
+        List<Future<?>> futures = new ArrayList<>(workers.length);
+        for (Worker worker : workers) {
+            worker.stopped = false;
+            futures.add(pool.submit(() -> worker.search(observation, deadline, rolloutsPerWorker)));
+        }
+        boolean interrupted = false;
+        try {
+            for (Future<?> future : futures) {
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                        for (Worker worker : workers) {
+                            worker.stopped = true;
+                        }
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("MCTS worker failed", e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * A move in the search tree, with the statistics of the player who made it
+     */
+    static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        Node parent;
+        final int move;   // Card ID or SimState.DRAW; -1 for the root
+        final int player; // Seat that made the move; -1 for the root
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        int visits;
+        int descendants;  // Nodes below this one, kept up to date by backpropagation
+        int availability; // Iterations in which this move was legal
+        double wins;
+
+        Node(Node parent, int move, int player) {
+            this.parent = parent;
+            this.move = move;
+            this.player = player;
+        }
+
+        Node find(int move, int player) {
+            for (int i = 0; i < childCount; i++) {
+                Node child = children[i];
+                if (child.move == move && child.player == player) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Drops the children that are not the given player's legal moves, with everything below them
+         */
+        void retain(int player, boolean[] legal) {
+            int dropped = 0;
+            int kept = 0;
+            for (int i = 0; i < childCount; i++) {
+                Node child = children[i];
+                if (child.player == player && legal[child.move]) {
+                    children[kept++] = child;
+                } else {
+                    dropped += 1 + child.descendants;
+                }
+            }
+            Arrays.fill(children, kept, childCount, null);
+            childCount = kept;
+            descendants -= dropped;
+        }
+
+        Node add(int move, int player) {
+            if (childCount == children.length) {
+                Node[] grown = new Node[Math.max(4, childCount * 2)];
+                System.arraycopy(children, 0, grown, 0, childCount);
+                children = grown;
+            }
+            Node child = new Node(this, move, player);
+            children[childCount++] = child;
+            return child;
+        }
+    }
+
+    /**
+     * One search thread's private tree, simulation state and random source
+     */
+    private static final class Worker {
+        private final SplittableRandom random;
+        private SimState sim;
+        private final int[] moves = new int[Card.ID_COUNT + 1];
+        private final int[] untried = new int[Card.ID_COUNT + 1];
+        private Node root = new Node(null, -1, -1); // root.descendants is the size of the tree
+        private long rollouts;
+        private volatile boolean stopped;
+        // Which moves of which round the root already reflects
+        private int rootRound = -1;
+        private int rootMoves;
+        private long rootMovesHash;
+
+        Worker(SplittableRandom random) {
+            this.random = random;
+        }
+
+        /**
+         * Moves the root down past the moves played since the last search,
+         * or starts a fresh tree if they are not in it.
+         * The kept subtree grew in determinized worlds, where the bot may have drawn other cards than it did,
+         * so the root's children that are not legal for it now are dropped.
+         */
+        void moveRoot(GameState state, int seat, boolean[] legal) {
+            boolean reusable = state.getRoundNumber() == rootRound
+                    && state.getMoveCount() >= rootMoves
+                    && movesHash(state, rootMoves) == rootMovesHash;
+            Node node = root;
+            for (int i = rootMoves; reusable && i < state.getMoveCount(); i++) {
+                node = node.find(state.getMove(i), state.getMoveSeat(i));
+                reusable = node != null;
+            }
+            if (reusable) {
+                root = node; // The siblings left behind are garbage now
+                root.parent = null;
+                root.retain(seat, legal);
+            } else {
+                root = new Node(null, -1, -1);
+            }
+            rootRound = state.getRoundNumber();
+            rootMoves = state.getMoveCount();
+            rootMovesHash = movesHash(state, rootMoves);
+        }
+
+        private static long movesHash(GameState state, int count) {
+            long hash = 17;
+            for (int i = 0; i < count; i++) {
+                hash = hash * 31 + state.getMove(i) * 16L + state.getMoveSeat(i);
+            }
+            return hash;
+        }
+
+        void search(Observation observation, long deadline, int maxRollouts) {
+            if (sim == null || sim.getPlayerCount() != observation.getPlayerCount()) {
+                sim = new SimState(observation.getPlayerCount(), random);
+            }
+            for (int i = 0; i < maxRollouts; i++) {
+                if ((i & 15) == 0 && (stopped || System.nanoTime() > deadline)) {
+                    break;
+                }
+                iterate(observation);
+            }
+        }
+
+        private void iterate(Observation observation) {
+            sim.determinize(observation, random);
+            Node node = root;
+            boolean expanded = false;
+
+            // Selection and expansion
+            while (sim.getWinner() == SimState.NO_WINNER) {
+                int player = sim.getCurrentPlayer();
+                int moveCount = sim.legalMoves(moves);
+                int untriedCount = 0;
+                for (int i = 0; i < moveCount; i++) {
+                    Node child = node.find(moves[i], player);
+                    if (child == null) {
+                        untried[untriedCount++] = moves[i];
+                    } else {
+                        child.availability++;
+                    }
+                }
+                if (untriedCount > 0) {
+                    if (root.descendants < MAX_NODES_PER_WORKER) {
+                        int move = untried[random.nextInt(untriedCount)];
+                        node = node.add(move, player);
+                        node.availability = 1;
+                        expanded = true;
+                        sim.apply(move);
+                    }
+                    break;
+                }
+                Node best = null;
+                double bestScore = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < moveCount; i++) {
+                    Node child = node.find(moves[i], player);
+                    double score = child.wins / child.visits
+                            + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = child;
+                    }
+                }
+                node = best;
+                sim.apply(best.move);
+            }
+
+            // Simulation
+            int winner = sim.playOut(MAX_ROLLOUT_TURNS);
+            rollouts++;
+
+            // Backpropagation: every move scores for the player who made it,
+            // and every node above a new one has one more descendant
+            Node leaf = node;
+            for (; node != null; node = node.parent) {
+                node.visits++;
+                if (expanded && node != leaf) {
+                    node.descendants++;
+                }
+                if (winner != SimState.NO_WINNER && node.player == winner) {
+                    node.wins++;
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package PLAYERS;
 
-import java.util.ArrayList;
-import java.util.List;
 import CARDS.Card; // Make sure this import is there
 
 /**
@@ -10,7 +8,7 @@ import CARDS.Card; // Make sure this import is there
  */
 public class Player {
     private String name;
-    private List<Card> hand;
+    private final Hand hand;
     private int roundPoints; // Points accumulated in the current round
     private int gamePoints;  // Total points accumulated across all rounds
     private int penaltyPoints; // Points from penalties (e.g., forgetting UNO)
@@ -24,7 +22,7 @@ public class Player {
     // Constructor 2: For both human and bot players (this is the one you need!)
     public Player(String name, boolean isBot) {
         this.name = name;
-        this.hand = new ArrayList<>();
+        this.hand = new Hand();
         this.roundPoints = 0;
         this.gamePoints = 0;
         this.penaltyPoints = 0;
@@ -36,7 +34,10 @@ public class Player {
         return name;
     }
 
-    public List<Card> getHand() {
+    /**
+     * @return The player's cards as a read-only, indexed view (see Hand for the count and playable-card queries)
+     */
+    public Hand getHand() {
         return hand;
     }
 
@@ -58,11 +59,15 @@ public class Player {
 
     // --- Game Actions ---
     public void drawCard(Card card) {
-        hand.add(card);
+        hand.addCard(card);
     }
 
     public void playCard(Card card) {
-        hand.remove(card);
+        hand.removeCard(card);
+    }
+
+    public void clearHand() {
+        hand.removeAllCards();
     }
 
     public boolean hasUNO() {
@@ -77,6 +82,15 @@ public class Player {
         this.penaltyPoints += points;
     }
 
+    /**
+     * Sets all three scores at once, e.g. to resume a game from a checkpoint.
+     */
+    public void restorePoints(int roundPoints, int gamePoints, int penaltyPoints) {
+        this.roundPoints = roundPoints;
+        this.gamePoints = gamePoints;
+        this.penaltyPoints = penaltyPoints;
+    }
+
     /**
      * Ends the current round for the player.
      * Adds round points and penalty points to total game points and resets round points.
@@ -95,7 +109,7 @@ public class Player {
         this.gamePoints = 0;
         this.roundPoints = 0;
         this.penaltyPoints = 0;
-        this.hand.clear(); // Clear hand for a new game
+        this.hand.removeAllCards(); // Clear hand for a new game
     }
 
     /**
@@ -0,0 +1,43 @@
+package REPLAY;
+
+/**
+ * The GameLog class describes the binary game log format shared by GameLogWriter and GameLogReader.
+ *
+ * A log starts with the 4 magic bytes "UNOL" and a version byte, followed by events.
+ * Every event is one tag byte (event type in the high 4 bits, seat in the low 4 bits)
+ * and at most one varint (card ID, color, count or points, depending on the type).
+ * Card IDs are below 128, so a deal, draw or play takes two bytes.
+ */
+public final class GameLog {
+    public static final byte[] MAGIC = { 'U', 'N', 'O', 'L' };
+    public static final int VERSION = 3; // 2 added GAME_END, 3 added SWAP and ROTATE
+
+    // Event types                        value:
+    public static final int GAME_START = 1;  // number of players
+    public static final int ROUND_START = 2; // round number (seat: starting seat)
+    public static final int DEAL = 3;        // card ID
+    public static final int TURN_UP = 4;     // card ID (no seat)
+    public static final int TURN = 5;        // none
+    public static final int DRAW = 6;        // card ID
+    public static final int PLAY = 7;        // card ID
+    public static final int COLOR = 8;       // Card.Color ordinal
+    public static final int UNO = 9;         // none
+    public static final int PENALTY = 10;    // cards to draw
+    public static final int ROUND_END = 11;  // points (seat: winner, NO_SEAT if none)
+    public static final int GAME_END = 12;   // none (seat: winner)
+    public static final int SWAP = 13;       // the other seat
+    public static final int ROTATE = 14;     // 1 clockwise, 0 counter-clockwise (no seat)
+
+    public static final int NO_SEAT = 15;
+    public static final int MAX_SEATS = 15;
+
+    private GameLog() {
+    }
+
+    /**
+     * Whether events of this type carry a value
+     */
+    static boolean hasValue(int type) {
+        return type != TURN && type != UNO && type != GAME_END;
+    }
+}
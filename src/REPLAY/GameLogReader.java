@@ -0,0 +1,156 @@
+package REPLAY;
+
+import CARDS.Card;
+import GAMEPLAY.GameListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameLogReader class walks through a binary game log one event at a time.
+ * The file is memory-mapped in large windows, so scanning logs of millions of games
+ * costs no read() calls and no allocation per event.
+ *
+ * Usage: while (reader.next()) { ... reader.getType(), reader.getSeat(), reader.getValue() ... }
+ * or reader.dispatch(listener) to hand the current event to a GameListener.
+ */
+public class GameLogReader implements Closeable {
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+    private static final int MAX_EVENT_SIZE = 6;
+    private static final Card.Color[] COLORS = Card.Color.values();
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private int type;
+    private int seat;
+    private int value;
+    private int turn; // Turns seen in the current round, counted while reading
+
+    public GameLogReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        map(0);
+        for (byte expected : GameLog.MAGIC) {
+            if (!window.hasRemaining() || window.get() != expected) {
+                throw new IOException(file + " is not a game log");
+            }
+        }
+        int version = window.hasRemaining() ? window.get() : -1;
+        if (version < 1 || version > GameLog.VERSION) {
+            throw new IOException(file + " has unsupported game log version " + version);
+        }
+    }
+
+    /**
+     * Reads all events of a log into a listener.
+     */
+    public static void replay(Path file, GameListener listener) throws IOException {
+        try (GameLogReader reader = new GameLogReader(file)) {
+            while (reader.next()) {
+                reader.dispatch(listener);
+            }
+        }
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, fileSize - start));
+    }
+
+    /**
+     * Moves to the next event.
+     * @return false at the end of the log
+     */
+    public boolean next() throws IOException {
+        if (window.remaining() < MAX_EVENT_SIZE && windowStart + window.limit() < fileSize) {
+            map(windowStart + window.position()); // Slide the window so the whole event is mapped
+        }
+        if (!window.hasRemaining()) {
+            return false;
+        }
+        int tag = window.get() & 0xFF;
+        type = tag >>> 4;
+        seat = tag & 0x0F;
+        value = 0;
+        if (GameLog.hasValue(type)) {
+            int shift = 0;
+            int b;
+            do {
+                if (!window.hasRemaining()) {
+                    throw new IOException("Game log ends in the middle of an event");
+                }
+                b = window.get();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+        }
+        if (type == GameLog.ROUND_START) {
+            turn = 0;
+        } else if (type == GameLog.TURN) {
+            turn++;
+        }
+        return true;
+    }
+
+    // --- The current event ---
+
+    /**
+     * @return One of the GameLog event types
+     */
+    public int getType() {
+        return type;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * @return The card ID, color ordinal, count or points carried by the event (0 if none)
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * @return The number of the current turn within its round (1 for the first turn)
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Calls the listener method that matches the current event.
+     */
+    public void dispatch(GameListener listener) throws IOException {
+        switch (type) {
+            case GameLog.GAME_START: listener.gameStarted(value); break;
+            case GameLog.ROUND_START: listener.roundStarted(value, seat); break;
+            case GameLog.DEAL: listener.cardDealt(seat, Card.byId(value)); break;
+            case GameLog.TURN_UP: listener.cardTurnedUp(Card.byId(value)); break;
+            case GameLog.TURN: listener.turnStarted(seat, turn); break;
+            case GameLog.DRAW: listener.cardDrawn(seat, Card.byId(value)); break;
+            case GameLog.PLAY: listener.cardPlayed(seat, Card.byId(value)); break;
+            case GameLog.COLOR: listener.colorChosen(seat, COLORS[value]); break;
+            case GameLog.UNO: listener.unoCalled(seat); break;
+            case GameLog.PENALTY: listener.penaltyApplied(seat, value); break;
+            case GameLog.ROUND_END: listener.roundEnded(seat == GameLog.NO_SEAT ? -1 : seat, value); break;
+            case GameLog.GAME_END: listener.gameEnded(seat); break;
+            case GameLog.SWAP: listener.handsSwapped(seat, value); break;
+            case GameLog.ROTATE: listener.handsRotated(value != 0); break;
+            default: throw new IOException("Unknown game log event type " + type);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
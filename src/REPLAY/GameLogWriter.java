@@ -0,0 +1,149 @@
+package REPLAY;
+
+import CARDS.Card;
+import GAMEPLAY.GameListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The GameLogWriter class appends every event of the games it listens to to a binary log file
+ * (see GameLog for the format). Events are encoded into a direct buffer and written to the
+ * file channel only when the buffer is full, so logging a turn costs a few byte writes.
+ * Attach it with UnoGame.addListener and close it when done. One writer per game thread.
+ */
+public class GameLogWriter implements GameListener, Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_EVENT_SIZE = 6; // Tag byte plus a 5-byte varint
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Creates (or overwrites) a log file.
+     */
+    public GameLogWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.put(GameLog.MAGIC).put((byte) GameLog.VERSION);
+    }
+
+    // --- GameListener ---
+    @Override
+    public void gameStarted(int playerCount) {
+        if (playerCount > GameLog.MAX_SEATS) {
+            throw new IllegalArgumentException("The game log supports at most " + GameLog.MAX_SEATS + " players");
+        }
+        write(GameLog.GAME_START, 0, playerCount);
+    }
+
+    @Override
+    public void roundStarted(int round, int startingSeat) {
+        write(GameLog.ROUND_START, startingSeat, round);
+    }
+
+    @Override
+    public void cardDealt(int seat, Card card) {
+        write(GameLog.DEAL, seat, card.getId());
+    }
+
+    @Override
+    public void cardTurnedUp(Card card) {
+        write(GameLog.TURN_UP, 0, card.getId());
+    }
+
+    @Override
+    public void turnStarted(int seat, int turn) {
+        tag(GameLog.TURN, seat);
+    }
+
+    @Override
+    public void cardDrawn(int seat, Card card) {
+        write(GameLog.DRAW, seat, card.getId());
+    }
+
+    @Override
+    public void cardPlayed(int seat, Card card) {
+        write(GameLog.PLAY, seat, card.getId());
+    }
+
+    @Override
+    public void colorChosen(int seat, Card.Color color) {
+        write(GameLog.COLOR, seat, color.ordinal());
+    }
+
+    @Override
+    public void unoCalled(int seat) {
+        tag(GameLog.UNO, seat);
+    }
+
+    @Override
+    public void penaltyApplied(int seat, int cards) {
+        write(GameLog.PENALTY, seat, cards);
+    }
+
+    @Override
+    public void handsSwapped(int seat, int otherSeat) {
+        write(GameLog.SWAP, seat, otherSeat);
+    }
+
+    @Override
+    public void handsRotated(boolean clockwise) {
+        write(GameLog.ROTATE, 0, clockwise ? 1 : 0);
+    }
+
+    @Override
+    public void roundEnded(int winnerSeat, int points) {
+        write(GameLog.ROUND_END, winnerSeat < 0 ? GameLog.NO_SEAT : winnerSeat, points);
+    }
+
+    @Override
+    public void gameEnded(int winnerSeat) {
+        tag(GameLog.GAME_END, winnerSeat);
+    }
+
+    // --- Encoding ---
+    private void tag(int type, int seat) {
+        if (buffer.remaining() < MAX_EVENT_SIZE) {
+            flush();
+        }
+        buffer.put((byte) (type << 4 | seat));
+    }
+
+    private void write(int type, int seat, int value) {
+        tag(type, seat);
+        // Unsigned LEB128 varint: 7 bits per byte, high bit set on all but the last byte
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes the buffered events to the file.
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
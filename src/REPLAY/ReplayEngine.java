@@ -0,0 +1,193 @@
+package REPLAY;
+
+import CARDS.Card;
+import GAMEPLAY.GameListener;
+import PLAYERS.Player;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ReplayEngine class rebuilds the state of a game from its event log:
+ * every hand, the top card, the active color, the direction, whose turn it is and the scores.
+ * It is a GameListener, so it can follow a log file (replayTo) or a live game.
+ * Nothing is re-simulated: every card that moves is in the log.
+ */
+public class ReplayEngine implements GameListener {
+    private final List<Player> players = new ArrayList<>();
+    private int game;  // Games started so far (the first game is 1)
+    private int round;
+    private int turn;
+    private int currentSeat;
+    private boolean clockwise = true;
+    private Card topCard;
+    private Card.Color activeColor;
+    private int lastWinner = -1;
+
+    /**
+     * Replays a log up to the start of a turn (before the player decides).
+     * @param game Game number in the log, starting at 1
+     * @param round Round number within that game, starting at 1
+     * @param turn Turn number within that round, starting at 1
+     * @return The rebuilt state, or the state at the end of the log if the turn is not in it
+     */
+    public static ReplayEngine replayTo(Path log, int game, int round, int turn) throws IOException {
+        ReplayEngine engine = new ReplayEngine();
+        try (GameLogReader reader = new GameLogReader(log)) {
+            while (reader.next()) {
+                reader.dispatch(engine);
+                if (reader.getType() == GameLog.TURN
+                        && engine.game == game && engine.round == round && engine.turn == turn) {
+                    break;
+                }
+            }
+        }
+        return engine;
+    }
+
+    // --- GameListener ---
+    @Override
+    public void gameStarted(int playerCount) {
+        game++;
+        round = 0;
+        players.clear();
+        for (int seat = 0; seat < playerCount; seat++) {
+            players.add(new Player("Seat " + (seat + 1)));
+        }
+    }
+
+    @Override
+    public void roundStarted(int round, int startingSeat) {
+        this.round = round;
+        this.turn = 0;
+        this.currentSeat = startingSeat;
+        this.clockwise = true;
+        this.topCard = null;
+        this.activeColor = null;
+        this.lastWinner = -1;
+        for (Player player : players) {
+            player.clearHand();
+        }
+    }
+
+    @Override
+    public void cardDealt(int seat, Card card) {
+        players.get(seat).drawCard(card);
+    }
+
+    @Override
+    public void cardTurnedUp(Card card) {
+        topCard = card;
+        activeColor = card.getColor();
+    }
+
+    @Override
+    public void turnStarted(int seat, int turn) {
+        this.currentSeat = seat;
+        this.turn++;
+    }
+
+    @Override
+    public void cardDrawn(int seat, Card card) {
+        players.get(seat).drawCard(card);
+    }
+
+    @Override
+    public void cardPlayed(int seat, Card card) {
+        players.get(seat).playCard(card);
+        topCard = card;
+        activeColor = card.getColor(); // A wild card's color follows as its own event
+        if (card.getType() == Card.Type.REVERSE) {
+            clockwise = !clockwise;
+        }
+    }
+
+    @Override
+    public void colorChosen(int seat, Card.Color color) {
+        activeColor = color;
+    }
+
+    @Override
+    public void handsSwapped(int seat, int otherSeat) {
+        List<Card> mine = new ArrayList<>(players.get(seat).getHand());
+        List<Card> theirs = new ArrayList<>(players.get(otherSeat).getHand());
+        give(players.get(seat), theirs);
+        give(players.get(otherSeat), mine);
+    }
+
+    @Override
+    public void handsRotated(boolean clockwise) {
+        List<List<Card>> hands = new ArrayList<>();
+        for (Player player : players) {
+            hands.add(new ArrayList<>(player.getHand()));
+        }
+        int step = clockwise ? 1 : -1;
+        for (int seat = 0; seat < players.size(); seat++) {
+            give(players.get(Math.floorMod(seat + step, players.size())), hands.get(seat));
+        }
+    }
+
+    private static void give(Player player, List<Card> cards) {
+        player.clearHand();
+        for (Card card : cards) {
+            player.drawCard(card);
+        }
+    }
+
+    @Override
+    public void roundEnded(int winnerSeat, int points) {
+        lastWinner = winnerSeat;
+        if (winnerSeat >= 0) {
+            players.get(winnerSeat).addRoundPoints(points);
+        }
+        for (Player player : players) {
+            player.endRound();
+        }
+    }
+
+    // --- The rebuilt state ---
+    public int getGame() {
+        return game;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return One Player per seat with the rebuilt hand and game points
+     */
+    public List<Player> getPlayers() {
+        return Collections.unmodifiableList(players);
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public boolean isClockwise() {
+        return clockwise;
+    }
+
+    public Card getTopCard() {
+        return topCard;
+    }
+
+    public Card.Color getActiveColor() {
+        return activeColor;
+    }
+
+    /**
+     * @return The winner of the last finished round, or -1
+     */
+    public int getLastWinner() {
+        return lastWinner;
+    }
+}
@@ -0,0 +1,92 @@
+package RULES;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The Leaderboard class keeps the cumulative points of any number of players across games,
+ * always in ranking order: most points first, ties by name.
+ * Adding points re-inserts one entry into a balanced tree (O(log n)), and the top K
+ * are the first K entries of that tree (O(log n + K)), so nothing is ever re-sorted.
+ * It is thread-safe, so parallel tables can report into one leaderboard.
+ */
+public class Leaderboard {
+    private static final Comparator<Standing> RANKING =
+            Comparator.comparingLong((Standing standing) -> -standing.points).thenComparing(standing -> standing.player);
+
+    private final Map<String, Standing> standings = new HashMap<>();
+    private final TreeSet<Standing> ranking = new TreeSet<>(RANKING);
+
+    /**
+     * Adds points to a player's total, adding the player if they are new.
+     */
+    public synchronized void addPoints(String player, long points) {
+        Standing old = standings.get(player);
+        if (old != null) {
+            ranking.remove(old);
+        }
+        Standing updated = new Standing(player, (old == null ? 0 : old.points) + points);
+        standings.put(player, updated);
+        ranking.add(updated);
+    }
+
+    /**
+     * @return The player's total, or 0 if they never scored
+     */
+    public synchronized long getPoints(String player) {
+        Standing standing = standings.get(player);
+        return standing == null ? 0 : standing.points;
+    }
+
+    /**
+     * @return The best k players (fewer if there are not that many), best first
+     */
+    public synchronized List<Standing> top(int k) {
+        List<Standing> top = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<Standing> it = ranking.iterator();
+        while (top.size() < k && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    public synchronized int size() {
+        return standings.size();
+    }
+
+    public synchronized void clear() {
+        standings.clear();
+        ranking.clear();
+    }
+
+    /**
+     * One player's total; immutable, so it can be handed out while the leaderboard changes
+     */
+    public static final class Standing {
+        private final String player;
+        private final long points;
+
+        Standing(String player, long points) {
+            this.player = player;
+            this.points = points;
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        public long getPoints() {
+            return points;
+        }
+
+        @Override
+        public String toString() {
+            return player + ": " + points;
+        }
+    }
+}
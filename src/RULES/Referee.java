@@ -13,4 +13,73 @@ import java.util.List;
  * - Apply penalties (e.g., drawing cards).
  * - Calculate points at the end of a round.
  * - Check for overall game win conditions.
+ * - Report the points scored to a Leaderboard, if one is set.
  */
+public class Referee {
+    public static final int DEFAULT_TARGET_SCORE = 500; // Points needed to win the whole game
+    public static final int UNO_PENALTY_CARDS = 2;      // Cards drawn for forgetting to call UNO
+
+    private final int targetScore;
+    private Leaderboard leaderboard; // null: scores are not tracked across games
+
+    public Referee() {
+        this(DEFAULT_TARGET_SCORE);
+    }
+
+    public Referee(int targetScore) {
+        this.targetScore = targetScore;
+    }
+
+    public int getTargetScore() {
+        return targetScore;
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * Sets where the points of every round are added up across games (null for nowhere).
+     */
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Checks if the player may play the chosen card: it has to be in their hand
+     * and has to match the top card or the active color.
+     */
+    public boolean isValidPlay(Player player, Card card, Card topCard, Card.Color activeColor) {
+        return card != null && player.getHand().contains(card) && card.canPlayOn(topCard, activeColor);
+    }
+
+    /**
+     * Sums the points of all cards left in the other players' hands.
+     * This is what the winner of a round scores.
+     * Every hand keeps its own total up to date, so this does not look at the cards.
+     */
+    public int calculateRoundPoints(Player winner, List<Player> players) {
+        int points = 0;
+        for (Player player : players) {
+            if (player == winner) continue;
+            points += player.getHand().getPoints();
+        }
+        return points;
+    }
+
+    /**
+     * Reports the points a round winner scored to the leaderboard, if there is one.
+     */
+    public void recordRoundPoints(Player winner, int points) {
+        if (leaderboard != null) {
+            leaderboard.addPoints(winner.getName(), points);
+        }
+    }
+
+    /**
+     * Checks if the player has reached the target score and won the game.
+     */
+    public boolean hasWonGame(Player player) {
+        return player.getGamePoints() >= targetScore;
+    }
+}
@@ -0,0 +1,114 @@
+package SERVER;
+
+import CARDS.Card;
+
+import java.util.Arrays;
+
+/**
+ * The AutoResponder class is the brain of the test clients: it follows the Protocol lines
+ * a table sends and answers every prompt with the first playable card.
+ */
+public class AutoResponder {
+    private final int[] hand = new int[Card.ID_COUNT]; // Copies held per card ID
+    private int topId = Card.NO_CARD;
+    private int activeColor = Card.NO_COLOR;
+    private int seat;
+    private int players = 2;
+    private boolean over;
+
+    /**
+     * Reads one line from the table.
+     * @return The answer to send back (with its sequence number), or null if the line needs none
+     */
+    public String respond(String line) {
+        String[] words = line.split(" ");
+        switch (words[0]) {
+            case Protocol.SEAT:
+                seat = Integer.parseInt(words[1]);
+                players = Integer.parseInt(words[2]);
+                return null;
+            case Protocol.HAND:
+                Arrays.fill(hand, 0);
+                for (int i = 1; i < words.length; i++) {
+                    hand[Integer.parseInt(words[i])]++;
+                }
+                return null;
+            case Protocol.TOP:
+                topId = Integer.parseInt(words[1]);
+                activeColor = Integer.parseInt(words[2]);
+                return null;
+            case Protocol.PROMPT_PLAY:
+                int cardId = playableCard();
+                return words[1] + " " + (cardId < 0 ? Protocol.DRAW : Protocol.PLAY + " " + cardId);
+            case Protocol.PROMPT_COLOR:
+                return words[1] + " " + Protocol.COLOR + " " + favoriteColor();
+            case Protocol.PROMPT_DRAWN:
+                return words[1] + " " + Protocol.YES;
+            case Protocol.PROMPT_UNO:
+                return words[1] + " " + Protocol.UNO;
+            case Protocol.PROMPT_STACK:
+                int stackId = stackableCard();
+                return words[1] + " " + (stackId < 0 ? Protocol.DRAW : Protocol.PLAY + " " + stackId);
+            case Protocol.PROMPT_JUMP:
+                return words[1] + " " + Protocol.YES;
+            case Protocol.PROMPT_SWAP:
+                return words[1] + " " + Protocol.SWAP + " " + (seat + 1) % players;
+            case Protocol.OVER:
+                over = true;
+                return null;
+            default:
+                return null; // ROUND and the others need no answer
+        }
+    }
+
+    /**
+     * @return true once the table has sent OVER
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * @return true if the line is a prompt that expects an answer
+     */
+    public static boolean isPrompt(String line) {
+        return line.startsWith(Protocol.PROMPT_PLAY) || line.startsWith(Protocol.PROMPT_COLOR)
+                || line.startsWith(Protocol.PROMPT_DRAWN) || line.startsWith(Protocol.PROMPT_UNO)
+                || line.startsWith(Protocol.PROMPT_STACK) || line.startsWith(Protocol.PROMPT_JUMP)
+                || line.startsWith(Protocol.PROMPT_SWAP);
+    }
+
+    private int playableCard() {
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            if (hand[id] > 0 && Card.canPlay(id, topId, activeColor)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private int stackableCard() {
+        boolean drawTwo = topId != Card.NO_CARD && Card.byId(topId).getType() == Card.Type.DRAW_TWO;
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            Card.Type type = Card.byId(id).getType();
+            if (hand[id] > 0 && (type == Card.Type.WILD_DRAW_FOUR || drawTwo && type == Card.Type.DRAW_TWO)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private int favoriteColor() {
+        int[] colors = new int[Card.NO_COLOR];
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            colors[Card.colorOf(id).ordinal()] += hand[id];
+        }
+        int best = 0;
+        for (int color = 1; color < colors.length; color++) {
+            if (color != Card.Color.WILD.ordinal() && colors[color] > colors[best]) {
+                best = color;
+            }
+        }
+        return best;
+    }
+}
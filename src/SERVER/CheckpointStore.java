@@ -0,0 +1,379 @@
+package SERVER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * The CheckpointStore class keeps the latest checkpoint of every live table on disk, so a server
+ * that restarts can resume its games (see GameServer.resumeTables).
+ *
+ * Tables hand in their checkpoints with submit(), which only puts the bytes in a map and never waits
+ * for the disk; a newer checkpoint of a table replaces one that was not written yet. A writer thread
+ * wakes up every commit interval, appends everything submitted since its last pass to the current
+ * segment file in one write and forces it to disk once (group commit), so one fsync covers
+ * every table that moved in the meantime.
+ *
+ * Segment files are append-only logs of records:
+ * <pre>
+ *   "UNOC", version, 3 bytes padding
+ *   per record: table ID (int), payload length (int, 0 = the table is gone), CRC32C of both and the payload (int), payload
+ * </pre>
+ * A record torn by a crash fails its CRC, and reading stops there. Once a segment grows past
+ * SEGMENT_BYTES, the latest checkpoint of every live table is written to a new segment (under a
+ * temporary name, forced, then renamed) and the old segments are deleted, so the newest segment alone
+ * always holds everything. On open, that segment is memory-mapped and scanned once; the latest record
+ * of every table is copied to the heap (getRecovered) and into a fresh segment.
+ */
+public class CheckpointStore implements Closeable {
+    public static final long SEGMENT_BYTES = 64L << 20;
+    public static final long DEFAULT_COMMIT_MILLIS = 50;
+
+    static final byte[] MAGIC = { 'U', 'N', 'O', 'C' };
+    static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 12;
+    private static final String PREFIX = "checkpoints-";
+    private static final String SUFFIX = ".seg";
+    private static final byte[] REMOVED = new byte[0];
+
+    private final Path directory;
+    private final long commitNanos;
+    private final Map<Integer, byte[]> pending = new ConcurrentHashMap<>();
+    private final Map<Integer, byte[]> latest = new HashMap<>();  // What the current segment holds (writer thread)
+    private final Map<Integer, ByteBuffer> recovered;
+    private final Thread writer;
+    private FileChannel channel;
+    private long segmentSize;
+    private int segmentNumber;
+    private ByteBuffer batch = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private CheckpointStore(Path directory, long commitMillis) throws IOException {
+        this.directory = directory;
+        this.commitNanos = TimeUnit.MILLISECONDS.toNanos(commitMillis);
+        Files.createDirectories(directory);
+        List<Path> segments = segmentFiles(directory);
+        Map<Integer, ByteBuffer> found = new HashMap<>();
+        if (!segments.isEmpty()) {
+            Path newest = segments.get(segments.size() - 1);
+            segmentNumber = number(newest);
+            // Copy the records out of the mapped file first: roll() deletes it
+            for (Map.Entry<Integer, ByteBuffer> entry : read(newest).entrySet()) {
+                byte[] copy = new byte[entry.getValue().remaining()];
+                entry.getValue().get(copy);
+                latest.put(entry.getKey(), copy);
+                found.put(entry.getKey(), ByteBuffer.wrap(copy).asReadOnlyBuffer());
+            }
+        }
+        this.recovered = Collections.unmodifiableMap(found);
+        roll();
+        this.writer = new Thread(this::writeLoop, "checkpoint-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Opens the store in a directory (creating it if needed) and recovers the checkpoints in it.
+     */
+    public static CheckpointStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_COMMIT_MILLIS);
+    }
+
+    /**
+     * @param commitMillis How long checkpoints may wait before they are written and forced to disk
+     */
+    public static CheckpointStore open(Path directory, long commitMillis) throws IOException {
+        if (commitMillis < 1) {
+            throw new IllegalArgumentException("The commit interval must be at least 1 ms: " + commitMillis);
+        }
+        return new CheckpointStore(directory, commitMillis);
+    }
+
+    /**
+     * The latest checkpoint of every table that was live when the store was last used, by table ID.
+     * The buffers are read-only copies; the segment they were read from is deleted on open.
+     */
+    public Map<Integer, ByteBuffer> getRecovered() {
+        return recovered;
+    }
+
+    /**
+     * Hands in a table's latest checkpoint; returns at once. The bytes must not be changed afterwards.
+     */
+    public void submit(int tableId, byte[] checkpoint) {
+        if (checkpoint.length == 0) {
+            throw new IllegalArgumentException("Empty checkpoint for table " + tableId);
+        }
+        checkOpen();
+        pending.put(tableId, checkpoint);
+        submitted.increment();
+    }
+
+    /**
+     * Forgets a table that is over, so it is not resumed. Ignored once the store is closed.
+     */
+    public void remove(int tableId) {
+        if (!closed) {
+            pending.put(tableId, REMOVED);
+        }
+    }
+
+    /** Checkpoints handed in */
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /** Checkpoints written (fewer than submitted when a newer one replaced an older one in time) */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /** Group commits, each one write and one force */
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytes.sum();
+    }
+
+    /**
+     * Writes what is still pending, forces it and stops the writer thread.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The checkpoint store is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Writing checkpoints failed", failure);
+        }
+    }
+
+    // --- Writer thread ---
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                boolean closing = closed; // Read before draining, so nothing submitted before close() is missed
+                commit();
+                if (closing) {
+                    return;
+                }
+                LockSupport.parkNanos(commitNanos);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * One group commit: everything pending in one write and one force
+     */
+    private void commit() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        batch.clear();
+        int records = 0;
+        for (Integer tableId : pending.keySet()) {
+            byte[] checkpoint = pending.remove(tableId);
+            if (checkpoint == null) {
+                continue;
+            }
+            if (checkpoint == REMOVED) {
+                if (latest.remove(tableId) == null) {
+                    continue; // Never written, nothing to take back
+                }
+            } else {
+                latest.put(tableId, checkpoint);
+                records++;
+            }
+            append(tableId, checkpoint);
+        }
+        batch.flip();
+        int size = batch.remaining();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        channel.force(false);
+        segmentSize += size;
+        commits.increment();
+        written.add(records);
+        bytes.add(size);
+        if (segmentSize > SEGMENT_BYTES) {
+            roll();
+        }
+    }
+
+    private void append(int tableId, byte[] payload) {
+        if (batch.remaining() < RECORD_HEADER_SIZE + payload.length) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(batch.capacity() * 2,
+                    batch.position() + RECORD_HEADER_SIZE + payload.length)).order(ByteOrder.LITTLE_ENDIAN);
+            batch.flip();
+            grown.put(batch);
+            batch = grown;
+        }
+        batch.putInt(tableId).putInt(payload.length).putInt(checksum(tableId, payload, 0, payload.length)).put(payload);
+    }
+
+    private int checksum(int tableId, byte[] payload, int offset, int length) {
+        crc.reset();
+        for (int shift = 0; shift < 32; shift += 8) {
+            crc.update(tableId >>> shift);
+        }
+        for (int shift = 0; shift < 32; shift += 8) {
+            crc.update(length >>> shift);
+        }
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Starts a new segment holding the latest checkpoint of every live table, then deletes the older segments
+     */
+    private void roll() throws IOException {
+        int number = segmentNumber + 1;
+        Path file = directory.resolve(String.format("%s%08d%s", PREFIX, number, SUFFIX));
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        batch.clear();
+        batch.put(MAGIC).put((byte) VERSION).put((byte) 0).put((byte) 0).put((byte) 0);
+        for (Map.Entry<Integer, byte[]> entry : latest.entrySet()) {
+            append(entry.getKey(), entry.getValue());
+        }
+        batch.flip();
+        int size = batch.remaining();
+        FileChannel next = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            while (batch.hasRemaining()) {
+                next.write(batch);
+            }
+            next.force(false);
+        } catch (IOException e) {
+            next.close();
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        // The renamed file keeps the open channel; appends go on from its end
+        if (channel != null) {
+            channel.close();
+        }
+        channel = next;
+        segmentSize = size;
+        segmentNumber = number;
+        bytes.add(size);
+        for (Path old : segmentFiles(directory)) {
+            if (number(old) < number) {
+                Files.deleteIfExists(old);
+            }
+        }
+    }
+
+    // --- Reading ---
+
+    /**
+     * Maps a segment and keeps the last record of every table, up to the first damaged record
+     */
+    private Map<Integer, ByteBuffer> read(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            data = map.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data.limit() < HEADER_SIZE || data.get(i) != MAGIC[i]) {
+                throw new IOException(file + " is not a checkpoint segment");
+            }
+        }
+        if (data.get(4) != VERSION) {
+            throw new IOException(file + " has unsupported checkpoint version " + data.get(4));
+        }
+        Map<Integer, ByteBuffer> tables = new HashMap<>();
+        byte[] payload = new byte[256];
+        int at = HEADER_SIZE;
+        while (at + RECORD_HEADER_SIZE <= data.limit()) {
+            int tableId = data.getInt(at);
+            int length = data.getInt(at + 4);
+            int stored = data.getInt(at + 8);
+            int start = at + RECORD_HEADER_SIZE;
+            if (length < 0 || length > data.limit() - start) {
+                break; // Torn tail
+            }
+            if (payload.length < length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+            }
+            data.get(start, payload, 0, length);
+            if (checksum(tableId, payload, 0, length) != stored) {
+                break;
+            }
+            if (length == 0) {
+                tables.remove(tableId);
+            } else {
+                tables.put(tableId, data.slice(start, length).asReadOnlyBuffer()); // Big-endian, like ByteBuffer.allocate
+            }
+            at = start + length;
+        }
+        return tables;
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort((a, b) -> Integer.compare(number(a), number(b)));
+        return files;
+    }
+
+    private static int number(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,225 @@
+package SERVER;
+
+import GAMEPLAY.Tournament;
+import METRICS.GameMetrics;
+import METRICS.MetricsEndpoint;
+import VARIATIONS.HouseRule;
+import VARIATIONS.RunVariations;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The GameServer class hosts many independent tables in one JVM.
+ * Every table runs on its own virtual thread, which parks (instead of holding a platform thread)
+ * while it waits for a remote player's answer, so thousands of tables can wait for their
+ * players at once. Clients talk to their seats through the tables' PlayerSessions.
+ * With checkpoints enabled, the tables that were still playing when the server stopped
+ * (or crashed) can be resumed by the next server with resumeTables().
+ */
+public class GameServer implements AutoCloseable {
+    public static final long DEFAULT_DECISION_TIMEOUT_MILLIS = 30_000;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, Table> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTableId = new AtomicInteger();
+    private final LongAdder finishedTables = new LongAdder();
+    private final LongAdder failedTables = new LongAdder();
+    private final long masterSeed;
+    private final long decisionTimeoutMillis;
+    private CheckpointStore checkpoints;
+    private int checkpointTurns;
+
+    public GameServer(long masterSeed) {
+        this(masterSeed, DEFAULT_DECISION_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param masterSeed Seed the tables' shuffle seeds are derived from (table i gets Tournament.gameSeed(masterSeed, i))
+     * @param decisionTimeoutMillis How long a remote seat gets for each decision before a bot plays it
+     */
+    public GameServer(long masterSeed, long decisionTimeoutMillis) {
+        this.masterSeed = masterSeed;
+        this.decisionTimeoutMillis = decisionTimeoutMillis;
+    }
+
+    /**
+     * Opens a table and starts its game on a new virtual thread.
+     * The remote seats' sessions are ready to use as soon as this returns.
+     */
+    public Table openTable(int remoteSeats, int botSeats) {
+        return openTable(remoteSeats, botSeats, EnumSet.noneOf(HouseRule.class));
+    }
+
+    /**
+     * Opens a table that plays with house rules.
+     */
+    public Table openTable(int remoteSeats, int botSeats, Set<HouseRule> houseRules) {
+        int id = nextTableId.getAndIncrement();
+        Table table = new Table(id, remoteSeats, botSeats, Tournament.gameSeed(masterSeed, id), decisionTimeoutMillis,
+                RunVariations.compile(houseRules));
+        start(table);
+        return table;
+    }
+
+    /**
+     * Makes every table opened from now on save itself to the store as it plays.
+     * @param everyTurns Turns between a table's checkpoints within a round
+     */
+    public void enableCheckpoints(CheckpointStore store, int everyTurns) {
+        if (everyTurns < 1) {
+            throw new IllegalArgumentException("Checkpoints need at least 1 turn in between: " + everyTurns);
+        }
+        this.checkpoints = store;
+        this.checkpointTurns = everyTurns;
+    }
+
+    /**
+     * Restores and starts every table the checkpoint store recovered. New tables get IDs above theirs.
+     * A checkpoint that cannot be restored is reported on stderr, dropped from the store and skipped.
+     * Call once, after enableCheckpoints and before opening tables.
+     * @return The tables resumed
+     */
+    public List<Table> resumeTables() {
+        if (checkpoints == null) {
+            throw new IllegalStateException("Checkpoints are not enabled");
+        }
+        List<Table> resumed = new ArrayList<>();
+        for (Map.Entry<Integer, ByteBuffer> entry : checkpoints.getRecovered().entrySet()) {
+            int id = entry.getKey();
+            if (tables.containsKey(id)) {
+                continue;
+            }
+            nextTableId.accumulateAndGet(id + 1, Math::max);
+            try {
+                resumed.add(Table.restore(id, entry.getValue(), decisionTimeoutMillis));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping the checkpoint of table " + id + ": " + e.getMessage());
+                checkpoints.remove(id);
+            }
+        }
+        for (Table table : resumed) {
+            start(table);
+        }
+        return resumed;
+    }
+
+    private void start(Table table) {
+        int id = table.getId();
+        if (checkpoints != null) {
+            table.setCheckpoints(checkpoints, checkpointTurns);
+        }
+        tables.put(id, table);
+        executor.execute(() -> {
+            try {
+                table.run();
+            } finally {
+                tables.remove(id);
+                (table.getStatus() == Table.Status.FAILED ? failedTables : finishedTables).increment();
+            }
+        });
+    }
+
+    /**
+     * Runs a task, such as a LoopbackClient, on a virtual thread of the server.
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * @return The table with this ID, or null if it does not exist or is over
+     */
+    public Table getTable(int id) {
+        return tables.get(id);
+    }
+
+    /**
+     * Starts watching a table.
+     * @return The spectator, or null if the table does not exist or is over
+     */
+    public Spectator watch(int tableId) {
+        Table table = tables.get(tableId);
+        return table == null ? null : table.watch();
+    }
+
+    public int getOpenTableCount() {
+        return tables.size();
+    }
+
+    public long getFinishedTableCount() {
+        return finishedTables.sum();
+    }
+
+    public long getFailedTableCount() {
+        return failedTables.sum();
+    }
+
+    /**
+     * Interrupts all tables (each stops after its current round) and waits for them.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Load check: plays a number of 4-seat tables at once, each with one
+     * LoopbackClient seat and three bots, and reports the time and heap used.
+     * Arguments: [tables] [client think time in ms] [metrics port]
+     * With a metrics port the metrics are served at http://localhost:port/metrics and over JMX.
+     */
+    public static void main(String[] args) throws Exception {
+        int tableCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long thinkMillis = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        MetricsEndpoint endpoint = null;
+        if (args.length > 2) {
+            GameMetrics.global().register();
+            endpoint = new MetricsEndpoint(GameMetrics.global(), new InetSocketAddress(Integer.parseInt(args[2])));
+            System.out.println("Metrics at http://localhost:" + endpoint.getPort() + "/metrics");
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long start = System.nanoTime();
+        long peakOpen = 0;
+        long peakHeap = 0;
+        GameServer server = new GameServer(42);
+        List<Table> opened = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            Table table = server.openTable(1, 3);
+            server.execute(new LoopbackClient(table.getSession(0), thinkMillis));
+            opened.add(table);
+        }
+        for (Table table : opened) {
+            while (!table.awaitDone(100, TimeUnit.MILLISECONDS)) {
+                peakOpen = Math.max(peakOpen, server.getOpenTableCount());
+                peakHeap = Math.max(peakHeap, runtime.totalMemory() - runtime.freeMemory());
+            }
+        }
+        server.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d tables in %.1f s (%.0f tables/s), %d finished, %d failed%n",
+                tableCount, seconds, tableCount / seconds,
+                server.getFinishedTableCount(), server.getFailedTableCount());
+        System.out.printf("Peak: %d tables open at once, %.0f MB heap in use%n",
+                peakOpen, peakHeap / (1024.0 * 1024.0));
+        if (endpoint != null) {
+            endpoint.close();
+        }
+    }
+}
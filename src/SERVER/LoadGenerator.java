@@ -0,0 +1,183 @@
+package SERVER;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * The LoadGenerator class plays many games against a NioServer at once from a single thread:
+ * every connection is a non-blocking socket with an AutoResponder, all driven by one Selector.
+ *
+ * The latency of a move is the time from sending an answer to receiving the next prompt,
+ * so it covers the network, the event loop's tick, and the bots' turns in between.
+ * Latencies are counted in microsecond buckets to report p50/p99 without keeping every sample.
+ */
+public class LoadGenerator {
+    private static final int MAX_LATENCY_MICROS = 1_000_000; // Slower moves are counted in the last bucket
+
+    private final InetSocketAddress server;
+    private final int connectionCount;
+    private final long[] latencyCounts = new long[MAX_LATENCY_MICROS + 1];
+    private long moves;
+    private long gamesOver;
+
+    public LoadGenerator(InetSocketAddress server, int connectionCount) {
+        this.server = server;
+        this.connectionCount = connectionCount;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public long getGamesOver() {
+        return gamesOver;
+    }
+
+    /**
+     * @param percentile Between 0 and 100
+     * @return The move latency in microseconds below which that percentage of moves fall
+     */
+    public long getLatencyPercentile(double percentile) {
+        long rank = (long) Math.ceil(moves * percentile / 100.0);
+        long seen = 0;
+        for (int micros = 0; micros < latencyCounts.length; micros++) {
+            seen += latencyCounts[micros];
+            if (seen >= Math.max(1, rank)) {
+                return micros;
+            }
+        }
+        return MAX_LATENCY_MICROS;
+    }
+
+    /**
+     * Opens all connections and plays until every game is over or every connection is closed.
+     */
+    public void run() throws IOException {
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < connectionCount; i++) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.connect(server);
+                channel.register(selector, SelectionKey.OP_CONNECT, new Client(channel));
+            }
+            int open = connectionCount;
+            while (open > 0) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Client client = (Client) key.attachment();
+                    try {
+                        if (key.isConnectable() && client.channel.finishConnect()) {
+                            key.interestOps(SelectionKey.OP_READ);
+                        } else if (key.isReadable() && !client.read()) {
+                            key.cancel();
+                            client.channel.close();
+                            open--;
+                        }
+                    } catch (IOException e) {
+                        key.cancel();
+                        client.channel.close();
+                        open--;
+                    }
+                }
+            }
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        latencyCounts[(int) Math.min(nanos / 1000, MAX_LATENCY_MICROS)]++;
+        moves++;
+    }
+
+    /**
+     * One connection and the player behind it.
+     */
+    private final class Client {
+        private final SocketChannel channel;
+        private final AutoResponder responder = new AutoResponder();
+        private final ByteBuffer in = ByteBuffer.allocate(8 * 1024);
+        private long answeredAt; // When the last answer was sent, 0 before the first one
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * @return false once the connection is closed
+         */
+        boolean read() throws IOException {
+            if (channel.read(in) < 0) {
+                return false;
+            }
+            in.flip();
+            int lineStart = in.position();
+            for (int i = lineStart; i < in.limit(); i++) {
+                if (in.get(i) == '\n') {
+                    byte[] bytes = new byte[i - lineStart];
+                    in.get(lineStart, bytes);
+                    handle(new String(bytes, StandardCharsets.US_ASCII));
+                    lineStart = i + 1;
+                }
+            }
+            in.position(lineStart);
+            in.compact();
+            return true;
+        }
+
+        private void handle(String line) throws IOException {
+            if (answeredAt != 0 && AutoResponder.isPrompt(line)) {
+                recordLatency(System.nanoTime() - answeredAt);
+                answeredAt = 0;
+            }
+            String answer = responder.respond(line);
+            if (responder.isOver()) {
+                gamesOver++;
+            }
+            if (answer != null) {
+                ByteBuffer out = ByteBuffer.wrap((answer + '\n').getBytes(StandardCharsets.US_ASCII));
+                while (out.hasRemaining()) {
+                    channel.write(out); // A few bytes into an empty socket buffer: never blocks for long
+                }
+                answeredAt = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Starts a GameServer and a NioServer on a loopback port and runs the load generator against them.
+     * Arguments: [connections] [bots per table] [tick in ms]
+     */
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int bots = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long tickMillis = args.length > 2 ? Long.parseLong(args[2]) : NioServer.DEFAULT_TICK_MILLIS;
+
+        GameServer games = new GameServer(42, 10_000);
+        NioServer server = new NioServer(games, new InetSocketAddress("127.0.0.1", 0), bots, tickMillis);
+        Thread eventLoop = new Thread(server, "nio-event-loop");
+        eventLoop.start();
+
+        LoadGenerator generator = new LoadGenerator(new InetSocketAddress("127.0.0.1", server.getPort()), connections);
+        long start = System.nanoTime();
+        generator.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        server.close();
+        eventLoop.join();
+        games.close();
+
+        System.out.printf("%d connections, %d games over, %d moves in %.1f s (%.0f moves/s)%n",
+                connections, generator.getGamesOver(), generator.getMoves(), seconds, generator.getMoves() / seconds);
+        System.out.printf("Move latency: p50 %d us, p99 %d us, max %d us%n",
+                generator.getLatencyPercentile(50), generator.getLatencyPercentile(99),
+                generator.getLatencyPercentile(100));
+    }
+}
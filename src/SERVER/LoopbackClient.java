@@ -0,0 +1,49 @@
+package SERVER;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LoopbackClient class is an in-process client for testing the server:
+ * it reads a PlayerSession like a remote client would and lets an AutoResponder
+ * answer every prompt, optionally after thinking for a while.
+ * Run one per session on its own (virtual) thread.
+ */
+public class LoopbackClient implements Runnable {
+    private static final long IDLE_TIMEOUT_SECONDS = 60; // Give up on a table that says nothing for this long
+
+    private final PlayerSession session;
+    private final long thinkMillis;
+    private final AutoResponder responder = new AutoResponder();
+    private int moves;
+
+    public LoopbackClient(PlayerSession session, long thinkMillis) {
+        this.session = session;
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * @return Prompts answered so far
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    @Override
+    public void run() {
+        try {
+            String line;
+            while (!responder.isOver() && (line = session.receive(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) != null) {
+                String answer = responder.respond(line);
+                if (answer != null) {
+                    if (thinkMillis > 0) {
+                        Thread.sleep(thinkMillis);
+                    }
+                    moves++;
+                    session.submit(answer);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
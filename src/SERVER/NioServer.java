@@ -0,0 +1,256 @@
+package SERVER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The NioServer class puts the GameServer's tables on the network.
+ * Every connection gets a new table with one remote seat (and some bots) and speaks the
+ * Protocol lines over the socket, one line per message, terminated by '\n'.
+ *
+ * A single event-loop thread multiplexes all connections with a Selector.
+ * Tables never touch the sockets: they only mark their connection as having output,
+ * and once per tick the loop moves all queued lines of the marked connections into
+ * their write buffers, so a burst of updates goes out in one write.
+ */
+public class NioServer implements Runnable, Closeable {
+    public static final long DEFAULT_TICK_MILLIS = 2;
+    private static final int BUFFER_SIZE = 8 * 1024; // Per connection and direction; longer lines are a protocol error
+
+    private final GameServer games;
+    private final int botsPerTable;
+    private final long tickMillis;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<Connection> pendingOutput = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private int connections;
+
+    /**
+     * @param address Where to listen (port 0 picks a free port, see getPort())
+     * @param botsPerTable Bots sitting at every connection's table
+     * @param tickMillis How often queued output is flushed
+     */
+    public NioServer(GameServer games, InetSocketAddress address, int botsPerTable, long tickMillis) throws IOException {
+        this.games = games;
+        this.botsPerTable = botsPerTable;
+        this.tickMillis = tickMillis;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return Connections currently open
+     */
+    public int getConnectionCount() {
+        return connections;
+    }
+
+    /**
+     * The event loop; returns after close().
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select(tickMillis);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.write();
+                        }
+                    } catch (IOException e) {
+                        connection.close();
+                    }
+                }
+                flushPendingOutput();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Event loop failed", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    ((Connection) key.attachment()).close();
+                }
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            } catch (IOException e) {
+                // Nothing left to do
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Table table = games.openTable(1, botsPerTable);
+            Connection connection = new Connection(channel, table.getSession(0));
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            connections++;
+            table.getSession(0).setOutputListener(connection::markPending);
+            connection.markPending(); // The table may have sent SEAT before the listener was set
+        }
+    }
+
+    /**
+     * Moves the queued lines of every connection that has output into its buffer and writes them.
+     */
+    private void flushPendingOutput() {
+        Connection connection;
+        while ((connection = pendingOutput.poll()) != null) {
+            connection.pending.set(false);
+            if (!connection.key.isValid()) {
+                continue;
+            }
+            try {
+                connection.fillOutput();
+                connection.write();
+            } catch (IOException e) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * One client socket and its seat.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final PlayerSession session;
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+        private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private SelectionKey key;
+        private byte[] unsentLine; // A line that did not fit into 'out' yet
+        private boolean over;      // OVER was queued: close once everything is written
+
+        Connection(SocketChannel channel, PlayerSession session) {
+            this.channel = channel;
+            this.session = session;
+            out.flip(); // 'out' is kept in read mode between writes
+        }
+
+        /** Called by the table's thread; queues this connection for the next tick at most once */
+        void markPending() {
+            if (pending.compareAndSet(false, true)) {
+                pendingOutput.add(this);
+            }
+        }
+
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+            in.flip();
+            int lineStart = in.position();
+            for (int i = in.position(); i < in.limit(); i++) {
+                if (in.get(i) == '\n') {
+                    byte[] line = new byte[i - lineStart];
+                    in.get(lineStart, line);
+                    session.submit(new String(line, StandardCharsets.US_ASCII).trim());
+                    lineStart = i + 1;
+                }
+            }
+            in.position(lineStart);
+            in.compact();
+            if (!in.hasRemaining()) {
+                close(); // A line longer than the buffer
+            }
+        }
+
+        void fillOutput() {
+            out.compact();
+            try {
+                while (true) {
+                    if (unsentLine == null) {
+                        String line = session.poll();
+                        if (line == null) {
+                            break;
+                        }
+                        over |= line.startsWith(Protocol.OVER);
+                        unsentLine = (line + '\n').getBytes(StandardCharsets.US_ASCII);
+                    }
+                    if (unsentLine.length > out.remaining()) {
+                        break; // Sent once the buffer has room again
+                    }
+                    out.put(unsentLine);
+                    unsentLine = null;
+                }
+            } finally {
+                out.flip();
+            }
+        }
+
+        void write() throws IOException {
+            channel.write(out);
+            if (out.hasRemaining() || unsentLine != null) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                if (!out.hasRemaining()) {
+                    fillOutput();
+                }
+            } else if (over) {
+                close();
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        void close() {
+            if (!key.isValid()) {
+                return;
+            }
+            key.cancel();
+            connections--;
+            session.setOutputListener(null);
+            session.disconnect();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+    }
+}
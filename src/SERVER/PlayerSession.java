@@ -0,0 +1,121 @@
+package SERVER;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The PlayerSession class connects one remote seat to its client through two bounded queues:
+ * the table sends Protocol lines to the outbox and waits for answers in the inbox.
+ * Both queues have a fixed capacity, so a client that stops reading costs a table no more memory:
+ * its oldest unread messages are dropped (every prompt is preceded by the full hand and top card).
+ */
+public class PlayerSession {
+    public static final int QUEUE_CAPACITY = 64;
+
+    private final int seat;
+    private final BlockingQueue<String> inbox = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final BlockingQueue<String> outbox = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private volatile boolean closed;
+    private volatile boolean disconnected;
+    private volatile int dropped;
+    private volatile Runnable outputListener;
+
+    public PlayerSession(int seat) {
+        this.seat = seat;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return true once the client has gone away; its seat is then played by the bot without waiting
+     */
+    public boolean isDisconnected() {
+        return disconnected;
+    }
+
+    /**
+     * @return Messages dropped because the client did not read them in time
+     */
+    public int getDroppedMessages() {
+        return dropped;
+    }
+
+    // --- Client side ---
+
+    /**
+     * Sends a line from the client to the table.
+     * @return false if the session is closed or the client is too far ahead of the table
+     */
+    public boolean submit(String line) {
+        return !closed && inbox.offer(line);
+    }
+
+    /**
+     * Waits for the next line from the table.
+     * @return The line, or null if nothing arrived in time
+     */
+    public String receive(long timeout, TimeUnit unit) throws InterruptedException {
+        return outbox.poll(timeout, unit);
+    }
+
+    /**
+     * @return The next line from the table, or null if there is none right now
+     */
+    public String poll() {
+        return outbox.poll();
+    }
+
+    /**
+     * Sets a callback that is run (on the table's thread) after every line the table sends,
+     * so a transport can pick the lines up without blocking a thread on receive().
+     */
+    public void setOutputListener(Runnable listener) {
+        this.outputListener = listener;
+    }
+
+    /**
+     * Tells the table the client is gone.
+     */
+    public void disconnect() {
+        disconnected = true;
+        inbox.offer(""); // Wakes up a table waiting for an answer
+    }
+
+    // --- Table side ---
+
+    /**
+     * Queues a line for the client, dropping the oldest unread line if the outbox is full.
+     * Only the table's thread sends, so the retry loop always ends.
+     */
+    void send(String line) {
+        while (!outbox.offer(line)) {
+            if (outbox.poll() != null) {
+                dropped++;
+            }
+        }
+        Runnable listener = outputListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Waits for the next line from the client.
+     * @return The line, or null on timeout
+     */
+    String awaitLine(long timeoutNanos) throws InterruptedException {
+        return inbox.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void close() {
+        closed = true;
+        inbox.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package SERVER;
+
+import CARDS.Card;
+import PLAYERS.Hand;
+
+/**
+ * The Protocol class defines the text lines a table and a remote player exchange.
+ * One message per line, words separated by single spaces, cards sent as Card IDs
+ * and colors as Card.Color ordinals.
+ *
+ * Every prompt carries a sequence number and the answer has to start with it,
+ * so a late answer to a prompt that already timed out is never taken for the next one:
+ * <pre>
+ *   server: PLAY? 17          client: 17 PLAY 23   (or: 17 DRAW)
+ *   server: COLOR? 18         client: 18 COLOR 2
+ *   server: DRAWN? 19 23      client: 19 YES       (or: 19 NO)
+ *   server: UNO? 20           client: 20 UNO       (anything else forgets to call it)
+ * </pre>
+ * House rules add three prompts:
+ * <pre>
+ *   server: STACK? 21 4       client: 21 PLAY 64   (or: 21 DRAW to take the 4 cards; stacking)
+ *   server: JUMP? 22 23       client: 22 YES       (or: 22 NO; jump-in, declined if unanswered)
+ *   server: SWAP? 23          client: 23 SWAP 2    (seven-swap)
+ * </pre>
+ * Spectators only receive: a KEY line with the whole visible state, then one DELTA line per turn
+ * with just what changed. A DELTA applies to the state of the previous version.
+ */
+public final class Protocol {
+    // Server -> client
+    public static final String SEAT = "SEAT";          // SEAT <seat> <players>
+    public static final String HAND = "HAND";          // HAND <id> <id> ...
+    public static final String TOP = "TOP";            // TOP <top id> <active color>
+    public static final String PROMPT_PLAY = "PLAY?";  // PLAY? <seq>
+    public static final String PROMPT_COLOR = "COLOR?"; // COLOR? <seq>
+    public static final String PROMPT_DRAWN = "DRAWN?"; // DRAWN? <seq> <drawn id>
+    public static final String PROMPT_UNO = "UNO?";    // UNO? <seq>
+    public static final String PROMPT_STACK = "STACK?"; // STACK? <seq> <cards to draw> (house rule: stacking)
+    public static final String PROMPT_JUMP = "JUMP?";  // JUMP? <seq> <id> (house rule: jump-in)
+    public static final String PROMPT_SWAP = "SWAP?";  // SWAP? <seq> (house rule: seven-swap)
+    public static final String PLAYED = "PLAYED";      // PLAYED <seat> <id>
+    public static final String DREW = "DREW";          // DREW <seat> (the card stays hidden)
+    public static final String CHOSE = "CHOSE";        // CHOSE <seat> <color>
+    public static final String CALLED_UNO = "CALLED";  // CALLED <seat>
+    public static final String SWAPPED = "SWAPPED";    // SWAPPED <seat> <other seat> (house rule: seven-swap)
+    public static final String ROTATED = "ROTATED";    // ROTATED <1 clockwise, 0 not> (house rule: zero-rotate)
+    public static final String ROUND = "ROUND";        // ROUND <winner seat or -1> <points>
+    public static final String OVER = "OVER";          // OVER <winner seat or -1>; the last message
+
+    // Server -> spectator (see SpectatorFeed), then OVER
+    public static final String KEYFRAME = "KEY";       // KEY <version> <round> <top id> <color> <1 clockwise, 0 not> <seat to move> <hand size>...
+    public static final String DELTA = "DELTA";        // DELTA <version> <change>... with changes R<round> T<top id> C<color> D<1/0> P<seat> H<seat>:<size>
+
+    // Client -> server, after the sequence number
+    public static final String PLAY = "PLAY";          // PLAY <id>
+    public static final String DRAW = "DRAW";
+    public static final String COLOR = "COLOR";        // COLOR <color>
+    public static final String YES = "YES";
+    public static final String NO = "NO";
+    public static final String UNO = "UNO";
+    public static final String SWAP = "SWAP";          // SWAP <seat>
+
+    private Protocol() {
+    }
+
+    public static String seat(int seat, int players) {
+        return SEAT + " " + seat + " " + players;
+    }
+
+    public static String hand(Hand hand) {
+        StringBuilder line = new StringBuilder(HAND.length() + hand.size() * 3);
+        line.append(HAND);
+        for (int i = 0; i < hand.size(); i++) {
+            line.append(' ').append(hand.get(i).getId());
+        }
+        return line.toString();
+    }
+
+    public static String top(Card topCard, Card.Color activeColor) {
+        return TOP + " " + topCard.getId() + " " + (activeColor == null ? Card.NO_COLOR : activeColor.ordinal());
+    }
+
+    public static String round(int winnerSeat, int points) {
+        return ROUND + " " + winnerSeat + " " + points;
+    }
+
+    public static String over(int winnerSeat) {
+        return OVER + " " + winnerSeat;
+    }
+}
@@ -0,0 +1,182 @@
+package SERVER;
+
+import CARDS.Card;
+import GAMEPLAY.GameState;
+import PLAYERS.BotPlayer;
+import PLAYERS.Hand;
+import PLAYERS.Player;
+
+/**
+ * The RemotePlayer class is a seat whose decisions come from a client through a PlayerSession.
+ * Every question is sent as a Protocol prompt and the table's thread waits for the answer;
+ * if none arrives within the decision timeout, or the answer is not a legal move,
+ * the seat plays that move like a BotPlayer, so a stalled client only slows down its own table.
+ * The one exception is jump-in: a seat that does not answer in time does not jump in.
+ */
+public class RemotePlayer extends BotPlayer {
+    private final PlayerSession session;
+    private final long timeoutNanos;
+    private int sequence;
+    private int timeouts;
+    private int invalidAnswers;
+
+    /**
+     * @param decisionTimeoutMillis How long to wait for each answer
+     */
+    public RemotePlayer(String name, PlayerSession session, long decisionTimeoutMillis) {
+        super(name);
+        this.session = session;
+        this.timeoutNanos = decisionTimeoutMillis * 1_000_000L;
+    }
+
+    public PlayerSession getSession() {
+        return session;
+    }
+
+    /**
+     * @return Prompts that were answered by the bot because the client was too slow
+     */
+    public int getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * @return Answers that were not legal moves (played by the bot instead)
+     */
+    public int getInvalidAnswers() {
+        return invalidAnswers;
+    }
+
+    @Override
+    public Card chooseCardToPlay(GameState state, Player player) {
+        Hand hand = getHand();
+        Card topCard = state.getTopDiscard();
+        session.send(Protocol.hand(hand));
+        session.send(Protocol.top(topCard, state.getActiveColor()));
+        String[] answer = ask(Protocol.PROMPT_PLAY, "");
+        if (answer != null) {
+            if (answer.length == 1 && answer[0].equals(Protocol.DRAW)) {
+                return null;
+            }
+            if (answer.length == 2 && answer[0].equals(Protocol.PLAY)) {
+                int cardId = parseInt(answer[1]);
+                if (cardId >= 0 && cardId < Card.ID_COUNT && hand.countById(cardId) > 0
+                        && Card.byId(cardId).canPlayOn(topCard, state.getActiveColor())) {
+                    return Card.byId(cardId);
+                }
+            }
+            invalidAnswers++;
+        }
+        return super.chooseCardToPlay(state, player);
+    }
+
+    @Override
+    public Card.Color chooseColor(GameState state, Player player) {
+        String[] answer = ask(Protocol.PROMPT_COLOR, "");
+        if (answer != null) {
+            if (answer.length == 2 && answer[0].equals(Protocol.COLOR)) {
+                int color = parseInt(answer[1]);
+                if (color >= 0 && color < Card.Color.values().length && color != Card.Color.WILD.ordinal()) {
+                    return Card.Color.values()[color];
+                }
+            }
+            invalidAnswers++;
+        }
+        return super.chooseColor(state, player);
+    }
+
+    @Override
+    public boolean playDrawnCard(GameState state, Player player, Card drawnCard) {
+        String[] answer = ask(Protocol.PROMPT_DRAWN, " " + drawnCard.getId());
+        return answer == null || !answer[0].equals(Protocol.NO);
+    }
+
+    @Override
+    public Card answerStack(GameState state, Player player, int cardsToDraw) {
+        session.send(Protocol.hand(getHand()));
+        session.send(Protocol.top(state.getTopDiscard(), state.getActiveColor()));
+        String[] answer = ask(Protocol.PROMPT_STACK, " " + cardsToDraw);
+        if (answer != null) {
+            if (answer.length == 1 && answer[0].equals(Protocol.DRAW)) {
+                return null;
+            }
+            if (answer.length == 2 && answer[0].equals(Protocol.PLAY)) {
+                int cardId = parseInt(answer[1]);
+                if (cardId >= 0 && cardId < Card.ID_COUNT && getHand().countById(cardId) > 0) {
+                    return Card.byId(cardId); // The rules check that it can be stacked
+                }
+            }
+            invalidAnswers++;
+        }
+        return super.answerStack(state, player, cardsToDraw);
+    }
+
+    @Override
+    public boolean jumpIn(GameState state, Player player, Card card) {
+        String[] answer = ask(Protocol.PROMPT_JUMP, " " + card.getId());
+        return answer != null && answer[0].equals(Protocol.YES); // Never play a card for a silent client
+    }
+
+    @Override
+    public int chooseSwapSeat(GameState state, Player player) {
+        String[] answer = ask(Protocol.PROMPT_SWAP, "");
+        if (answer != null) {
+            if (answer.length == 2 && answer[0].equals(Protocol.SWAP)) {
+                int seat = parseInt(answer[1]);
+                if (seat >= 0 && seat < state.getPlayerCount() && state.getPlayers().get(seat) != player) {
+                    return seat;
+                }
+            }
+            invalidAnswers++;
+        }
+        return super.chooseSwapSeat(state, player);
+    }
+
+    @Override
+    public boolean shouldCallUNO(GameState state, Player player) {
+        String[] answer = ask(Protocol.PROMPT_UNO, "");
+        return answer == null || answer[0].equals(Protocol.UNO); // The bot fallback always calls UNO
+    }
+
+    /**
+     * Sends a prompt and waits for the answer with the same sequence number.
+     * @return The words of the answer after the sequence number, or null on timeout
+     */
+    private String[] ask(String prompt, String arguments) {
+        if (session.isDisconnected()) {
+            return null;
+        }
+        int seq = ++sequence;
+        session.send(prompt + " " + seq + arguments);
+        String prefix = seq + " ";
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            while (true) {
+                long remaining = deadline - System.nanoTime();
+                String line = remaining > 0 ? session.awaitLine(remaining) : null;
+                if (line == null) {
+                    timeouts++;
+                    return null;
+                }
+                if (session.isDisconnected()) {
+                    return null;
+                }
+                if (line.startsWith(prefix) && line.length() > prefix.length()) {
+                    return line.substring(prefix.length()).split(" ");
+                }
+                // An answer to an older prompt that arrived too late, skip it
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // The table is shutting down; the bot finishes the move
+            return null;
+        }
+    }
+
+    private static int parseInt(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package SERVER;
+
+import CARDS.Card;
+import GAMEPLAY.GameListener;
+
+/**
+ * The SessionBroadcaster class is the network sink of a table's event bus:
+ * it tells every remote seat what the others do, as Protocol lines.
+ * Drawn cards are announced without the card, so nobody learns another seat's hand.
+ * PlayerSession.send never blocks, so it is subscribed directly on the table's thread.
+ */
+public class SessionBroadcaster implements GameListener {
+    private final PlayerSession[] sessions; // null for bot seats
+
+    public SessionBroadcaster(PlayerSession[] sessions) {
+        this.sessions = sessions;
+    }
+
+    @Override
+    public void cardDrawn(int seat, Card card) {
+        broadcast(Protocol.DREW + " " + seat);
+    }
+
+    @Override
+    public void cardPlayed(int seat, Card card) {
+        broadcast(Protocol.PLAYED + " " + seat + " " + card.getId());
+    }
+
+    @Override
+    public void colorChosen(int seat, Card.Color color) {
+        broadcast(Protocol.CHOSE + " " + seat + " " + color.ordinal());
+    }
+
+    @Override
+    public void unoCalled(int seat) {
+        broadcast(Protocol.CALLED_UNO + " " + seat);
+    }
+
+    @Override
+    public void handsSwapped(int seat, int otherSeat) {
+        broadcast(Protocol.SWAPPED + " " + seat + " " + otherSeat);
+    }
+
+    @Override
+    public void handsRotated(boolean clockwise) {
+        broadcast(Protocol.ROTATED + " " + (clockwise ? 1 : 0));
+    }
+
+    @Override
+    public void roundEnded(int winnerSeat, int points) {
+        broadcast(Protocol.round(winnerSeat, points));
+    }
+
+    private void broadcast(String line) {
+        for (PlayerSession session : sessions) {
+            if (session != null) {
+                session.send(line);
+            }
+        }
+    }
+}
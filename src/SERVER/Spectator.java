@@ -0,0 +1,96 @@
+package SERVER;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Spectator class is one watcher of a SpectatorFeed: a bounded queue of frames, each one
+ * Protocol line ending in '\n' as US-ASCII bytes. The byte arrays are shared by all spectators
+ * of the feed, so they must not be changed (wrap them in a read-only ByteBuffer to write them).
+ *
+ * A spectator that has QUEUE_CAPACITY frames unread is behind: its backlog is thrown away and
+ * replaced by a single KEY frame of the current state, so it catches up in one step.
+ */
+public class Spectator {
+    public static final int QUEUE_CAPACITY = 16;
+
+    private final SpectatorFeed feed;
+    private final BlockingQueue<byte[]> frames = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private volatile long dropped;
+    private volatile Runnable outputListener;
+
+    Spectator(SpectatorFeed feed) {
+        this.feed = feed;
+    }
+
+    /**
+     * @return The next frame, or null if there is none right now
+     */
+    public byte[] poll() {
+        return frames.poll();
+    }
+
+    /**
+     * Waits for the next frame.
+     * @return The frame, or null if nothing arrived in time
+     */
+    public byte[] receive(long timeout, TimeUnit unit) throws InterruptedException {
+        return frames.poll(timeout, unit);
+    }
+
+    /**
+     * @return Frames thrown away because they were not read in time
+     */
+    public long getDroppedFrames() {
+        return dropped;
+    }
+
+    /**
+     * Sets a callback that is run (on the table's thread) after every frame, like PlayerSession.setOutputListener.
+     */
+    public void setOutputListener(Runnable listener) {
+        this.outputListener = listener;
+    }
+
+    /**
+     * Stops watching.
+     */
+    public void close() {
+        feed.unwatch(this);
+        frames.clear();
+    }
+
+    /**
+     * Queues a frame; called by the feed with its lock held.
+     */
+    void deliver(byte[] frame) {
+        if (!frames.offer(frame)) {
+            // Behind: everything queued is older than the current state, so send that instead
+            dropped += frames.size() + 1;
+            frames.clear();
+            frames.offer(feed.currentKeyframe());
+        }
+        notifyListener();
+    }
+
+    /**
+     * Queues the OVER frame, which is never thrown away; called by the feed with its lock held.
+     */
+    void finish(byte[] over) {
+        if (frames.remainingCapacity() == 0) {
+            dropped += frames.size();
+            frames.clear();
+            frames.offer(feed.currentKeyframe());
+        }
+        frames.offer(over);
+        notifyListener();
+    }
+
+    private void notifyListener() {
+        Runnable listener = outputListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package SERVER;
+
+import CARDS.Card;
+import GAMEPLAY.GameListener;
+import GAMEPLAY.GameState;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The SpectatorFeed class streams what everybody at a table can see (top card, active color,
+ * direction, seat to move, hand sizes, round) to any number of Spectators.
+ *
+ * Once per turn the feed compares the game state with what it sent last and encodes only the
+ * changes as one DELTA line (see Protocol). The line is encoded once, into one byte array that all
+ * spectators share. Every KEYFRAME_INTERVAL frames, and at the start of every round, a KEY line with
+ * the whole state is sent instead, so a client that lost track can start over.
+ * A spectator who joins late gets the current KEY line first. A spectator who falls behind does not
+ * make the feed buffer more: its backlog is replaced by one KEY line of the current state.
+ *
+ * Subscribed on the table's event bus, so it runs on the table's thread;
+ * spectators may join and leave from any thread.
+ */
+public class SpectatorFeed implements GameListener {
+    public static final int KEYFRAME_INTERVAL = 32;
+
+    private final GameState state;
+    private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+
+    // What was sent last (guarded by this)
+    private final int[] handSizes;
+    private int version;
+    private int round;
+    private int top = Card.NO_CARD;
+    private int color = Card.NO_COLOR;
+    private boolean clockwise = true;
+    private int current;
+    private int sinceKeyframe;
+    private byte[] keyframe;       // KEY line of the current version, once someone needed it
+    private byte[] closing;        // OVER line once the game is over
+    private final StringBuilder line = new StringBuilder(64);
+
+    private long frames;
+    private long keyframes;
+    private long bytes;
+
+    public SpectatorFeed(GameState state) {
+        this.state = state;
+        this.handSizes = new int[state.getPlayerCount()];
+    }
+
+    /**
+     * Adds a spectator, who gets the current state as a KEY line right away.
+     */
+    public synchronized Spectator watch() {
+        Spectator spectator = new Spectator(this);
+        if (closing != null) {
+            spectator.finish(closing);
+            return spectator;
+        }
+        spectator.deliver(currentKeyframe());
+        spectators.add(spectator);
+        return spectator;
+    }
+
+    void unwatch(Spectator spectator) {
+        spectators.remove(spectator);
+    }
+
+    public int getSpectatorCount() {
+        return spectators.size();
+    }
+
+    /** Frames sent (each once, whatever the number of spectators) */
+    public synchronized long getFrameCount() {
+        return frames;
+    }
+
+    public synchronized long getKeyframeCount() {
+        return keyframes;
+    }
+
+    /** Bytes encoded for all frames (each once) */
+    public synchronized long getEncodedBytes() {
+        return bytes;
+    }
+
+    // --- Events ---
+
+    @Override
+    public void turnStarted(int seat, int turn) {
+        publish();
+    }
+
+    @Override
+    public void roundEnded(int winnerSeat, int points) {
+        publish();
+    }
+
+    /**
+     * Sends OVER to every spectator and drops them all; called by the table once the game is over.
+     */
+    public synchronized void close(int winnerSeat) {
+        closing = (Protocol.over(winnerSeat) + '\n').getBytes(StandardCharsets.US_ASCII);
+        for (Spectator spectator : spectators) {
+            spectator.finish(closing);
+        }
+        spectators.clear();
+    }
+
+    /**
+     * Encodes what changed since the last frame and hands the frame to every spectator.
+     */
+    private synchronized void publish() {
+        if (closing != null) {
+            return;
+        }
+        int newRound = state.getRoundNumber();
+        int newTop = state.getTopDiscard() == null ? Card.NO_CARD : state.getTopDiscard().getId();
+        int newColor = state.getActiveColor() == null ? Card.NO_COLOR : state.getActiveColor().ordinal();
+        boolean newClockwise = state.isClockwise();
+        int newCurrent = state.getCurrentPlayerIndex();
+
+        line.setLength(0);
+        line.append(Protocol.DELTA).append(' ').append(version + 1);
+        int header = line.length();
+        if (newRound != round) line.append(" R").append(newRound);
+        if (newTop != top) line.append(" T").append(newTop);
+        if (newColor != color) line.append(" C").append(newColor);
+        if (newClockwise != clockwise) line.append(" D").append(newClockwise ? 1 : 0);
+        if (newCurrent != current) line.append(" P").append(newCurrent);
+        for (int seat = 0; seat < handSizes.length; seat++) {
+            int size = state.getPlayers().get(seat).getHand().size();
+            if (size != handSizes[seat]) {
+                line.append(" H").append(seat).append(':').append(size);
+                handSizes[seat] = size;
+            }
+        }
+        if (line.length() == header) {
+            return; // Nothing a spectator could see has changed
+        }
+        boolean newRoundStarted = newRound != round;
+        round = newRound;
+        top = newTop;
+        color = newColor;
+        clockwise = newClockwise;
+        current = newCurrent;
+        version++;
+        keyframe = null;
+
+        byte[] frame;
+        if (newRoundStarted || ++sinceKeyframe >= KEYFRAME_INTERVAL) {
+            frame = currentKeyframe();
+            sinceKeyframe = 0;
+        } else {
+            frame = encode(line);
+        }
+        for (Spectator spectator : spectators) {
+            spectator.deliver(frame);
+        }
+    }
+
+    /**
+     * The KEY line of the last version sent, encoded at most once per version
+     */
+    synchronized byte[] currentKeyframe() {
+        if (keyframe == null) {
+            StringBuilder key = new StringBuilder(64);
+            key.append(Protocol.KEYFRAME).append(' ').append(version).append(' ').append(round)
+                    .append(' ').append(top).append(' ').append(color).append(' ').append(clockwise ? 1 : 0)
+                    .append(' ').append(current);
+            for (int size : handSizes) {
+                key.append(' ').append(size);
+            }
+            keyframe = encode(key);
+            keyframes++;
+        }
+        return keyframe;
+    }
+
+    private byte[] encode(CharSequence text) {
+        byte[] frame = new byte[text.length() + 1];
+        for (int i = 0; i < text.length(); i++) {
+            frame[i] = (byte) text.charAt(i); // Protocol lines are ASCII
+        }
+        frame[text.length()] = '\n';
+        frames++;
+        bytes += frame.length;
+        return frame;
+    }
+}
@@ -0,0 +1,127 @@
+package SERVER;
+
+import CARDS.Card;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The SpectatorView class is the client side of a SpectatorFeed: it rebuilds the visible state
+ * of a table from KEY and DELTA lines. Until the first KEY line, and after a DELTA that does not
+ * follow the last version, it is out of sync and ignores DELTA lines until the next KEY line.
+ */
+public class SpectatorView {
+    private int[] handSizes = new int[0];
+    private int version = -1; // -1: out of sync
+    private int round;
+    private int top = Card.NO_CARD;
+    private int color = Card.NO_COLOR;
+    private boolean clockwise = true;
+    private int current;
+    private boolean over;
+    private int winnerSeat = -1;
+
+    /**
+     * Applies one frame as a Spectator receives it.
+     */
+    public void apply(byte[] frame) {
+        apply(new String(frame, StandardCharsets.US_ASCII).trim());
+    }
+
+    public void apply(String line) {
+        String[] words = line.split(" ");
+        switch (words[0]) {
+            case Protocol.KEYFRAME:
+                version = Integer.parseInt(words[1]);
+                round = Integer.parseInt(words[2]);
+                top = Integer.parseInt(words[3]);
+                color = Integer.parseInt(words[4]);
+                clockwise = words[5].equals("1");
+                current = Integer.parseInt(words[6]);
+                handSizes = new int[words.length - 7];
+                for (int seat = 0; seat < handSizes.length; seat++) {
+                    handSizes[seat] = Integer.parseInt(words[7 + seat]);
+                }
+                break;
+            case Protocol.DELTA:
+                int next = Integer.parseInt(words[1]);
+                if (version < 0 || next != version + 1) {
+                    version = -1; // Missed something: wait for the next KEY line
+                    return;
+                }
+                version = next;
+                for (int i = 2; i < words.length; i++) {
+                    String change = words[i];
+                    switch (change.charAt(0)) {
+                        case 'R': round = Integer.parseInt(change.substring(1)); break;
+                        case 'T': top = Integer.parseInt(change.substring(1)); break;
+                        case 'C': color = Integer.parseInt(change.substring(1)); break;
+                        case 'D': clockwise = change.charAt(1) == '1'; break;
+                        case 'P': current = Integer.parseInt(change.substring(1)); break;
+                        case 'H':
+                            int colon = change.indexOf(':');
+                            handSizes[Integer.parseInt(change.substring(1, colon))] =
+                                    Integer.parseInt(change.substring(colon + 1));
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown change " + change + " in: " + line);
+                    }
+                }
+                break;
+            case Protocol.OVER:
+                over = true;
+                winnerSeat = Integer.parseInt(words[1]);
+                break;
+            default:
+                throw new IllegalArgumentException("Not a spectator line: " + line);
+        }
+    }
+
+    /**
+     * @return false before the first KEY line and after a missed DELTA, until the next KEY line
+     */
+    public boolean isInSync() {
+        return version >= 0;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    /** @return The top card's ID, or Card.NO_CARD */
+    public int getTopId() {
+        return top;
+    }
+
+    /** @return The active color's ordinal, or Card.NO_COLOR */
+    public int getActiveColor() {
+        return color;
+    }
+
+    public boolean isClockwise() {
+        return clockwise;
+    }
+
+    public int getCurrentSeat() {
+        return current;
+    }
+
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    public int getSeatCount() {
+        return handSizes.length;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+}
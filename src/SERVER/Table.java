@@ -0,0 +1,330 @@
+package SERVER;
+
+import CARDS.Deck;
+import GAMEPLAY.GameCheckpoint;
+import GAMEPLAY.GameListener;
+import GAMEPLAY.StandardRules;
+import GAMEPLAY.TurnRules;
+import GAMEPLAY.UnoGame;
+import METRICS.GameMetrics;
+import PLAYERS.BotPlayer;
+import PLAYERS.Player;
+import RULES.Referee;
+import VARIATIONS.HouseRule;
+import VARIATIONS.RuleTable;
+import VARIATIONS.RunVariations;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Table class is one game hosted by the GameServer: its own players, deck and engine,
+ * played from start to finish by run() on one (virtual) thread.
+ * Tables share nothing, so a failing or stalled table never affects another one.
+ * Any number of spectators can watch a table through its SpectatorFeed.
+ * With a CheckpointStore (setCheckpoints) the table saves itself as it plays, and restore() brings
+ * it back after a restart.
+ */
+public class Table implements Runnable {
+    public enum Status { WAITING, RUNNING, FINISHED, FAILED }
+
+    // Checkpoint phases
+    private static final byte IN_ROUND = 0;
+    private static final byte BETWEEN_ROUNDS = 1;
+
+    private final int id;
+    private final List<Player> players = new ArrayList<>();
+    private final PlayerSession[] sessions; // null for bot seats
+    private final UnoGame game;
+    private final TurnRules rules;
+    private final SpectatorFeed feed;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile Status status = Status.WAITING;
+    private volatile Throwable failure;
+    private volatile int winnerSeat = -1;
+    private volatile int rounds;
+    private CheckpointStore checkpoints;
+    private int checkpointTurns;
+    private int turnsSinceCheckpoint;
+    private boolean resumed;       // Restored from a checkpoint, so run() goes on instead of starting a new game
+    private boolean resumeInRound; // ... in the middle of a round rather than with the next deal
+    private ByteBuffer checkpointBuffer;
+
+    /**
+     * @param remoteSeats Seats played by clients (the first seats at the table)
+     * @param botSeats Seats played by BotPlayers
+     * @param seed Shuffle seed of the table's deck
+     * @param decisionTimeoutMillis How long a remote seat gets for each decision
+     */
+    public Table(int id, int remoteSeats, int botSeats, long seed, long decisionTimeoutMillis) {
+        this(id, remoteSeats, botSeats, seed, decisionTimeoutMillis, StandardRules.INSTANCE);
+    }
+
+    /**
+     * @param rules The table's turn rules (not shared with other tables)
+     */
+    public Table(int id, int remoteSeats, int botSeats, long seed, long decisionTimeoutMillis, TurnRules rules) {
+        if (remoteSeats + botSeats < 2) {
+            throw new IllegalArgumentException("A table needs at least 2 seats");
+        }
+        this.id = id;
+        this.rules = rules;
+        this.sessions = new PlayerSession[remoteSeats + botSeats];
+        for (int seat = 0; seat < remoteSeats; seat++) {
+            sessions[seat] = new PlayerSession(seat);
+            players.add(new RemotePlayer("Player " + (seat + 1), sessions[seat], decisionTimeoutMillis));
+        }
+        for (int seat = remoteSeats; seat < sessions.length; seat++) {
+            players.add(new BotPlayer("Bot " + (seat + 1)));
+        }
+        this.game = new UnoGame(players, new Deck(seed), new Referee(), null, rules);
+        game.getEvents().subscribe(new GameListener() {
+            @Override
+            public void roundEnded(int winnerSeat, int points) {
+                rounds++;
+            }
+        });
+        game.getEvents().subscribe(new SessionBroadcaster(sessions));
+        this.feed = new SpectatorFeed(game.getState());
+        game.getEvents().subscribe(feed);
+        game.enableMetrics(GameMetrics.global());
+    }
+
+    /**
+     * Brings a table back from its latest checkpoint (see CheckpointStore.getRecovered).
+     * The clients of the remote seats were connected to the old server and cannot attach to the new
+     * sessions, so those sessions start out disconnected and bots play the remote seats at once.
+     * @throws IllegalArgumentException if the checkpoint is damaged
+     */
+    public static Table restore(int id, ByteBuffer checkpoint, long decisionTimeoutMillis) {
+        ByteBuffer in = checkpoint.duplicate().order(checkpoint.order());
+        try {
+            byte phase = in.get();
+            int remoteSeats = in.get();
+            int botSeats = in.get();
+            int houseRules = in.get();
+            int rounds = in.getInt();
+            if (phase != IN_ROUND && phase != BETWEEN_ROUNDS || remoteSeats < 0 || botSeats < 0
+                    || remoteSeats + botSeats < 2) {
+                throw new IllegalArgumentException("Damaged checkpoint of table " + id);
+            }
+            TurnRules rules = StandardRules.INSTANCE;
+            if (houseRules >= 0) {
+                Set<HouseRule> set = EnumSet.noneOf(HouseRule.class);
+                for (HouseRule rule : HouseRule.values()) {
+                    if ((houseRules & 1 << rule.ordinal()) != 0) {
+                        set.add(rule);
+                    }
+                }
+                rules = RunVariations.compile(set);
+            }
+            Table table = new Table(id, remoteSeats, botSeats, 0, decisionTimeoutMillis, rules);
+            GameCheckpoint.restore(table.game, in);
+            for (int seat = 0; seat < remoteSeats; seat++) {
+                table.sessions[seat].disconnect();
+            }
+            table.rounds = rounds;
+            table.resumed = true;
+            table.resumeInRound = phase == IN_ROUND;
+            return table;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated checkpoint of table " + id, e);
+        }
+    }
+
+    /**
+     * Saves the table to a store as it plays: once the cards are dealt, every few turns and between rounds.
+     * The checkpoint is removed when the game is over, but kept if the table is stopped.
+     * Call before run(). Only works with StandardRules or house rules from RunVariations.
+     * @param everyTurns Turns between checkpoints within a round
+     */
+    public void setCheckpoints(CheckpointStore store, int everyTurns) {
+        if (everyTurns < 1) {
+            throw new IllegalArgumentException("Checkpoints need at least 1 turn in between: " + everyTurns);
+        }
+        if (rules != StandardRules.INSTANCE && !(rules instanceof RuleTable)) {
+            throw new IllegalStateException("Cannot checkpoint a table with " + rules.getClass().getSimpleName());
+        }
+        this.checkpoints = store;
+        this.checkpointTurns = everyTurns;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getSeatCount() {
+        return sessions.length;
+    }
+
+    /**
+     * @return The session of a remote seat, or null for a bot seat
+     */
+    public PlayerSession getSession(int seat) {
+        return sessions[seat];
+    }
+
+    /**
+     * Starts watching the table: the spectator gets the current state, then one update per turn.
+     */
+    public Spectator watch() {
+        return feed.watch();
+    }
+
+    public SpectatorFeed getFeed() {
+        return feed;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Why the table failed, or null
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return The seat that won the game, or -1 while it is running or if it was stopped
+     */
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Waits until the game is over.
+     * @return false if it was still running after the timeout
+     */
+    public boolean awaitDone(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    /**
+     * Plays the whole game. Stops after the current round if the thread is interrupted.
+     */
+    @Override
+    public void run() {
+        status = Status.RUNNING;
+        try {
+            for (int seat = 0; seat < sessions.length; seat++) {
+                if (sessions[seat] != null) {
+                    sessions[seat].send(Protocol.seat(seat, sessions.length));
+                }
+            }
+            boolean dealt = resumeInRound;
+            if (!resumed) {
+                game.startGame();
+            }
+            Player winner = game.getGameWinner();
+            while (winner == null && !Thread.currentThread().isInterrupted()) {
+                if (!dealt) {
+                    game.startRound();
+                    checkpoint(IN_ROUND);
+                }
+                dealt = false;
+                game.continueRound(this::turnPlayed);
+                winner = game.getGameWinner();
+                if (winner == null) {
+                    checkpoint(BETWEEN_ROUNDS);
+                }
+            }
+            winnerSeat = players.indexOf(winner);
+            broadcast(Protocol.over(winnerSeat));
+            status = Status.FINISHED;
+            if (checkpoints != null && winner != null) {
+                checkpoints.remove(id);
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+            status = Status.FAILED;
+            broadcast(Protocol.over(-1));
+            if (checkpoints != null) {
+                checkpoints.remove(id);
+            }
+        } finally {
+            for (PlayerSession session : sessions) {
+                if (session != null) {
+                    session.close();
+                }
+            }
+            feed.close(winnerSeat);
+            done.countDown();
+        }
+    }
+
+    private void turnPlayed() {
+        if (++turnsSinceCheckpoint >= checkpointTurns) {
+            checkpoint(IN_ROUND);
+        }
+    }
+
+    private void checkpoint(byte phase) {
+        if (checkpoints == null) {
+            return;
+        }
+        turnsSinceCheckpoint = 0;
+        if (checkpointBuffer == null) {
+            checkpointBuffer = ByteBuffer.allocate(1024);
+        }
+        while (true) {
+            try {
+                checkpointBuffer.clear();
+                writeCheckpoint(phase, checkpointBuffer);
+                break;
+            } catch (BufferOverflowException e) {
+                checkpointBuffer = ByteBuffer.allocate(checkpointBuffer.capacity() * 2);
+            }
+        }
+        byte[] bytes = new byte[checkpointBuffer.position()];
+        checkpointBuffer.flip().get(bytes);
+        checkpoints.submit(id, bytes);
+    }
+
+    // Phase, seats, house rules (-1 for StandardRules), rounds, then GameCheckpoint
+    private void writeCheckpoint(byte phase, ByteBuffer out) {
+        int houseRules = -1;
+        if (rules instanceof RuleTable table) {
+            houseRules = 0;
+            for (HouseRule rule : table.getHouseRules()) {
+                houseRules |= 1 << rule.ordinal();
+            }
+        }
+        int remoteSeats = 0;
+        for (PlayerSession session : sessions) {
+            remoteSeats += session == null ? 0 : 1;
+        }
+        out.put(phase).put((byte) remoteSeats).put((byte) (sessions.length - remoteSeats)).put((byte) houseRules);
+        out.putInt(rounds);
+        GameCheckpoint.write(game, out);
+    }
+
+    private void broadcast(String line) {
+        for (PlayerSession session : sessions) {
+            if (session != null) {
+                session.send(line);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Table " + id + " (" + status + ")";
+    }
+}
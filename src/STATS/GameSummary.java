@@ -0,0 +1,117 @@
+package STATS;
+
+import java.util.Arrays;
+
+/**
+ * The GameSummary class is one finished game as the statistics store takes it:
+ * the game's variant and length and the totals of every seat.
+ * StatsRecorder fills one from the game's events; it can be reused for the next game.
+ */
+public class GameSummary {
+    private String variant = "standard";
+    private int rounds;
+    private int winnerSeat = -1;
+    private String[] strategies = new String[0];
+    private int[] points = new int[0];
+    private int[] roundsWon = new int[0];
+    private int[] cardsDrawn = new int[0];
+    private int[] cardsPlayed = new int[0];
+    private int[] unoPenalties = new int[0];
+
+    /**
+     * Clears all totals for a game with this many players.
+     */
+    public void reset(int players) {
+        if (strategies.length != players) {
+            strategies = new String[players];
+            points = new int[players];
+            roundsWon = new int[players];
+            cardsDrawn = new int[players];
+            cardsPlayed = new int[players];
+            unoPenalties = new int[players];
+        } else {
+            Arrays.fill(points, 0);
+            Arrays.fill(roundsWon, 0);
+            Arrays.fill(cardsDrawn, 0);
+            Arrays.fill(cardsPlayed, 0);
+            Arrays.fill(unoPenalties, 0);
+        }
+        rounds = 0;
+        winnerSeat = -1;
+    }
+
+    public int getPlayerCount() {
+        return strategies.length;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public void setVariant(String variant) {
+        this.variant = variant;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public void addRound(int winnerSeat) {
+        rounds++;
+        if (winnerSeat >= 0) {
+            roundsWon[winnerSeat]++;
+        }
+    }
+
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    public void setWinnerSeat(int winnerSeat) {
+        this.winnerSeat = winnerSeat;
+    }
+
+    public String getStrategy(int seat) {
+        return strategies[seat];
+    }
+
+    public void setStrategy(int seat, String strategy) {
+        strategies[seat] = strategy;
+    }
+
+    public int getPoints(int seat) {
+        return points[seat];
+    }
+
+    public void setPoints(int seat, int gamePoints) {
+        points[seat] = gamePoints;
+    }
+
+    public int getRoundsWon(int seat) {
+        return roundsWon[seat];
+    }
+
+    public int getCardsDrawn(int seat) {
+        return cardsDrawn[seat];
+    }
+
+    public void addCardDrawn(int seat) {
+        cardsDrawn[seat]++;
+    }
+
+    public int getCardsPlayed(int seat) {
+        return cardsPlayed[seat];
+    }
+
+    public void addCardPlayed(int seat) {
+        cardsPlayed[seat]++;
+    }
+
+    public int getUnoPenalties(int seat) {
+        return unoPenalties[seat];
+    }
+
+    public void addUnoPenalty(int seat) {
+        unoPenalties[seat]++;
+    }
+}
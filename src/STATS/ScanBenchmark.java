@@ -0,0 +1,70 @@
+package STATS;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * The ScanBenchmark class times aggregate queries over a large statistics store.
+ * Simulating 100M rows of real games takes hours, so it fills the store with random
+ * game summaries of the same shape (4 seats, a few strategies and variants) first.
+ *
+ * Usage: java STATS.ScanBenchmark [directory] [rows]   (default: a temp directory and 100M rows)
+ */
+public class ScanBenchmark {
+    private static final String[] STRATEGIES = { "BotPlayer", "MctsBotPlayer", "RemotePlayer" };
+    private static final String[] VARIANTS = { "standard", "STACKING", "JUMP_IN+SEVEN_SWAP" };
+
+    public static void main(String[] args) throws IOException {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : Paths.get(System.getProperty("java.io.tmpdir"), "uno-stats");
+        long rows = args.length > 1 ? Long.parseLong(args[1]) : 100_000_000L;
+        try (StatsStore store = StatsStore.open(directory)) {
+            fill(store, rows);
+            System.out.printf("%,d rows in %d segments%n", store.getRowCount(), store.getSegmentCount());
+
+            time("Win rate by seat", () -> store.query().groupBy(StatsColumn.SEAT).aggregate(StatsColumn.WON));
+            time("Win rate and cards drawn by strategy", () -> store.query()
+                    .groupBy(StatsColumn.STRATEGY).aggregate(StatsColumn.WON, StatsColumn.CARDS_DRAWN));
+            time("MctsBotPlayer by variant", () -> store.query().where(StatsColumn.STRATEGY, "MctsBotPlayer")
+                    .groupBy(StatsColumn.VARIANT).aggregate(StatsColumn.WON, StatsColumn.POINTS));
+        }
+    }
+
+    private static void fill(StatsStore store, long rows) throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        GameSummary game = new GameSummary();
+        long start = System.nanoTime();
+        for (long row = store.getRowCount(); row < rows; row += game.getPlayerCount()) {
+            game.reset(4);
+            // Stores are usually filled by one tournament per variant, so variants come in long runs
+            game.setVariant(VARIANTS[(int) (row * VARIANTS.length / rows)]);
+            int rounds = 1 + random.nextInt(12);
+            for (int round = 0; round < rounds; round++) {
+                game.addRound(random.nextInt(4));
+            }
+            game.setWinnerSeat(random.nextInt(4));
+            for (int seat = 0; seat < 4; seat++) {
+                game.setStrategy(seat, STRATEGIES[random.nextInt(STRATEGIES.length)]);
+                game.setPoints(seat, seat == game.getWinnerSeat() ? 500 + random.nextInt(200) : random.nextInt(500));
+                int drawn = random.nextInt(20 * rounds);
+                for (int i = 0; i < drawn; i++) {
+                    game.addCardDrawn(seat);
+                }
+            }
+            store.appendGame(game);
+        }
+        store.flush();
+        if (System.nanoTime() - start > 1_000_000_000L) {
+            System.out.printf("Filled in %.1f s%n", (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private static void time(String name, Supplier<?> query) {
+        query.get(); // Warm-up, maps the pages in
+        long start = System.nanoTime();
+        Object result = query.get();
+        System.out.printf("%s: %.2f s%n  %s%n", name, (System.nanoTime() - start) / 1e9, result);
+    }
+}
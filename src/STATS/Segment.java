@@ -0,0 +1,283 @@
+package STATS;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The Segment class is one immutable, memory-mapped file of the statistics store.
+ *
+ * Every column is encoded on its own, by the range of its values in the segment
+ * (frame of reference: value - base is stored):
+ * CONSTANT stores nothing, BITS one bit per row, then 1, 2 or 4 bytes per row.
+ * A column that never changes in a segment (variant, player count, often the strategy) costs no space.
+ *
+ * Layout (little-endian):
+ * <pre>
+ *   0  "UNOS", version, column count, 2 bytes padding
+ *   8  row count (int), padding (int)
+ *  16  strategy mask (long): bit i set if strategy ID i occurs in the segment
+ *  24  variant mask (long)
+ *  32  per column, 16 bytes: encoding, 3 bytes padding, base (int), max (int), data offset (int)
+ *  ... column data, every column 8-byte aligned
+ * </pre>
+ * The masks and the per-column base and max are the index: a query skips every segment
+ * that cannot hold a matching row without touching its data.
+ */
+class Segment {
+    static final byte[] MAGIC = { 'U', 'N', 'O', 'S' };
+    static final int VERSION = 1;
+    static final String SUFFIX = ".seg";
+
+    private static final int HEADER_SIZE = 32;
+    private static final int COLUMN_HEADER_SIZE = 16;
+    private static final StatsColumn[] COLUMNS = StatsColumn.values();
+
+    // Encodings
+    static final int CONSTANT = 0;
+    static final int BITS = 1;
+    static final int BYTE = 2;
+    static final int SHORT = 3;
+    static final int INT = 4;
+
+    private final Path file;
+    private final ByteBuffer data;
+    private final int rowCount;
+    private final long strategyMask;
+    private final long variantMask;
+    private final int[] encoding = new int[COLUMNS.length];
+    private final int[] base = new int[COLUMNS.length];
+    private final int[] max = new int[COLUMNS.length];
+    private final int[] offset = new int[COLUMNS.length];
+
+    private Segment(Path file, ByteBuffer data) throws IOException {
+        this.file = file;
+        this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data.get(i) != MAGIC[i]) {
+                throw new IOException(file + " is not a statistics segment");
+            }
+        }
+        if (data.get(4) != VERSION || data.get(5) != COLUMNS.length) {
+            throw new IOException(file + " has unsupported segment version " + data.get(4));
+        }
+        this.rowCount = data.getInt(8);
+        this.strategyMask = data.getLong(16);
+        this.variantMask = data.getLong(24);
+        for (int c = 0; c < COLUMNS.length; c++) {
+            int at = HEADER_SIZE + c * COLUMN_HEADER_SIZE;
+            encoding[c] = data.get(at);
+            base[c] = data.getInt(at + 4);
+            max[c] = data.getInt(at + 8);
+            offset[c] = data.getInt(at + 12);
+        }
+    }
+
+    /**
+     * Maps an existing segment file.
+     */
+    static Segment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new Segment(file, map);
+        }
+    }
+
+    /**
+     * Encodes the first 'rows' values of every column into a new segment file.
+     * The file is written under a temporary name and renamed, so readers never see half a segment.
+     * @param columns Values per column, indexed by StatsColumn ordinal
+     */
+    static Segment write(Path file, int[][] columns, int rows) throws IOException {
+        int[] encodings = new int[COLUMNS.length];
+        int[] bases = new int[COLUMNS.length];
+        int[] maxes = new int[COLUMNS.length];
+        int[] offsets = new int[COLUMNS.length];
+        int size = HEADER_SIZE + COLUMNS.length * COLUMN_HEADER_SIZE;
+        for (int c = 0; c < COLUMNS.length; c++) {
+            int min = Integer.MAX_VALUE;
+            int hi = Integer.MIN_VALUE;
+            for (int r = 0; r < rows; r++) {
+                min = Math.min(min, columns[c][r]);
+                hi = Math.max(hi, columns[c][r]);
+            }
+            bases[c] = rows == 0 ? 0 : min;
+            maxes[c] = rows == 0 ? 0 : hi;
+            encodings[c] = encodingFor((long) maxes[c] - bases[c]);
+            size = align(size);
+            offsets[c] = size;
+            size += dataSize(encodings[c], rows);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(align(size)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC).put((byte) VERSION).put((byte) COLUMNS.length);
+        buffer.putInt(8, rows);
+        buffer.putLong(16, mask(columns[StatsColumn.STRATEGY.ordinal()], rows));
+        buffer.putLong(24, mask(columns[StatsColumn.VARIANT.ordinal()], rows));
+        for (int c = 0; c < COLUMNS.length; c++) {
+            int at = HEADER_SIZE + c * COLUMN_HEADER_SIZE;
+            buffer.put(at, (byte) encodings[c]);
+            buffer.putInt(at + 4, bases[c]);
+            buffer.putInt(at + 8, maxes[c]);
+            buffer.putInt(at + 12, offsets[c]);
+            encode(buffer, offsets[c], encodings[c], columns[c], bases[c], rows);
+        }
+        buffer.clear(); // Rewind: everything after the magic was put at absolute positions
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    private static int encodingFor(long range) {
+        if (range == 0) {
+            return CONSTANT;
+        } else if (range == 1) {
+            return BITS;
+        } else if (range < 1 << 8) {
+            return BYTE;
+        } else if (range < 1 << 16) {
+            return SHORT;
+        }
+        return INT;
+    }
+
+    private static int dataSize(int encoding, int rows) {
+        switch (encoding) {
+            case CONSTANT: return 0;
+            case BITS: return (rows + 63) / 64 * 8;
+            case BYTE: return rows;
+            case SHORT: return rows * 2;
+            default: return rows * 4;
+        }
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+
+    private static long mask(int[] ids, int rows) {
+        long mask = 0;
+        for (int r = 0; r < rows; r++) {
+            mask |= 1L << ids[r];
+        }
+        return mask;
+    }
+
+    private static void encode(ByteBuffer buffer, int at, int encoding, int[] values, int base, int rows) {
+        switch (encoding) {
+            case CONSTANT:
+                break;
+            case BITS:
+                for (int r = 0; r < rows; r += 64) {
+                    long word = 0;
+                    for (int b = 0; b < 64 && r + b < rows; b++) {
+                        word |= (long) (values[r + b] - base) << b;
+                    }
+                    buffer.putLong(at + r / 8, word);
+                }
+                break;
+            case BYTE:
+                for (int r = 0; r < rows; r++) {
+                    buffer.put(at + r, (byte) (values[r] - base));
+                }
+                break;
+            case SHORT:
+                for (int r = 0; r < rows; r++) {
+                    buffer.putShort(at + r * 2, (short) (values[r] - base));
+                }
+                break;
+            default:
+                for (int r = 0; r < rows; r++) {
+                    buffer.putInt(at + r * 4, values[r] - base);
+                }
+                break;
+        }
+    }
+
+    // --- Reading ---
+
+    Path getFile() {
+        return file;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return Bit i set if dictionary ID i occurs in a STRATEGY or VARIANT column, or -1 for other columns
+     */
+    long getMask(StatsColumn column) {
+        return column == StatsColumn.STRATEGY ? strategyMask
+                : column == StatsColumn.VARIANT ? variantMask : -1;
+    }
+
+    int getMin(StatsColumn column) {
+        return base[column.ordinal()];
+    }
+
+    int getMax(StatsColumn column) {
+        return max[column.ordinal()];
+    }
+
+    /**
+     * Whether a row with this value may occur in the column, by the segment's index
+     */
+    boolean mayContain(StatsColumn column, int value) {
+        if (value < getMin(column) || value > getMax(column)) {
+            return false;
+        }
+        return !column.isDictionary() || value >= 64 || (getMask(column) & 1L << value) != 0;
+    }
+
+    /**
+     * Decodes rows [from, from + count) of a column into 'out'.
+     */
+    void read(StatsColumn column, int from, int count, int[] out) {
+        int c = column.ordinal();
+        int b = base[c];
+        int at = offset[c];
+        switch (encoding[c]) {
+            case CONSTANT:
+                for (int i = 0; i < count; i++) {
+                    out[i] = b;
+                }
+                break;
+            case BITS:
+                for (int i = 0; i < count; i++) {
+                    int row = from + i;
+                    out[i] = b + (int) (data.getLong(at + (row >>> 6 << 3)) >>> (row & 63) & 1);
+                }
+                break;
+            case BYTE:
+                for (int i = 0; i < count; i++) {
+                    out[i] = b + (data.get(at + from + i) & 0xFF);
+                }
+                break;
+            case SHORT:
+                for (int i = 0; i < count; i++) {
+                    out[i] = b + (data.getShort(at + (from + i) * 2) & 0xFFFF);
+                }
+                break;
+            default:
+                for (int i = 0; i < count; i++) {
+                    out[i] = b + data.getInt(at + (from + i) * 4);
+                }
+                break;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package STATS;
+
+/**
+ * The StatsColumn enum lists the columns of the statistics store.
+ * There is one row per player per finished game; the game columns repeat on every seat's row,
+ * which costs next to nothing as they are constant within a game.
+ */
+public enum StatsColumn {
+    GAME,          // Game number, counted by the store
+    PLAYERS,       // Players at the table
+    VARIANT,       // House-rule set, dictionary ID (e.g. "standard", "STACKING+JUMP_IN")
+    ROUNDS,        // Rounds the game took
+    SEAT,
+    STRATEGY,      // Player class, dictionary ID (e.g. "BotPlayer", "MctsBotPlayer")
+    WON,           // 1 if this seat won the game, 0 otherwise
+    POINTS,        // Game points at the end of the game
+    ROUNDS_WON,
+    CARDS_DRAWN,   // Every draw, penalties and draw cards included (the deal is not counted)
+    CARDS_PLAYED,
+    UNO_PENALTIES;
+
+    /**
+     * Whether the column holds dictionary IDs (names) rather than numbers
+     */
+    public boolean isDictionary() {
+        return this == VARIANT || this == STRATEGY;
+    }
+}
@@ -0,0 +1,62 @@
+package STATS;
+
+/**
+ * The StatsGroup class is one result row of a StatsQuery: the number of matching rows
+ * and the sums of the columns the query asked for.
+ */
+public class StatsGroup {
+    private final String label;
+    private final int key;
+    private final StatsColumn[] columns;
+    private final long[] totals; // Rows, then one sum per column
+
+    StatsGroup(String label, int key, StatsColumn[] columns, long[] totals) {
+        this.label = label;
+        this.key = key;
+        this.columns = columns;
+        this.totals = totals;
+    }
+
+    /**
+     * @return The group's name (a strategy or variant name) or value, "all" without grouping
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return The value of the group column (a dictionary ID for names)
+     */
+    public int getKey() {
+        return key;
+    }
+
+    public long getRows() {
+        return totals[0];
+    }
+
+    public long getSum(StatsColumn column) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] == column) {
+                return totals[i + 1];
+            }
+        }
+        throw new IllegalArgumentException(column + " was not aggregated by the query");
+    }
+
+    /**
+     * @return The column's average per row; for WON this is the win rate
+     */
+    public double getAverage(StatsColumn column) {
+        return getRows() == 0 ? 0 : (double) getSum(column) / getRows();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(label).append(": ").append(getRows()).append(" rows");
+        for (StatsColumn column : columns) {
+            text.append(String.format(", avg %s %.3f", column, getAverage(column)));
+        }
+        return text.toString();
+    }
+}
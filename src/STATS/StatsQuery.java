@@ -0,0 +1,181 @@
+package STATS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The StatsQuery class filters, groups and sums rows of a StatsStore.
+ *
+ * Usage: store.query().where(StatsColumn.VARIANT, "standard").groupBy(StatsColumn.STRATEGY)
+ *            .aggregate(StatsColumn.WON, StatsColumn.CARDS_DRAWN)
+ * gives one StatsGroup per strategy, whose getAverage(WON) is the win rate.
+ *
+ * Segments are scanned in parallel, 4096 rows at a time: only the filtered, grouped and
+ * summed columns are decoded, and a segment whose index rules out every filter is skipped.
+ * Group columns need a small value range (seats, strategies, variants, player counts...).
+ */
+public class StatsQuery {
+    private static final int CHUNK = 4096;
+    private static final int MAX_GROUPS = 1 << 16;
+
+    private final StatsStore store;
+    private final List<Segment> segments;
+    private final List<StatsColumn> filterColumns = new ArrayList<>();
+    private final List<Integer> filterValues = new ArrayList<>();
+    private StatsColumn groupBy;
+
+    StatsQuery(StatsStore store, List<Segment> segments) {
+        this.store = store;
+        this.segments = segments;
+    }
+
+    /**
+     * Keeps only rows where the column has this value.
+     */
+    public StatsQuery where(StatsColumn column, int value) {
+        filterColumns.add(column);
+        filterValues.add(value);
+        return this;
+    }
+
+    /**
+     * Keeps only rows with this strategy or variant name.
+     */
+    public StatsQuery where(StatsColumn column, String name) {
+        if (!column.isDictionary()) {
+            throw new IllegalArgumentException(column + " does not hold names");
+        }
+        return where(column, store.lookup(column, name)); // -1 for an unknown name matches nothing
+    }
+
+    /**
+     * Returns one group per value of the column instead of a single total.
+     */
+    public StatsQuery groupBy(StatsColumn column) {
+        this.groupBy = column;
+        return this;
+    }
+
+    /**
+     * Runs the query.
+     * @param sums The columns to sum (and average) in every group
+     * @return The groups in order of their value, only those with rows
+     */
+    public List<StatsGroup> aggregate(StatsColumn... sums) {
+        Partial total = segments.parallelStream()
+                .map(segment -> scan(segment, sums))
+                .reduce(new Partial(sums.length), Partial::merge);
+        List<StatsGroup> groups = new ArrayList<>();
+        for (Map.Entry<Integer, long[]> entry : total.groups.entrySet()) {
+            int key = entry.getKey();
+            String label = groupBy == null ? "all" : store.label(groupBy, key);
+            groups.add(new StatsGroup(label, key, sums, entry.getValue()));
+        }
+        return groups;
+    }
+
+    /**
+     * Runs the query without grouping.
+     */
+    public StatsGroup total(StatsColumn... sums) {
+        StatsColumn grouped = groupBy;
+        groupBy = null;
+        try {
+            List<StatsGroup> groups = aggregate(sums);
+            return groups.isEmpty() ? new StatsGroup("all", 0, sums, new long[sums.length + 1]) : groups.get(0);
+        } finally {
+            groupBy = grouped;
+        }
+    }
+
+    private Partial scan(Segment segment, StatsColumn[] sums) {
+        Partial partial = new Partial(sums.length);
+        for (int f = 0; f < filterColumns.size(); f++) {
+            if (!segment.mayContain(filterColumns.get(f), filterValues.get(f))) {
+                return partial; // The index says no row can match
+            }
+        }
+        int groupBase = groupBy == null ? 0 : segment.getMin(groupBy);
+        int groupCount = groupBy == null ? 1 : segment.getMax(groupBy) - groupBase + 1;
+        if (groupCount > MAX_GROUPS) {
+            throw new IllegalArgumentException(groupBy + " has too many values to group by");
+        }
+        // Per group: rows, then one sum per column
+        long[] counts = new long[groupCount * (sums.length + 1)];
+        int[][] filters = new int[filterColumns.size()][CHUNK];
+        int[] wanted = new int[filters.length];
+        for (int f = 0; f < filters.length; f++) {
+            wanted[f] = filterValues.get(f);
+        }
+        int[] groups = new int[CHUNK];
+        int[][] values = new int[sums.length][CHUNK];
+
+        for (int from = 0; from < segment.getRowCount(); from += CHUNK) {
+            int count = Math.min(CHUNK, segment.getRowCount() - from);
+            for (int f = 0; f < filters.length; f++) {
+                segment.read(filterColumns.get(f), from, count, filters[f]);
+            }
+            if (groupBy != null) {
+                segment.read(groupBy, from, count, groups);
+            }
+            for (int s = 0; s < sums.length; s++) {
+                segment.read(sums[s], from, count, values[s]);
+            }
+            rows:
+            for (int r = 0; r < count; r++) {
+                for (int f = 0; f < filters.length; f++) {
+                    if (filters[f][r] != wanted[f]) {
+                        continue rows;
+                    }
+                }
+                int at = (groupBy == null ? 0 : groups[r] - groupBase) * (sums.length + 1);
+                counts[at]++;
+                for (int s = 0; s < sums.length; s++) {
+                    counts[at + 1 + s] += values[s][r];
+                }
+            }
+        }
+
+        for (int g = 0; g < groupCount; g++) {
+            int at = g * (sums.length + 1);
+            if (counts[at] > 0) {
+                long[] group = new long[sums.length + 1];
+                System.arraycopy(counts, at, group, 0, group.length);
+                partial.groups.put(groupBase + g, group);
+            }
+        }
+        return partial;
+    }
+
+    /**
+     * The groups of some of the segments
+     */
+    private static class Partial {
+        final int sums;
+        final Map<Integer, long[]> groups = new TreeMap<>();
+
+        Partial(int sums) {
+            this.sums = sums;
+        }
+
+        Partial merge(Partial other) {
+            Partial merged = new Partial(sums);
+            merged.groups.putAll(groups);
+            for (Map.Entry<Integer, long[]> entry : other.groups.entrySet()) {
+                long[] mine = merged.groups.get(entry.getKey());
+                if (mine == null) {
+                    merged.groups.put(entry.getKey(), entry.getValue().clone());
+                } else {
+                    long[] sum = mine.clone();
+                    for (int i = 0; i < sum.length; i++) {
+                        sum[i] += entry.getValue()[i];
+                    }
+                    merged.groups.put(entry.getKey(), sum);
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package STATS;
+
+import CARDS.Card;
+import GAMEPLAY.GameListener;
+import PLAYERS.Player;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * The StatsRecorder class counts what every seat does during a game and adds the game
+ * to a StatsStore when it ends. Subscribe one per game; the strategy of a seat is its player's class.
+ */
+public class StatsRecorder implements GameListener {
+    private final StatsStore store;
+    private final List<Player> players;
+    private final GameSummary game = new GameSummary();
+
+    /**
+     * @param variant Name of the rule set the game is played with (see RunVariations.describe)
+     */
+    public StatsRecorder(StatsStore store, List<Player> players, String variant) {
+        this.store = store;
+        this.players = players;
+        game.setVariant(variant);
+        game.reset(players.size());
+    }
+
+    @Override
+    public void gameStarted(int playerCount) {
+        game.reset(playerCount);
+    }
+
+    @Override
+    public void cardDrawn(int seat, Card card) {
+        game.addCardDrawn(seat);
+    }
+
+    @Override
+    public void cardPlayed(int seat, Card card) {
+        game.addCardPlayed(seat);
+    }
+
+    @Override
+    public void penaltyApplied(int seat, int cards) {
+        game.addUnoPenalty(seat);
+    }
+
+    @Override
+    public void roundEnded(int winnerSeat, int points) {
+        game.addRound(winnerSeat);
+    }
+
+    @Override
+    public void gameEnded(int winnerSeat) {
+        game.setWinnerSeat(winnerSeat);
+        for (int seat = 0; seat < players.size(); seat++) {
+            game.setStrategy(seat, players.get(seat).getClass().getSimpleName());
+            game.setPoints(seat, players.get(seat).getGamePoints());
+        }
+        try {
+            store.appendGame(game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
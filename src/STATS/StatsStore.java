@@ -0,0 +1,208 @@
+package STATS;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The StatsStore class is an embedded, append-only column store for the results of finished games:
+ * one row per player per game (see StatsColumn), kept in a directory of immutable segment files.
+ *
+ * Rows are collected in memory and written as a Segment once ROWS_PER_SEGMENT are reached
+ * (or on flush/close). Queries only see written segments; they map them and scan just
+ * the columns they need, in parallel, skipping segments by their strategy/variant masks
+ * and column ranges.
+ *
+ * Strategy and variant names are stored once, in a dictionary file, and rows hold their IDs.
+ * appendGame may be called from many threads (Tournament workers share one store).
+ */
+public class StatsStore implements Closeable {
+    public static final int ROWS_PER_SEGMENT = 1 << 18;
+    public static final int MAX_NAMES = 64; // Per dictionary, so the segment masks fit a long
+
+    private static final String DICTIONARY_FILE = "dictionary.txt";
+    private static final StatsColumn[] COLUMNS = StatsColumn.values();
+
+    private final Path directory;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final List<String> strategies = new ArrayList<>();
+    private final List<String> variants = new ArrayList<>();
+    private final Map<String, Integer> strategyIds = new HashMap<>();
+    private final Map<String, Integer> variantIds = new HashMap<>();
+
+    // The segment being filled
+    private final int[][] pending = new int[COLUMNS.length][ROWS_PER_SEGMENT];
+    private int pendingRows;
+    private int nextSegment;
+    private int nextGame;
+    private boolean closed;
+
+    private StatsStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the store in a directory, creating it if needed.
+     */
+    public static StatsStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        StatsStore store = new StatsStore(directory);
+        store.load();
+        return store;
+    }
+
+    private void load() throws IOException {
+        Path dictionary = directory.resolve(DICTIONARY_FILE);
+        if (Files.exists(dictionary)) {
+            for (String line : Files.readAllLines(dictionary, StandardCharsets.UTF_8)) {
+                if (line.startsWith("S\t")) {
+                    addName(strategies, strategyIds, line.substring(2));
+                } else if (line.startsWith("V\t")) {
+                    addName(variants, variantIds, line.substring(2));
+                }
+            }
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + Segment.SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files); // Zero-padded numbers, so this is the order they were written in
+        for (Path file : files) {
+            Segment segment = Segment.open(file);
+            segments.add(segment);
+            nextGame = Math.max(nextGame, segment.getMax(StatsColumn.GAME) + 1);
+            String name = file.getFileName().toString();
+            nextSegment = Math.max(nextSegment, Integer.parseInt(name.substring(0, name.length() - Segment.SUFFIX.length())) + 1);
+        }
+    }
+
+    private static int addName(List<String> names, Map<String, Integer> ids, String name) {
+        names.add(name);
+        ids.put(name, names.size() - 1);
+        return names.size() - 1;
+    }
+
+    /**
+     * Adds the rows of one finished game.
+     * @return The game's number in the store
+     */
+    public synchronized int appendGame(GameSummary game) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The statistics store is closed");
+        }
+        if (pendingRows + game.getPlayerCount() > ROWS_PER_SEGMENT) {
+            flush();
+        }
+        int variant = id(variants, variantIds, 'V', game.getVariant());
+        int number = nextGame++;
+        for (int seat = 0; seat < game.getPlayerCount(); seat++) {
+            int row = pendingRows++;
+            pending[StatsColumn.GAME.ordinal()][row] = number;
+            pending[StatsColumn.PLAYERS.ordinal()][row] = game.getPlayerCount();
+            pending[StatsColumn.VARIANT.ordinal()][row] = variant;
+            pending[StatsColumn.ROUNDS.ordinal()][row] = game.getRounds();
+            pending[StatsColumn.SEAT.ordinal()][row] = seat;
+            pending[StatsColumn.STRATEGY.ordinal()][row] = id(strategies, strategyIds, 'S', game.getStrategy(seat));
+            pending[StatsColumn.WON.ordinal()][row] = seat == game.getWinnerSeat() ? 1 : 0;
+            pending[StatsColumn.POINTS.ordinal()][row] = game.getPoints(seat);
+            pending[StatsColumn.ROUNDS_WON.ordinal()][row] = game.getRoundsWon(seat);
+            pending[StatsColumn.CARDS_DRAWN.ordinal()][row] = game.getCardsDrawn(seat);
+            pending[StatsColumn.CARDS_PLAYED.ordinal()][row] = game.getCardsPlayed(seat);
+            pending[StatsColumn.UNO_PENALTIES.ordinal()][row] = game.getUnoPenalties(seat);
+        }
+        return number;
+    }
+
+    /**
+     * Looks up a dictionary ID, adding the name (and writing it to the dictionary file) if it is new.
+     */
+    private int id(List<String> names, Map<String, Integer> ids, char kind, String name) throws IOException {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (names.size() >= MAX_NAMES) {
+            throw new IllegalStateException("The statistics store holds at most " + MAX_NAMES + " names per column");
+        }
+        // Written before any segment that uses the ID
+        Files.writeString(directory.resolve(DICTIONARY_FILE), kind + "\t" + name + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return addName(names, ids, name);
+    }
+
+    /**
+     * Writes the collected rows as a segment, so queries see them.
+     */
+    public synchronized void flush() throws IOException {
+        if (pendingRows == 0) {
+            return;
+        }
+        Path file = directory.resolve(String.format("%08d%s", nextSegment++, Segment.SUFFIX));
+        segments.add(Segment.write(file, pending, pendingRows));
+        pendingRows = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            flush();
+            closed = true;
+        }
+    }
+
+    // --- Reading ---
+
+    /**
+     * Starts a query over all rows written so far.
+     */
+    public StatsQuery query() {
+        return new StatsQuery(this, new ArrayList<>(segments));
+    }
+
+    /**
+     * @return The number of rows in written segments
+     */
+    public long getRowCount() {
+        long rows = 0;
+        for (Segment segment : segments) {
+            rows += segment.getRowCount();
+        }
+        return rows;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return The dictionary ID of a strategy or variant name, or -1 if the store has never seen it
+     */
+    public synchronized int lookup(StatsColumn column, String name) {
+        Integer id = (column == StatsColumn.STRATEGY ? strategyIds : variantIds).get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return The name behind a dictionary ID, or the value itself for number columns
+     */
+    public synchronized String label(StatsColumn column, int value) {
+        if (column == StatsColumn.STRATEGY) {
+            return strategies.get(value);
+        } else if (column == StatsColumn.VARIANT) {
+            return variants.get(value);
+        }
+        return Integer.toString(value);
+    }
+}
@@ -0,0 +1,334 @@
+package TUNING;
+
+import GAMEPLAY.Tournament;
+import GAMEPLAY.TournamentResult;
+import PLAYERS.BotPlayer;
+import PLAYERS.HeuristicBotPlayer;
+import PLAYERS.HeuristicWeights;
+import PLAYERS.Player;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * The WeightOptimizer class tunes HeuristicWeights by self-play with a separable CMA-ES:
+ * every generation samples candidate weights around a mean, plays each candidate in seat 0
+ * of a Tournament against fixed opponents, and moves the mean, the step size and the
+ * per-weight spread towards the candidates that won most.
+ *
+ * All candidates of a generation play the same deals (one master seed per generation),
+ * so luck of the draw hits them equally (common random numbers) and only their weights decide.
+ * The candidates' tournaments all run on one ForkJoinPool at once, which keeps every core busy.
+ * The search state is written to a checkpoint file after every generation and picked up again
+ * on start, so a stopped run continues where it was.
+ */
+public class WeightOptimizer {
+    private static final int SEATS = 4;
+
+    private final int n = HeuristicWeights.COUNT;
+    private final int gamesPerCandidate;
+    private final long seed;
+    private final Path checkpoint; // null: no checkpoints
+    private final ForkJoinPool pool;
+    private IntFunction<? extends Player> opponents = seat -> new BotPlayer("Bot " + seat);
+
+    // Strategy parameters (Hansen's defaults, with the separable learning rates)
+    private final int lambda;
+    private final int mu;
+    private final double[] recombination;
+    private final double muEff;
+    private final double cSigma;
+    private final double dSigma;
+    private final double cC;
+    private final double c1;
+    private final double cMu;
+    private final double expectedNorm; // E|N(0, I)|
+
+    // Search state, everything the checkpoint holds
+    private int generation;
+    private double[] mean;
+    private double sigma;
+    private double[] variance = new double[n]; // The diagonal of the covariance matrix
+    private double[] pathSigma = new double[n];
+    private double[] pathC = new double[n];
+    private double[] best;
+    private double bestFitness = -1;
+
+    /**
+     * @param gamesPerCandidate Games every candidate plays per generation
+     * @param seed Seed of the sampling and of the deals of every generation
+     * @param checkpoint File to save the search state to and resume from, or null
+     */
+    public WeightOptimizer(int gamesPerCandidate, long seed, Path checkpoint, ForkJoinPool pool) {
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.seed = seed;
+        this.checkpoint = checkpoint;
+        this.pool = pool;
+
+        lambda = 4 + (int) (3 * Math.log(n));
+        mu = lambda / 2;
+        recombination = new double[mu];
+        double sum = 0;
+        for (int i = 0; i < mu; i++) {
+            recombination[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+            sum += recombination[i];
+        }
+        double squares = 0;
+        for (int i = 0; i < mu; i++) {
+            recombination[i] /= sum;
+            squares += recombination[i] * recombination[i];
+        }
+        muEff = 1 / squares;
+        cSigma = (muEff + 2) / (n + muEff + 5);
+        dSigma = 1 + 2 * Math.max(0, Math.sqrt((muEff - 1) / (n + 1)) - 1) + cSigma;
+        cC = (4 + muEff / n) / (n + 4 + 2 * muEff / n);
+        double separable = (n + 2) / 3.0;
+        c1 = Math.min(1, separable * 2 / ((n + 1.3) * (n + 1.3) + muEff));
+        cMu = Math.min(1 - c1, separable * 2 * (muEff - 2 + 1 / muEff) / ((n + 2) * (n + 2) + muEff));
+        expectedNorm = Math.sqrt(n) * (1 - 1.0 / (4 * n) + 1.0 / (21 * n * n));
+
+        mean = HeuristicWeights.DEFAULT.toArray();
+        sigma = 0.5;
+        Arrays.fill(variance, 1);
+        best = mean.clone();
+    }
+
+    /**
+     * Changes who the candidates play against (BotPlayers by default).
+     */
+    public void setOpponents(IntFunction<? extends Player> opponents) {
+        this.opponents = opponents;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return The best weights found so far (by the win rate they scored in their generation)
+     */
+    public HeuristicWeights getBest() {
+        return new HeuristicWeights(best);
+    }
+
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    /**
+     * @return The current mean of the search, usually a better pick than the luckiest single candidate
+     */
+    public HeuristicWeights getMean() {
+        return new HeuristicWeights(mean);
+    }
+
+    /**
+     * Runs generations until 'generations' have been done in total (including resumed ones).
+     */
+    public void optimize(int generations) throws IOException, InterruptedException {
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            load(checkpoint);
+        }
+        while (generation < generations) {
+            step();
+            if (checkpoint != null) {
+                save(checkpoint);
+            }
+        }
+    }
+
+    /**
+     * Samples, evaluates and learns from one generation.
+     */
+    public void step() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(Tournament.gameSeed(seed, generation));
+        double[][] z = new double[lambda][n];
+        double[][] y = new double[lambda][n];
+        double[][] x = new double[lambda][n];
+        for (int k = 0; k < lambda; k++) {
+            for (int i = 0; i < n; i++) {
+                z[k][i] = gaussian(random);
+                y[k][i] = Math.sqrt(variance[i]) * z[k][i];
+                x[k][i] = mean[i] + sigma * y[k][i];
+            }
+        }
+
+        double[] fitness = evaluate(x, Tournament.gameSeed(~seed, generation));
+        Integer[] order = new Integer[lambda];
+        for (int k = 0; k < lambda; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a])); // Highest win rate first
+        if (fitness[order[0]] > bestFitness) {
+            bestFitness = fitness[order[0]];
+            best = x[order[0]].clone();
+        }
+
+        // Weighted recombination of the best mu candidates
+        double[] yMean = new double[n];
+        double[] zMean = new double[n];
+        for (int j = 0; j < mu; j++) {
+            for (int i = 0; i < n; i++) {
+                yMean[i] += recombination[j] * y[order[j]][i];
+                zMean[i] += recombination[j] * z[order[j]][i];
+            }
+        }
+        double pathNorm = 0;
+        for (int i = 0; i < n; i++) {
+            mean[i] += sigma * yMean[i];
+            pathSigma[i] = (1 - cSigma) * pathSigma[i] + Math.sqrt(cSigma * (2 - cSigma) * muEff) * zMean[i];
+            pathNorm += pathSigma[i] * pathSigma[i];
+        }
+        pathNorm = Math.sqrt(pathNorm);
+        boolean stalled = pathNorm / Math.sqrt(1 - Math.pow(1 - cSigma, 2 * (generation + 1)))
+                >= (1.4 + 2.0 / (n + 1)) * expectedNorm;
+        double h = stalled ? 0 : 1;
+        for (int i = 0; i < n; i++) {
+            pathC[i] = (1 - cC) * pathC[i] + h * Math.sqrt(cC * (2 - cC) * muEff) * yMean[i];
+            double rankMu = 0;
+            for (int j = 0; j < mu; j++) {
+                rankMu += recombination[j] * y[order[j]][i] * y[order[j]][i];
+            }
+            variance[i] = (1 - c1 - cMu) * variance[i]
+                    + c1 * (pathC[i] * pathC[i] + (1 - h) * cC * (2 - cC) * variance[i])
+                    + cMu * rankMu;
+        }
+        sigma *= Math.exp(cSigma / dSigma * (pathNorm / expectedNorm - 1));
+        generation++;
+    }
+
+    /**
+     * Plays every candidate's tournament on the same deals, all at once.
+     * @return The win rate of every candidate
+     */
+    private double[] evaluate(double[][] candidates, long dealSeed) throws InterruptedException {
+        List<Callable<TournamentResult>> tournaments = new ArrayList<>();
+        for (double[] candidate : candidates) {
+            HeuristicWeights weights = new HeuristicWeights(candidate);
+            Tournament tournament = new Tournament(SEATS,
+                    seat -> seat == 0 ? new HeuristicBotPlayer("Candidate", weights) : opponents.apply(seat), dealSeed);
+            tournaments.add(() -> tournament.run(gamesPerCandidate, pool));
+        }
+        double[] fitness = new double[candidates.length];
+        List<Future<TournamentResult>> results = pool.invokeAll(tournaments);
+        for (int k = 0; k < fitness.length; k++) {
+            try {
+                fitness[k] = results.get(k).get().getWinRate(0);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Tournament of candidate " + k + " failed", e.getCause());
+            }
+        }
+        return fitness;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    // --- Checkpoints ---
+
+    /**
+     * Writes the search state; a temporary file is renamed over the old checkpoint,
+     * so a crash while saving leaves the previous one intact.
+     */
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("seed", Long.toString(seed));
+        properties.setProperty("generation", Integer.toString(generation));
+        properties.setProperty("sigma", Double.toString(sigma));
+        properties.setProperty("bestFitness", Double.toString(bestFitness));
+        properties.setProperty("mean", join(mean));
+        properties.setProperty("variance", join(variance));
+        properties.setProperty("pathSigma", join(pathSigma));
+        properties.setProperty("pathC", join(pathC));
+        properties.setProperty("best", join(best));
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            properties.store(writer, "WeightOptimizer checkpoint");
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores the search state saved by save().
+     */
+    public void load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        if (Long.parseLong(properties.getProperty("seed")) != seed) {
+            throw new IllegalStateException(file + " was written by a run with another seed");
+        }
+        generation = Integer.parseInt(properties.getProperty("generation"));
+        sigma = Double.parseDouble(properties.getProperty("sigma"));
+        bestFitness = Double.parseDouble(properties.getProperty("bestFitness"));
+        mean = split(properties.getProperty("mean"));
+        variance = split(properties.getProperty("variance"));
+        pathSigma = split(properties.getProperty("pathSigma"));
+        pathC = split(properties.getProperty("pathC"));
+        best = split(properties.getProperty("best"));
+    }
+
+    private static String join(double[] values) {
+        StringBuilder text = new StringBuilder();
+        for (double value : values) {
+            text.append(text.length() == 0 ? "" : " ").append(value); // Double.toString round-trips exactly
+        }
+        return text.toString();
+    }
+
+    private double[] split(String text) {
+        String[] words = text.trim().split(" ");
+        if (words.length != n) {
+            throw new IllegalStateException("Checkpoint has " + words.length + " weights, expected " + n);
+        }
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = Double.parseDouble(words[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Tunes the weights against BotPlayers.
+     * Usage: java TUNING.WeightOptimizer [generations] [games per candidate] [checkpoint file]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        Path checkpoint = Paths.get(args.length > 2 ? args[2] : "weights.checkpoint");
+        WeightOptimizer optimizer = new WeightOptimizer(games, 42, checkpoint, ForkJoinPool.commonPool());
+        if (Files.exists(checkpoint)) {
+            optimizer.load(checkpoint);
+            System.out.println("Resuming at generation " + optimizer.getGeneration());
+        }
+        while (optimizer.getGeneration() < generations) {
+            long start = System.nanoTime();
+            optimizer.step();
+            optimizer.save(checkpoint);
+            System.out.printf("Generation %d (%.1f s): best win rate %.4f, mean %s, sigma %.3f%n",
+                    optimizer.getGeneration(), (System.nanoTime() - start) / 1e9,
+                    optimizer.getBestFitness(), optimizer.getMean(), optimizer.sigma);
+        }
+        System.out.println("Best weights: " + optimizer.getBest());
+    }
+}
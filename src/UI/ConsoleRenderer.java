@@ -0,0 +1,95 @@
+package UI;
+
+import CARDS.Card;
+import GAMEPLAY.GameListener;
+import PLAYERS.Player;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * The ConsoleRenderer class tells a console player what happens at the table:
+ * who plays or draws, what action cards do, color changes, UNO calls and round results.
+ * Subscribe it to the game's event bus; the engine and the cards never print anything themselves.
+ */
+public class ConsoleRenderer implements GameListener {
+    private final List<Player> players;
+    private final PrintStream out;
+
+    public ConsoleRenderer(List<Player> players, PrintStream out) {
+        this.players = players;
+        this.out = out;
+    }
+
+    private String name(int seat) {
+        return players.get(seat).getName();
+    }
+
+    @Override
+    public void roundStarted(int round, int startingSeat) {
+        out.println();
+        out.println("--- Round " + round + " --- " + name(startingSeat) + " starts.");
+    }
+
+    @Override
+    public void cardTurnedUp(Card card) {
+        out.println("Turned up: " + card);
+    }
+
+    @Override
+    public void cardDrawn(int seat, Card card) {
+        out.println(name(seat) + " draws a card.");
+    }
+
+    @Override
+    public void cardPlayed(int seat, Card card) {
+        out.println(name(seat) + " plays " + card + ".");
+        switch (card.getType()) {
+            case SKIP:
+                out.println("SKIP card played! Next player is skipped.");
+                break;
+            case REVERSE:
+                out.println("REVERSE card played! Direction of play changed.");
+                if (players.size() == 2) {
+                    out.println("In 2-player game, REVERSE acts as SKIP!");
+                }
+                break;
+            case DRAW_TWO:
+                out.println("DRAW TWO card played! Next player draws 2 cards and loses their turn.");
+                break;
+            case WILD:
+                out.println("WILD card played!");
+                break;
+            case WILD_DRAW_FOUR:
+                out.println("WILD DRAW FOUR card played! Next player draws 4 cards and loses their turn.");
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void colorChosen(int seat, Card.Color color) {
+        out.println("Color changed to " + color);
+    }
+
+    @Override
+    public void unoCalled(int seat) {
+        out.println(name(seat) + " calls UNO!");
+    }
+
+    @Override
+    public void handsSwapped(int seat, int otherSeat) {
+        out.println(name(seat) + " swaps hands with " + name(otherSeat) + ".");
+    }
+
+    @Override
+    public void handsRotated(boolean clockwise) {
+        out.println("Everyone passes their hand to the next player!");
+    }
+
+    @Override
+    public void penaltyApplied(int seat, int cards) {
+        out.println(name(seat) + " forgot to call UNO and draws " + cards + " cards.");
+    }
+}
@@ -1,6 +1,8 @@
 package UI;
 
 import CARDS.Card; // Required for displaying card information in the hand
+import GAMEPLAY.DecisionMaker; // Menu answers the turn engine's questions for human players
+import GAMEPLAY.GameState;
 import PLAYERS.Player; // Required for showing the player's hand
 
 import java.util.InputMismatchException;
@@ -12,3 +14,175 @@ import java.util.Scanner;
  * It's responsible for displaying prompts, messages, and receiving user input.
  */
 
+public class Menu implements DecisionMaker {
+    private final Scanner scanner;
+
+    public Menu(Scanner scanner) {
+        this.scanner = scanner;
+    }
+
+    public Scanner getScanner() {
+        return scanner;
+    }
+
+    /**
+     * Asks for a whole number between min and max (inclusive) until a valid one is entered.
+     */
+    public int askNumber(String prompt, int min, int max) {
+        System.out.print(prompt + " (" + min + "-" + max + "): ");
+        while (true) {
+            try {
+                int number = scanner.nextInt();
+                scanner.nextLine(); // Consume the rest of the line
+                if (number >= min && number <= max) {
+                    return number;
+                }
+            } catch (InputMismatchException e) {
+                scanner.nextLine(); // Discard the invalid input
+            }
+            System.out.print("Invalid choice. Please enter " + min + "-" + max + ": ");
+        }
+    }
+
+    /**
+     * Asks for a non-empty line of text.
+     */
+    public String askText(String prompt) {
+        System.out.print(prompt + ": ");
+        String text = scanner.nextLine().trim();
+        while (text.isEmpty()) {
+            System.out.print("Please enter something: ");
+            text = scanner.nextLine().trim();
+        }
+        return text;
+    }
+
+    /**
+     * Asks a yes/no question.
+     */
+    public boolean askYesNo(String prompt) {
+        System.out.print(prompt + " (y/n): ");
+        return scanner.nextLine().trim().toLowerCase().startsWith("y");
+    }
+
+    /**
+     * Shows the top card, the active color and the player's hand with a number in front of every card.
+     */
+    public void showHand(Player player, Card topCard, Card.Color activeColor) {
+        System.out.println();
+        System.out.println("Top card: " + topCard + " (active color: " + activeColor + ")");
+        System.out.println(player.getName() + ", your hand:");
+        List<Card> hand = player.getHand();
+        for (int i = 0; i < hand.size(); i++) {
+            System.out.println("  " + (i + 1) + ". " + hand.get(i));
+        }
+    }
+
+    // --- DecisionMaker ---
+    @Override
+    public Card chooseCardToPlay(GameState state, Player player) {
+        Card topCard = state.getTopDiscard();
+        showHand(player, topCard, state.getActiveColor());
+        List<Card> hand = player.getHand();
+        while (true) {
+            System.out.print("Choose a card to play (1-" + hand.size() + ") or type 'draw': ");
+            String input = scanner.nextLine().trim();
+            if (input.equalsIgnoreCase("draw")) {
+                return null;
+            }
+            try {
+                int choice = Integer.parseInt(input);
+                if (choice >= 1 && choice <= hand.size()) {
+                    Card card = hand.get(choice - 1);
+                    if (card.canPlayOn(topCard, state.getActiveColor())) {
+                        return card;
+                    }
+                    System.out.println(card + " cannot be played on " + topCard + ".");
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                // Invalid input, ask again
+            }
+            System.out.println("Invalid choice.");
+        }
+    }
+
+    @Override
+    public Card.Color chooseColor(GameState state, Player player) {
+        System.out.println("Choose the next color:");
+        System.out.println("1. RED");
+        System.out.println("2. BLUE");
+        System.out.println("3. GREEN");
+        System.out.println("4. YELLOW");
+        Card.Color[] colors = { Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW };
+        return colors[askNumber("Enter your choice", 1, 4) - 1]; // Announced by the ConsoleRenderer
+    }
+
+    @Override
+    public boolean playDrawnCard(GameState state, Player player, Card drawnCard) {
+        System.out.print("You drew " + drawnCard + ". Play it now? (y/n): ");
+        return scanner.nextLine().trim().toLowerCase().startsWith("y");
+    }
+
+    @Override
+    public boolean shouldCallUNO(GameState state, Player player) {
+        System.out.print("You have one card left! Type 'uno' to call UNO: ");
+        return scanner.nextLine().trim().equalsIgnoreCase("uno");
+    }
+
+    @Override
+    public Card answerStack(GameState state, Player player, int cardsToDraw) {
+        Card topCard = state.getTopDiscard();
+        showHand(player, topCard, state.getActiveColor());
+        List<Card> hand = player.getHand();
+        System.out.println(topCard + " was stacked on you: pass it on with "
+                + (topCard.getType() == Card.Type.DRAW_TWO ? "a DRAW TWO or " : "") + "a WILD DRAW FOUR, or take "
+                + cardsToDraw + " cards.");
+        while (true) {
+            System.out.print("Choose a card to stack (1-" + hand.size() + ") or type 'draw': ");
+            String input = scanner.nextLine().trim();
+            if (input.equalsIgnoreCase("draw")) {
+                return null;
+            }
+            try {
+                int choice = Integer.parseInt(input);
+                if (choice >= 1 && choice <= hand.size()) {
+                    Card card = hand.get(choice - 1);
+                    if (card.getType() == Card.Type.WILD_DRAW_FOUR
+                            || card.getType() == Card.Type.DRAW_TWO && topCard.getType() == Card.Type.DRAW_TWO) {
+                        return card;
+                    }
+                    System.out.println(card + " cannot be stacked on " + topCard + ".");
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                // Invalid input, ask again
+            }
+            System.out.println("Invalid choice.");
+        }
+    }
+
+    @Override
+    public boolean jumpIn(GameState state, Player player, Card card) {
+        return askYesNo(player.getName() + ", you hold another " + card + ". Jump in?");
+    }
+
+    @Override
+    public int chooseSwapSeat(GameState state, Player player) {
+        List<Player> players = state.getPlayers();
+        System.out.println("Choose a player to swap hands with:");
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (players.get(seat) != player) {
+                System.out.println((seat + 1) + ". " + players.get(seat).getName()
+                        + " (" + players.get(seat).getHand().size() + " cards)");
+            }
+        }
+        while (true) {
+            int seat = askNumber("Enter your choice", 1, players.size()) - 1;
+            if (players.get(seat) != player) {
+                return seat;
+            }
+            System.out.println("You cannot swap with yourself.");
+        }
+    }
+}
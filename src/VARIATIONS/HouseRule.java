@@ -0,0 +1,24 @@
+package VARIATIONS;
+
+/**
+ * The HouseRule enum lists the optional rules RunVariations can compile into a game.
+ * Any combination can be switched on at once.
+ */
+public enum HouseRule {
+    STACKING("Stacking: answer a Draw Two with a Draw Two, or either draw card with a Wild Draw Four"),
+    JUMP_IN("Jump-in: play a card identical to the one just played, out of turn"),
+    SEVEN_SWAP("Seven-swap: playing a 7 swaps your hand with another player's"),
+    ZERO_ROTATE("Zero-rotate: playing a 0 passes every hand to the next player"),
+    DRAW_UNTIL_PLAYABLE("Draw until playable: keep drawing until you get a card you can play"),
+    FORCED_PLAY("Forced play: you must play if you can, including a playable card you just drew");
+
+    private final String description;
+
+    HouseRule(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
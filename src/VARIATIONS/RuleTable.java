@@ -0,0 +1,287 @@
+package VARIATIONS;
+
+import CARDS.Action_Cards;
+import CARDS.Card;
+import GAMEPLAY.DecisionMaker;
+import GAMEPLAY.GameState;
+import GAMEPLAY.StandardRules;
+import GAMEPLAY.TableActions;
+import GAMEPLAY.TurnRules;
+import PLAYERS.Player;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The RuleTable class is a set of house rules compiled into a dispatch table.
+ * Every choice is made once, when the table is built: each card ID gets its PlayEffect,
+ * and the turn start, choice check, draw and jump-in steps are the functions for the
+ * rules that are on. A turn then just calls them, without asking which rules are enabled.
+ *
+ * It keeps the stacked draw penalty of the current round, so every game needs its own
+ * (RunVariations.compile makes a new one every time).
+ */
+public class RuleTable implements TurnRules {
+
+    /** What happens after a card is played: its effects, then the turn moves on */
+    interface PlayEffect {
+        void apply(TableActions table, int seat, Card card, Action_Cards.ActionResult result);
+    }
+
+    /** Runs before the player chooses; true if it played the whole turn */
+    interface TurnStart {
+        boolean start(TableActions table, int seat);
+    }
+
+    interface ChoiceCheck {
+        Card check(TableActions table, int seat, Card choice);
+    }
+
+    /** Turns a player's answer to a stack into the card that gets stacked, or null if they take the cards */
+    interface StackCheck {
+        Card check(TableActions table, int seat, Card answer);
+    }
+
+    /** Draws for a player who does not play; returns a playable drawn card or null */
+    interface DrawStep {
+        Card draw(TableActions table, int seat);
+    }
+
+    /** Whether a playable card that was just drawn gets played */
+    interface DrawnCardChoice {
+        boolean play(TableActions table, int seat, Card drawn);
+    }
+
+    /** Runs after the effects of every play */
+    interface AfterPlay {
+        void apply(TableActions table, int seat, Card card);
+    }
+
+    private static final PlayEffect STANDARD_EFFECT = (table, seat, card, result) -> StandardRules.applyResult(table, result);
+
+    private final Set<HouseRule> houseRules;
+    private final PlayEffect[] effects = new PlayEffect[Card.ID_COUNT];
+    private final TurnStart turnStart;
+    private final ChoiceCheck choiceCheck;
+    private final StackCheck stackCheck;
+    private final DrawStep drawStep;
+    private final DrawnCardChoice drawnCardChoice;
+    private final AfterPlay afterPlay;
+
+    // Stacking: cards the next player has to draw unless they stack, and the last draw card stacked
+    private int pendingDraw;
+    private Card.Type pendingType;
+
+    RuleTable(Set<HouseRule> houseRules) {
+        this.houseRules = Collections.unmodifiableSet(houseRules.isEmpty()
+                ? EnumSet.noneOf(HouseRule.class) : EnumSet.copyOf(houseRules));
+        boolean forced = houseRules.contains(HouseRule.FORCED_PLAY);
+
+        for (int id = 0; id < Card.ID_COUNT; id++) {
+            effects[id] = STANDARD_EFFECT;
+        }
+        for (Card.Color color : Card.Color.values()) {
+            if (color == Card.Color.WILD) {
+                if (houseRules.contains(HouseRule.STACKING)) {
+                    effects[Card.of(color, Card.Type.WILD_DRAW_FOUR).getId()] = this::stack;
+                }
+                continue;
+            }
+            if (houseRules.contains(HouseRule.STACKING)) {
+                effects[Card.of(color, Card.Type.DRAW_TWO).getId()] = this::stack;
+            }
+            if (houseRules.contains(HouseRule.SEVEN_SWAP)) {
+                effects[Card.of(color, 7).getId()] = RuleTable::swapHands;
+            }
+            if (houseRules.contains(HouseRule.ZERO_ROTATE)) {
+                effects[Card.of(color, 0).getId()] = RuleTable::rotateHands;
+            }
+        }
+
+        turnStart = houseRules.contains(HouseRule.STACKING) ? this::answerStack : (table, seat) -> false;
+        choiceCheck = forced ? RuleTable::forcePlay : (table, seat, choice) -> choice;
+        stackCheck = forced ? this::forceStack : this::checkStack;
+        drawStep = houseRules.contains(HouseRule.DRAW_UNTIL_PLAYABLE) ? RuleTable::drawUntilPlayable : RuleTable::drawOne;
+        drawnCardChoice = forced ? (table, seat, drawn) -> true
+                : (table, seat, drawn) -> table.getDecisions(seat).playDrawnCard(table.getState(), table.getPlayer(seat), drawn);
+        afterPlay = houseRules.contains(HouseRule.JUMP_IN) ? RuleTable::offerJumpIn : (table, seat, card) -> { };
+    }
+
+    /**
+     * @return The house rules this table was compiled from
+     */
+    public Set<HouseRule> getHouseRules() {
+        return houseRules;
+    }
+
+    // --- TurnRules ---
+    @Override
+    public void roundStarted(TableActions table) {
+        pendingDraw = 0;
+        pendingType = null;
+    }
+
+    /**
+     * The stack: pendingDraw in the low half, pendingType's ordinal + 1 (0 for none) in the high half
+     */
+    @Override
+    public long saveState() {
+        return (long) (pendingType == null ? 0 : pendingType.ordinal() + 1) << 32 | pendingDraw;
+    }
+
+    @Override
+    public void restoreState(long state) {
+        int type = (int) (state >>> 32);
+        pendingDraw = (int) state;
+        pendingType = type == 0 ? null : Card.Type.values()[type - 1];
+    }
+
+    @Override
+    public boolean startTurn(TableActions table, int seat) {
+        return turnStart.start(table, seat);
+    }
+
+    @Override
+    public Card checkChoice(TableActions table, int seat, Card choice) {
+        return choiceCheck.check(table, seat, choice);
+    }
+
+    @Override
+    public Card drawForTurn(TableActions table, int seat) {
+        Card drawn = drawStep.draw(table, seat);
+        return drawn != null && drawnCardChoice.play(table, seat, drawn) ? drawn : null;
+    }
+
+    @Override
+    public void afterPlay(TableActions table, int seat, Card card, Action_Cards.ActionResult result) {
+        effects[card.getId()].apply(table, seat, card, result);
+        afterPlay.apply(table, seat, card);
+    }
+
+    // --- Stacking ---
+    private void stack(TableActions table, int seat, Card card, Action_Cards.ActionResult result) {
+        if (table.isRoundOver()) {
+            // Nobody is left to answer it, so the draw counts for the round's points right away
+            result.cardsToDrawByNextPlayer += pendingDraw;
+            pendingDraw = 0;
+            StandardRules.applyResult(table, result);
+            return;
+        }
+        pendingDraw += result.cardsToDrawByNextPlayer;
+        pendingType = card.getType();
+        table.moveTurn(1); // The next player answers the stack on their turn
+    }
+
+    private boolean answerStack(TableActions table, int seat) {
+        if (pendingDraw == 0) {
+            return false;
+        }
+        Player player = table.getPlayer(seat);
+        Card answer = table.getDecisions(seat).answerStack(table.getState(), player, pendingDraw);
+        Card card = stackCheck.check(table, seat, answer);
+        if (card != null) {
+            table.playCard(seat, card); // Adds to the stack and passes it on
+            return true;
+        }
+        int cards = pendingDraw;
+        pendingDraw = 0;
+        pendingType = null;
+        table.recordMove(seat, null);
+        table.drawCards(seat, cards);
+        table.moveTurn(1);
+        return true;
+    }
+
+    private Card checkStack(TableActions table, int seat, Card answer) {
+        return answer != null && canStack(answer) && table.getPlayer(seat).getHand().contains(answer)
+                && StandardRules.isPlayable(table, answer) ? answer : null;
+    }
+
+    private Card forceStack(TableActions table, int seat, Card answer) {
+        Card card = checkStack(table, seat, answer);
+        return card != null ? card : stackableCard(table, seat);
+    }
+
+    private boolean canStack(Card card) {
+        return card.getType() == Card.Type.WILD_DRAW_FOUR
+                || card.getType() == Card.Type.DRAW_TWO && pendingType == Card.Type.DRAW_TWO;
+    }
+
+    private Card stackableCard(TableActions table, int seat) {
+        for (Card card : table.getPlayer(seat).getHand()) {
+            if (canStack(card) && StandardRules.isPlayable(table, card)) {
+                return card;
+            }
+        }
+        return null;
+    }
+
+    // --- Seven-swap and zero-rotate ---
+    private static void swapHands(TableActions table, int seat, Card card, Action_Cards.ActionResult result) {
+        if (!table.isRoundOver()) {
+            int other = table.getDecisions(seat).chooseSwapSeat(table.getState(), table.getPlayer(seat));
+            if (other < 0 || other >= table.getState().getPlayerCount() || other == seat) {
+                throw new IllegalStateException(table.getPlayer(seat) + " chose an invalid seat to swap with: " + other);
+            }
+            table.swapHands(seat, other);
+        }
+        StandardRules.applyResult(table, result);
+    }
+
+    private static void rotateHands(TableActions table, int seat, Card card, Action_Cards.ActionResult result) {
+        if (!table.isRoundOver()) {
+            table.rotateHands();
+        }
+        StandardRules.applyResult(table, result);
+    }
+
+    // --- Forced play and drawing ---
+    private static Card forcePlay(TableActions table, int seat, Card choice) {
+        if (choice != null) {
+            return choice;
+        }
+        GameState state = table.getState();
+        return table.getPlayer(seat).getHand().bestPlayable(state.getTopDiscard(), state.getActiveColor());
+    }
+
+    private static Card drawOne(TableActions table, int seat) {
+        Card drawn = table.drawCard(seat);
+        return drawn != null && StandardRules.isPlayable(table, drawn) ? drawn : null;
+    }
+
+    private static Card drawUntilPlayable(TableActions table, int seat) {
+        Card drawn;
+        do {
+            drawn = table.drawCard(seat);
+        } while (drawn != null && !StandardRules.isPlayable(table, drawn));
+        return drawn;
+    }
+
+    // --- Jump-in ---
+
+    /**
+     * Offers everyone else who holds a card identical to the one just played the chance to jump in.
+     * The table thread asks them one at a time in turn order, starting after the player, and the first
+     * one who says yes plays the card; play continues from their seat. So the winner only depends on the
+     * seating and the answers, the same in every run, and nothing here is shared with another thread.
+     */
+    private static void offerJumpIn(TableActions table, int seat, Card card) {
+        if (table.isRoundOver()) {
+            return;
+        }
+        GameState state = table.getState();
+        int n = state.getPlayerCount();
+        int step = state.isClockwise() ? 1 : -1;
+        for (int i = 1; i < n; i++) {
+            int other = Math.floorMod(seat + i * step, n);
+            Player player = table.getPlayer(other);
+            DecisionMaker decisions = table.getDecisions(other);
+            if (player.getHand().countById(card.getId()) > 0 && decisions.jumpIn(state, player, card)) {
+                table.setCurrentPlayer(other);
+                table.playCard(other, card);
+                return;
+            }
+        }
+    }
+}
@@ -2,7 +2,51 @@ package VARIATIONS;
 
 import UI.Menu; // Required for user interaction
 
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.StringJoiner;
+
 /**
  * The RunVariations class manages optional game rule variations (house rules)
  * that can be enabled or disabled at the start of the game.
  */
+public class RunVariations {
+
+    /**
+     * Compiles a set of house rules into the TurnRules of one game.
+     * With no house rules this plays exactly like StandardRules.
+     */
+    public static RuleTable compile(Set<HouseRule> houseRules) {
+        return new RuleTable(houseRules);
+    }
+
+    /**
+     * Names a set of house rules, e.g. "standard" or "STACKING+JUMP_IN" (the statistics store's variant).
+     */
+    public static String describe(Set<HouseRule> houseRules) {
+        if (houseRules.isEmpty()) {
+            return "standard";
+        }
+        StringJoiner name = new StringJoiner("+");
+        for (HouseRule rule : EnumSet.copyOf(houseRules)) {
+            name.add(rule.name());
+        }
+        return name.toString();
+    }
+
+    /**
+     * Asks which house rules to play with, one by one.
+     */
+    public static Set<HouseRule> askHouseRules(Menu menu) {
+        Set<HouseRule> houseRules = EnumSet.noneOf(HouseRule.class);
+        if (!menu.askYesNo("Play with house rules?")) {
+            return houseRules;
+        }
+        for (HouseRule rule : HouseRule.values()) {
+            if (menu.askYesNo(rule.getDescription() + "?")) {
+                houseRules.add(rule);
+            }
+        }
+        return houseRules;
+    }
+}
@@ -0,0 +1,79 @@
+package GAMEPLAY;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncListenerTest {
+    private static final int EVENTS = 200_000;
+
+    /** Counts turns and checks they come in order; slow every now and then */
+    private static class Turns implements GameListener {
+        volatile int seen;
+        volatile boolean inOrder = true;
+
+        @Override
+        public void turnStarted(int seat, int turn) {
+            if (turn != seen) {
+                inOrder = false;
+            }
+            seen++;
+            if ((turn & 4095) == 0) {
+                LockSupport.parkNanos(1_000_000);
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    void blockDeliversEveryEventInOrder() {
+        Turns turns = new Turns();
+        AsyncListener async = AsyncListener.start(turns, 64, AsyncListener.Overflow.BLOCK);
+        for (int i = 0; i < EVENTS; i++) {
+            async.turnStarted(0, i);
+        }
+        async.close();
+        assertEquals(EVENTS, turns.seen);
+        assertTrue(turns.inOrder);
+        assertEquals(0, async.getDroppedEvents());
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    void dropCountsWhatItLoses() {
+        Turns turns = new Turns();
+        AsyncListener async = AsyncListener.start(turns, 64, AsyncListener.Overflow.DROP);
+        for (int i = 0; i < EVENTS; i++) {
+            async.turnStarted(0, i);
+        }
+        async.close();
+        assertEquals(EVENTS, turns.seen + async.getDroppedEvents());
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    void failingListenerKeepsGettingEvents() {
+        int[] delivered = new int[1];
+        AsyncListener async = AsyncListener.start(new GameListener() {
+            @Override
+            public void turnStarted(int seat, int turn) {
+                delivered[0]++;
+                if (turn % 2 == 0) {
+                    throw new IllegalStateException("turn " + turn);
+                }
+            }
+        }, 16, AsyncListener.Overflow.BLOCK);
+        for (int i = 0; i < 1000; i++) {
+            async.turnStarted(0, i);
+        }
+        async.close();
+        assertEquals(1000, delivered[0]);
+        assertEquals(500, async.getFailedEvents());
+        assertEquals("turn 998", async.getLastFailure().getMessage());
+    }
+}
@@ -0,0 +1,27 @@
+package GAMEPLAY;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchSimulatorTest {
+    private static final long MASTER_SEED = 42;
+    private static final int GAMES = 600; // More than two batches, so lanes start new games
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 7})
+    void playsTheSameGamesAsATournament(int seats) {
+        TournamentResult expected = new Tournament(seats, MASTER_SEED).runRange(0, GAMES);
+        TournamentResult batched = new BatchSimulator(seats, MASTER_SEED).runRange(0, GAMES);
+        assertEquals(expected, batched);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4})
+    void rangesInTheMiddleMatchToo(int seats) {
+        TournamentResult expected = new Tournament(seats, MASTER_SEED).runRange(1000, 1300);
+        TournamentResult batched = new BatchSimulator(seats, MASTER_SEED).runRange(1000, 1300);
+        assertEquals(expected, batched);
+    }
+}
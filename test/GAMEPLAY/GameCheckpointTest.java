@@ -0,0 +1,115 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+import CARDS.Deck;
+import PLAYERS.BotPlayer;
+import PLAYERS.Hand;
+import PLAYERS.Player;
+import RULES.Referee;
+import VARIATIONS.HouseRule;
+import VARIATIONS.RunVariations;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameCheckpointTest {
+    private static final int GAMES = 60;
+    private static final int RESUME_TURN = 6;
+
+    @Test
+    void writingCheckpointsDoesNotChangeTheGame() {
+        for (int g = 0; g < GAMES; g++) {
+            UnoGame plain = newGame(g);
+            plain.startRound();
+            plain.continueRound(null);
+
+            UnoGame saved = newGame(g);
+            ByteBuffer out = ByteBuffer.allocate(4096);
+            saved.startRound();
+            saved.continueRound(() -> GameCheckpoint.write(saved, out.clear()));
+
+            assertEquals(fingerprint(plain), fingerprint(saved), "game " + g);
+        }
+    }
+
+    @Test
+    void restoredGamesFinishLikeTheLiveOnes() {
+        int resumed = 0;
+        for (int g = 0; g < GAMES; g++) {
+            UnoGame live = newGame(g);
+            ByteBuffer checkpoint = ByteBuffer.allocate(4096);
+            live.startRound();
+            live.continueRound(() -> {
+                if (live.getState().getTurnCount() == RESUME_TURN) {
+                    GameCheckpoint.write(live, checkpoint);
+                }
+            });
+            if (checkpoint.position() == 0) {
+                continue; // Over before the checkpoint turn
+            }
+
+            UnoGame restored = newGame(g + 1000);
+            GameCheckpoint.restore(restored, checkpoint.flip());
+            restored.continueRound(null);
+            assertEquals(fingerprint(live), fingerprint(restored), "game " + g);
+            resumed++;
+        }
+        assertTrue(resumed > GAMES / 2, resumed + " games resumed");
+    }
+
+    @Test
+    void refusesADeckItCannotSave() {
+        List<Player> players = List.of(new BotPlayer("A"), new BotPlayer("B"));
+        UnoGame game = new UnoGame(players, new Deck(new SplittableRandom(1)), new Referee(), null);
+        game.startGame();
+        game.startRound();
+        assertThrows(IllegalStateException.class, () -> GameCheckpoint.write(game, ByteBuffer.allocate(4096)));
+    }
+
+    // Even games use the standard rules, odd ones every house rule
+    private static UnoGame newGame(int g) {
+        int seats = 2 + g % 4;
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < seats; i++) {
+            players.add(new BotPlayer("Bot " + i));
+        }
+        Deck deck = new Deck(g * 7919L);
+        UnoGame game = g % 2 == 0
+                ? new UnoGame(players, deck, new Referee(), null)
+                : new UnoGame(players, deck, new Referee(), null, RunVariations.compile(EnumSet.allOf(HouseRule.class)));
+        game.startGame();
+        return game;
+    }
+
+    private static String fingerprint(UnoGame game) {
+        GameState state = game.getState();
+        StringBuilder text = new StringBuilder("turns " + state.getTurnCount());
+        for (Player player : state.getPlayers()) {
+            // Sorted: a restored hand may hold the same cards in another order, which no decision looks at
+            Hand hand = player.getHand();
+            int[] ids = new int[hand.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = hand.get(i).getId();
+            }
+            Arrays.sort(ids);
+            text.append(" | ").append(player.getRoundPoints()).append(": ").append(Arrays.toString(ids));
+        }
+        int[] pile = new int[Deck.DECK_SIZE];
+        int count = state.getDeck().copyDrawPile(pile);
+        text.append(" | draw");
+        for (int i = 0; i < count; i++) {
+            text.append(' ').append(pile[i]);
+        }
+        Card top = state.getTopDiscard();
+        return text.append(" | top ").append(top).toString();
+    }
+}
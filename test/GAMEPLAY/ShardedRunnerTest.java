@@ -0,0 +1,50 @@
+package GAMEPLAY;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ShardedRunnerTest {
+    private static final long MASTER_SEED = 42;
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void twoProcessesPlayTheSameGamesAsOne() throws InterruptedException {
+        ShardedRunner runner = new ShardedRunner(4, MASTER_SEED);
+        runner.setProcesses(2);
+        TournamentResult sharded = runner.run(3000);
+
+        assertEquals(new Tournament(4, MASTER_SEED).runRange(0, 3000), sharded);
+        assertEquals(0, runner.getRetries());
+    }
+
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.MINUTES)
+    void aTruncatedReportIsPlayedAgain(@TempDir Path markers) throws InterruptedException {
+        ShardedRunner runner = new ShardedRunner(3, MASTER_SEED);
+        runner.setProcesses(1);
+        runner.setWorkerClass(TruncatingShardWorker.class.getName());
+        runner.setJvmOptions(List.of("-Dtruncate.dir=" + markers));
+        TournamentResult sharded = runner.run(400);
+
+        assertEquals(new Tournament(3, MASTER_SEED).runRange(0, 400), sharded);
+        assertEquals(4, runner.getRetries()); // Every shard broke once
+    }
+
+    @Test
+    void damagedPartialLinesAreRejected() {
+        String totals = new Tournament(2, MASTER_SEED).runRange(0, 10).encode();
+        String line = ShardWorker.partial(0, 10, totals);
+        assertEquals(totals, ShardedRunner.parsePartial(line).encode());
+        assertNull(ShardedRunner.parsePartial(line.substring(0, line.length() - 1)));
+        assertNull(ShardedRunner.parsePartial(line.replace(" 0 10 ", " 0 11 ")));
+        assertNull(ShardedRunner.parsePartial("PARTIAL 0 10"));
+    }
+}
@@ -0,0 +1,55 @@
+package GAMEPLAY;
+
+import CARDS.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TranspositionTableTest {
+    private static final long MISSING = -1;
+
+    @Test
+    void updatesKeepOneCopyPerHash() {
+        TranspositionTable table = new TranspositionTable(2); // One pair: every hash collides
+        table.put(10, 1);
+        table.put(20, 2);
+        table.put(20, 3);
+        table.put(10, 4);
+        assertEquals(4, table.get(10, MISSING));
+        assertEquals(3, table.get(20, MISSING));
+    }
+
+    @Test
+    void replacesTheOlderEntry() {
+        TranspositionTable table = new TranspositionTable(2);
+        table.put(10, 1);
+        table.put(20, 2);
+        table.put(10, 3); // 10 is now newer than 20
+        table.put(30, 4);
+        assertEquals(3, table.get(10, MISSING));
+        assertEquals(MISSING, table.get(20, MISSING));
+        assertEquals(4, table.get(30, MISSING));
+    }
+
+    @Test
+    void endgameSolverUsesItsLocalTable() {
+        EndgameSolver solver = new EndgameSolver(new EndgameMemo(1 << 12), 1);
+        SimState position = new SimState(2, new SplittableRandom(3));
+        position.addToHand(0, Card.of(Card.Color.RED, 1).getId());
+        position.addToHand(0, Card.of(Card.Color.BLUE, 2).getId());
+        position.addToHand(1, Card.of(Card.Color.GREEN, 3).getId());
+        position.addToHand(1, Card.of(Card.Color.YELLOW, 4).getId());
+        for (int number = 5; number <= 9; number++) {
+            position.pushDrawPile(Card.of(Card.Color.GREEN, number).getId());
+        }
+        position.pushDiscard(Card.of(Card.Color.RED, 9).getId());
+        position.setActiveColor(Card.Color.RED.ordinal());
+
+        int move = solver.solve(position, System.nanoTime() + 10_000_000_000L);
+        assertEquals(Card.of(Card.Color.RED, 1).getId(), move);
+        assertTrue(solver.getLocalTable().getHits() > 0);
+    }
+}
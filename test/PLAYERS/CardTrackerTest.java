@@ -0,0 +1,181 @@
+package PLAYERS;
+
+import CARDS.Card;
+import CARDS.Deck;
+import GAMEPLAY.GameListener;
+import GAMEPLAY.GameState;
+import GAMEPLAY.Observation;
+import GAMEPLAY.UnoGame;
+import RULES.Referee;
+import VARIATIONS.HouseRule;
+import VARIATIONS.RunVariations;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plays whole games and checks every seat's CardTracker against the real hands and piles
+ * after every event, with and without the house rules that move cards between hands.
+ */
+class CardTrackerTest {
+    private static final int GAMES = 40;
+    private static final int TURN_LIMIT = 3000;
+
+    static Stream<Arguments> houseRules() {
+        return Stream.of(
+                Arguments.of(EnumSet.noneOf(HouseRule.class)),
+                Arguments.of(EnumSet.of(HouseRule.SEVEN_SWAP, HouseRule.ZERO_ROTATE)),
+                Arguments.of(EnumSet.of(HouseRule.DRAW_UNTIL_PLAYABLE)),
+                Arguments.of(EnumSet.of(HouseRule.STACKING)),
+                Arguments.of(EnumSet.of(HouseRule.JUMP_IN)),
+                Arguments.of(EnumSet.allOf(HouseRule.class)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("houseRules")
+    void matchesTheRealGameOnEveryEvent(Set<HouseRule> houseRules) {
+        long checks = 0;
+        for (int g = 0; g < GAMES; g++) {
+            int seats = 2 + g % 4;
+            List<Player> players = new ArrayList<>();
+            for (int i = 0; i < seats; i++) {
+                players.add(new BotPlayer("Bot " + i));
+            }
+            UnoGame game = new UnoGame(players, new Deck(g * 31L + houseRules.size()), new Referee(), null,
+                    RunVariations.compile(houseRules));
+            CardTracker[] trackers = new CardTracker[seats];
+            for (int i = 0; i < seats; i++) {
+                trackers[i] = ((BotPlayer) players.get(i)).trackCards(game);
+            }
+            Checker checker = new Checker(game.getState(), trackers, houseRules + " game " + g);
+            game.addListener(checker); // Subscribed last, so the trackers have already seen each event
+
+            game.startGame();
+            game.startRound();
+            GameState state = game.getState();
+            while (!game.playTurn() && state.getTurnCount() < TURN_LIMIT) {
+                checker.check("after turn " + state.getTurnCount());
+            }
+            checks += checker.checks;
+        }
+        assertTrue(checks > GAMES * 50L, "only " + checks + " checks");
+    }
+
+    /** Compares every tracker with what its seat may know, each time an event is published */
+    private static final class Checker implements GameListener {
+        private final GameState state;
+        private final CardTracker[] trackers;
+        private final String game;
+        private boolean dealt;
+        long checks;
+
+        Checker(GameState state, CardTracker[] trackers, String game) {
+            this.state = state;
+            this.trackers = trackers;
+            this.game = game;
+        }
+
+        @Override
+        public void roundStarted(int round, int startingSeat) {
+            dealt = false;
+        }
+
+        @Override
+        public void cardTurnedUp(Card card) {
+            dealt = true;
+            check("cardTurnedUp " + card);
+        }
+
+        @Override
+        public void turnStarted(int seat, int turn) {
+            check("turnStarted " + seat);
+        }
+
+        @Override
+        public void drawChosen(int seat) {
+            check("drawChosen " + seat);
+        }
+
+        @Override
+        public void cardDrawn(int seat, Card card) {
+            check("cardDrawn " + seat + " " + card);
+        }
+
+        @Override
+        public void discardReshuffled(int cards) {
+            check("discardReshuffled " + cards);
+        }
+
+        @Override
+        public void cardPlayed(int seat, Card card) {
+            check("cardPlayed " + seat + " " + card);
+        }
+
+        @Override
+        public void colorChosen(int seat, Card.Color color) {
+            check("colorChosen " + seat);
+        }
+
+        @Override
+        public void handsSwapped(int seat, int otherSeat) {
+            check("handsSwapped " + seat + " " + otherSeat);
+        }
+
+        @Override
+        public void handsRotated(boolean clockwise) {
+            check("handsRotated");
+        }
+
+        @Override
+        public void roundEnded(int winnerSeat, int points) {
+            check("roundEnded " + winnerSeat);
+        }
+
+        void check(String event) {
+            if (!dealt) {
+                return; // Mid-deal the draw pile and hands are still being filled
+            }
+            String where = game + ", " + event;
+            List<Player> players = state.getPlayers();
+            for (int viewer = 0; viewer < trackers.length; viewer++) {
+                CardTracker tracker = trackers[viewer];
+                Observation observation = new Observation(state, viewer);
+                int[] unseen = new int[Card.ID_COUNT];
+                for (int i = 0; i < observation.getUnseenCount(); i++) {
+                    unseen[observation.getUnseen()[i]]++;
+                }
+                int[] byColor = new int[Card.Color.values().length];
+                for (int id = 0; id < Card.ID_COUNT; id++) {
+                    assertEquals(unseen[id], tracker.getUnseen(id), "unseen card " + id + ", seat " + viewer + ", " + where);
+                    byColor[Card.colorOf(id).ordinal()] += unseen[id];
+                }
+                for (Card.Color color : Card.Color.values()) {
+                    assertEquals(byColor[color.ordinal()], tracker.getUnseen(color), color + ", seat " + viewer + ", " + where);
+                }
+                assertEquals(observation.getUnseenCount(), tracker.getUnseenTotal(), "unseen total, seat " + viewer + ", " + where);
+
+                for (int seat = 0; seat < players.size(); seat++) {
+                    Hand hand = players.get(seat).getHand();
+                    assertEquals(hand.size(), tracker.getHandSize(seat), "hand of " + seat + ", seat " + viewer + ", " + where);
+                    if (seat == viewer) {
+                        continue;
+                    }
+                    for (Card card : hand) {
+                        assertTrue(tracker.mayHold(seat, card.getId()),
+                                "seat " + viewer + " ruled out " + card + " in hand " + seat + ", " + where);
+                    }
+                }
+            }
+            checks++;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package PLAYERS;
+
+import GAMEPLAY.Tournament;
+import GAMEPLAY.TournamentResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecisionCacheTest {
+    private static final HeuristicWeights OTHER = new HeuristicWeights(0, 1, 1, -1, 2);
+
+    @Test
+    void belongsToTheFirstStrategyThatUsesIt() {
+        DecisionCache cache = new DecisionCache(64);
+        new HeuristicBotPlayer("A", HeuristicWeights.DEFAULT).setDecisionCache(cache);
+        new HeuristicBotPlayer("B", new HeuristicWeights(HeuristicWeights.DEFAULT.toArray())).setDecisionCache(cache);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new HeuristicBotPlayer("C", OTHER).setDecisionCache(cache));
+        assertThrows(IllegalArgumentException.class, () -> new BotPlayer("D").setDecisionCache(cache));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4})
+    void cachedGamesPlayOutTheSame(int seats) {
+        for (HeuristicWeights weights : List.of(HeuristicWeights.DEFAULT, OTHER)) {
+            TournamentResult plain = new Tournament(seats, seat -> new HeuristicBotPlayer("Bot " + seat, weights), 7)
+                    .runRange(0, 500);
+            DecisionCache cache = new DecisionCache(1 << 12); // Small enough to evict
+            TournamentResult cached = new Tournament(seats, seat -> {
+                HeuristicBotPlayer bot = new HeuristicBotPlayer("Bot " + seat, weights);
+                bot.setDecisionCache(cache);
+                return bot;
+            }, 7).runRange(0, 500);
+
+            assertEquals(plain, cached, weights.toString());
+            assertTrue(cache.getHits() > 0, cache.toString());
+            assertTrue(cache.getEvictions() > 0, cache.toString());
+        }
+    }
+
+    @Test
+    void keepsTheMostRecentlyUsedDecisions() {
+        DecisionCache cache = new DecisionCache(DecisionCache.WAYS); // One set
+        for (int i = 0; i < DecisionCache.WAYS; i++) {
+            cache.put(i, 0, i);
+        }
+        assertEquals(3, cache.get(3, 0, -1));
+        cache.put(3, 0, 100); // Replaces in place
+        assertEquals(100, cache.get(3, 0, -1));
+        for (int i = DecisionCache.WAYS; i < 3 * DecisionCache.WAYS; i++) {
+            cache.put(i, 0, i);
+            assertEquals(i, cache.get(i, 0, -1));
+        }
+        assertEquals(-1, cache.get(0, 0, -1));
+        assertEquals(-1, cache.get(0, 1, -1)); // Same first word, other second word
+        assertThrows(IllegalArgumentException.class, () -> cache.put(1, 1L << DecisionCache.KEY_BITS, 1));
+    }
+}
@@ -0,0 +1,48 @@
+package PLAYERS;
+
+import GAMEPLAY.Tournament;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+/**
+ * Plays seeded games of MctsBotPlayer against a plain bot with budgets so small that the kept
+ * subtrees are mostly made of determinized worlds, where the bot drew other cards than it holds.
+ */
+class MctsBotPlayerTest {
+    private static final int SEEDS = 60;
+    private static final int GAMES = 3;
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 8, 20, 60})
+    void onlyPlaysLegalMovesWhenItReusesItsTree(int rollouts) {
+        for (long seed = 0; seed < SEEDS; seed++) {
+            long s = seed;
+            Tournament tournament = new Tournament(2, seat -> seat == 0
+                    ? new MctsBotPlayer("M", 0, rollouts, 1, null, s)
+                    : new BotPlayer("B"), s);
+            assertDoesNotThrow(() -> tournament.runRange(0, GAMES), rollouts + " rollouts, seed " + seed);
+        }
+    }
+
+    @Test
+    void onlyPlaysLegalMovesWithSeveralWorkers() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (long seed = 0; seed < SEEDS / 2; seed++) {
+                long s = seed;
+                Tournament tournament = new Tournament(3, seat -> seat == 0
+                        ? new MctsBotPlayer("M", 0, 16, 2, pool, s)
+                        : new BotPlayer("B" + seat), s);
+                assertDoesNotThrow(() -> tournament.runRange(0, GAMES), "seed " + seed);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package SERVER;
+
+import CARDS.Deck;
+import GAMEPLAY.GameCheckpoint;
+import GAMEPLAY.UnoGame;
+import PLAYERS.BotPlayer;
+import PLAYERS.Player;
+import RULES.Referee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckpointStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoveredCheckpointsOutliveTheSegmentTheyCameFrom() throws IOException {
+        try (CheckpointStore store = CheckpointStore.open(directory, 1)) {
+            store.submit(1, new byte[] { 1, 2, 3 });
+            store.submit(2, new byte[] { 4, 5 });
+            store.remove(2);
+        }
+        List<Path> before = segments();
+
+        try (CheckpointStore store = CheckpointStore.open(directory, 1)) {
+            Map<Integer, ByteBuffer> recovered = store.getRecovered();
+            assertEquals(1, recovered.size());
+            ByteBuffer checkpoint = recovered.get(1);
+            assertFalse(checkpoint.isDirect());
+            assertEquals(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), checkpoint);
+            for (Path old : before) {
+                assertFalse(Files.exists(old), old + " was not deleted");
+            }
+        }
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    void resumeSkipsDamagedCheckpointsAndBotsTakeOverRemoteSeats() throws Exception {
+        try (CheckpointStore store = CheckpointStore.open(directory, 1)) {
+            store.submit(3, tableCheckpoint(2, 2, 11));
+            store.submit(5, new byte[] { 0, 2, 2, -1, 0, 0, 0, 0, 1 }); // The GameCheckpoint ends after its version
+        }
+
+        try (CheckpointStore store = CheckpointStore.open(directory, 1)) {
+            List<Table> resumed;
+            // The remote seats' clients never come back: with the default timeout every prompt would take 30 s
+            try (GameServer server = new GameServer(1, GameServer.DEFAULT_DECISION_TIMEOUT_MILLIS)) {
+                server.enableCheckpoints(store, 5);
+                resumed = server.resumeTables();
+                assertEquals(1, resumed.size());
+                Table table = resumed.get(0);
+                assertEquals(3, table.getId());
+                assertTrue(table.awaitDone(30, TimeUnit.SECONDS));
+                assertEquals(Table.Status.FINISHED, table.getStatus());
+                for (int seat = 0; seat < 2; seat++) {
+                    assertTrue(table.getSession(seat).isDisconnected());
+                    assertEquals(0, ((RemotePlayer) table.getPlayers().get(seat)).getTimeouts());
+                }
+                Table next = server.openTable(0, 2);
+                assertEquals(6, next.getId()); // Still above the skipped table
+                assertTrue(next.awaitDone(30, TimeUnit.SECONDS));
+            }
+        }
+
+        try (CheckpointStore store = CheckpointStore.open(directory, 1)) {
+            // Tables 3 and 6 finished and table 5 was dropped
+            assertTrue(store.getRecovered().isEmpty(), "left behind: " + store.getRecovered().keySet());
+        }
+    }
+
+    // A table's checkpoint a few turns into its first round, laid out like Table writes it
+    private static byte[] tableCheckpoint(int remoteSeats, int botSeats, long seed) {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < remoteSeats + botSeats; seat++) {
+            players.add(new BotPlayer("Bot " + seat));
+        }
+        UnoGame game = new UnoGame(players, new Deck(seed), new Referee(), null);
+        game.startGame();
+        game.startRound();
+        for (int turn = 0; turn < 3; turn++) {
+            game.playTurn();
+        }
+        ByteBuffer out = ByteBuffer.allocate(1024);
+        out.put((byte) 0).put((byte) remoteSeats).put((byte) botSeats).put((byte) -1).putInt(0); // In a round, StandardRules
+        GameCheckpoint.write(game, out);
+        byte[] bytes = new byte[out.position()];
+        out.flip().get(bytes);
+        return bytes;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).toList();
+        }
+    }
+}
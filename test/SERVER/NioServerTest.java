@@ -0,0 +1,79 @@
+package SERVER;
+
+import VARIATIONS.HouseRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plays whole games against the server: over sockets with the LoadGenerator,
+ * and in-process with LoopbackClients on the GameServer's sessions.
+ */
+class NioServerTest {
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void loadGeneratorPlaysEveryGameToTheEnd() throws Exception {
+        GameServer games = new GameServer(42, 10_000);
+        NioServer server = new NioServer(games, new InetSocketAddress("127.0.0.1", 0), 3, NioServer.DEFAULT_TICK_MILLIS);
+        Thread eventLoop = new Thread(server, "nio-event-loop");
+        eventLoop.start();
+        try {
+            LoadGenerator generator = new LoadGenerator(new InetSocketAddress("127.0.0.1", server.getPort()), 8);
+            generator.run();
+
+            assertEquals(8, generator.getGamesOver());
+            assertTrue(generator.getMoves() > 0);
+            assertTrue(generator.getLatencyPercentile(50) <= generator.getLatencyPercentile(100));
+        } finally {
+            server.close();
+            eventLoop.join();
+            games.close();
+        }
+        assertEquals(0, games.getFailedTableCount());
+        assertEquals(8, games.getFinishedTableCount());
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void loopbackClientsFinishTheirTables() throws Exception {
+        try (GameServer games = new GameServer(7, 10_000)) {
+            List<Table> tables = new ArrayList<>();
+            List<LoopbackClient> clients = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                // Every other table with all house rules, so the clients also answer STACK?, JUMP? and SWAP?
+                Table table = i % 2 == 0 ? games.openTable(2, 2) : games.openTable(2, 2, EnumSet.allOf(HouseRule.class));
+                for (int seat = 0; seat < 2; seat++) {
+                    LoopbackClient client = new LoopbackClient(table.getSession(seat), 0);
+                    games.execute(client);
+                    clients.add(client);
+                }
+                tables.add(table);
+            }
+            for (Table table : tables) {
+                assertTrue(table.awaitDone(1, TimeUnit.MINUTES), table + " did not finish");
+                assertEquals(Table.Status.FINISHED, table.getStatus(), () -> String.valueOf(table.getFailure()));
+                assertTrue(table.getWinnerSeat() >= 0);
+                assertTrue(table.getRounds() > 0);
+            }
+            for (LoopbackClient client : clients) {
+                assertTrue(client.getMoves() > 0);
+            }
+            for (Table table : tables) {
+                for (int seat = 0; seat < 2; seat++) {
+                    RemotePlayer remote = (RemotePlayer) table.getPlayers().get(seat);
+                    assertEquals(0, remote.getTimeouts());
+                    assertEquals(0, remote.getInvalidAnswers());
+                }
+            }
+        }
+    }
+}